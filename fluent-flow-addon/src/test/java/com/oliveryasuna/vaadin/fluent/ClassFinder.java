@@ -18,81 +18,51 @@
 
 package com.oliveryasuna.vaadin.fluent;
 
-import javax.tools.*;
-import java.io.File;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.ClassHeader;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+
 import java.io.IOException;
-import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Collection;
 
 /**
- * Discovers classes on the classpath.
+ * Discovers classes of the add-on on the test classpath.
+ * <p>
+ * Scans are not cached: the classpath of a test run includes a temporary
+ * booter jar, so no two runs would share a cached scan.
  *
  * @author Oliver Yasuna
  * @since 2.0.0
  */
-public class ClassFinder {
+public class ClassFinder extends com.oliveryasuna.vaadin.fluent.generator.classfinder.ClassFinder {
 
   // Static fields
   //--------------------------------------------------
 
-  protected static final JavaFileManager.Location LOCATION = StandardLocation.CLASS_PATH;
-
-  protected static final Set<JavaFileObject.Kind> KINDS = Set.of(JavaFileObject.Kind.CLASS);
+  /**
+   * The package of the generator, which is on the test classpath, but not part
+   * of the add-on.
+   */
+  protected static final String GENERATOR_PACKAGE = "com.oliveryasuna.vaadin.fluent.generator";
 
   // Constructors
   //--------------------------------------------------
 
   public ClassFinder() {
-    super();
+    super(
+        ClassFinder.class.getClassLoader(),
+        TypeIndex.classPathOf(ClassFinder.class.getClassLoader()),
+        null
+    );
   }
 
-  // Fields
-  //--------------------------------------------------
-
-  private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-
-  private final JavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
-
   // Methods
   //--------------------------------------------------
 
-  public Set<Class<?>> find(final String basePackage, final boolean recursive, final Predicate<Class<?>> filter) throws IOException {
-    final Iterable<JavaFileObject> javaFiles = getFileManager().list(LOCATION, basePackage, KINDS, recursive);
-
-    final String basePackagePath = basePackage.replace('.', '/');
-    final String basePackagePathWithSlash = basePackagePath + "/";
-
-    return StreamSupport.stream(javaFiles.spliterator(), true)
-        // Map to `Class`.
-        .map(javaFile -> {
-          final String uri = javaFile.toUri().toString();
-
-          return uri
-              .substring(uri.indexOf(basePackagePathWithSlash), uri.length() - 6)
-              .replaceAll(File.separator, ".");
-        })
-        .map(className -> {
-          try {
-            return Class.forName(className);
-          } catch(final ClassNotFoundException e) {
-            throw new RuntimeException(e);
-          }
-        })
-        .filter(filter)
-        .collect(Collectors.toSet());
-  }
-
-  // Getters/setters
-  //--------------------------------------------------
-
-  public JavaCompiler getCompiler() {
-    return compiler;
-  }
-
-  public JavaFileManager getFileManager() {
-    return fileManager;
+  @Override
+  protected Collection<ClassHeader> scan(final String basePackage, final boolean recursive) throws IOException {
+    return super.scan(basePackage, recursive).stream()
+        .filter(header -> !header.name().startsWith(GENERATOR_PACKAGE + "."))
+        .toList();
   }
 
 }
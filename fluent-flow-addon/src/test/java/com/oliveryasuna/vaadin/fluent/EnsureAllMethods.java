@@ -18,6 +18,7 @@
 
 package com.oliveryasuna.vaadin.fluent;
 
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.ClassHeader;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -45,7 +46,7 @@ final class EnsureAllMethods {
   @Test
   void ensureAllMethods() throws IOException {
     final Set<Class<?>> generatedClasses = new ClassFinder()
-        .find("com.oliveryasuna.vaadin.fluent", true, Class::isInterface);
+        .find("com.oliveryasuna.vaadin.fluent", true, ClassHeader::isInterface);
 
     for(final Class<?> generatedClass : generatedClasses) {
       final Type sourceType = generatedClass.getTypeParameters()[0].getBounds()[0];
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.benchmarks;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.oliveryasuna.commons.language.exception.UnsupportedInstantiationException;
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.apimodel.ApiModel;
+import com.oliveryasuna.vaadin.fluent.generator.apimodel.ApiModelParser;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
+import com.oliveryasuna.vaadin.fluent.generator.platform.TargetPlatform;
+import com.oliveryasuna.vaadin.fluent.generator.selection.ClassSelector;
+import com.oliveryasuna.vaadin.fluent.generator.source.SourceRepository;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Representative Vaadin sources for the benchmarks.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class BenchmarkSources {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * A component with a handful of methods.
+   */
+  public static final String SMALL = "com.vaadin.flow.component.html.Span";
+
+  /**
+   * A typical component.
+   */
+  public static final String MEDIUM = "com.vaadin.flow.component.button.Button";
+
+  /**
+   * A component with a large API.
+   */
+  public static final String HUGE = "com.vaadin.flow.component.datepicker.DatePicker";
+
+  private static final LocalDate GENERATION_DATE = LocalDate.of(2023, 1, 1);
+
+  // Static methods
+  //--------------------------------------------------
+
+  public static Class<?> load(final String className) {
+    try {
+      // Not initialized, as the class finder of the generator does not
+      // initialize the classes it finds either.
+      return Class.forName(className, false, BenchmarkSources.class.getClassLoader());
+    } catch(final ClassNotFoundException e) {
+      throw new IllegalStateException("Class is not on the classpath: " + className, e);
+    }
+  }
+
+  /**
+   * Reads the source of a class from its source jar.
+   *
+   * @param className The name of the class.
+   *
+   * @return The source.
+   */
+  public static String read(final String className) {
+    try(final SourceRepository sourceRepository = new SourceRepository()) {
+      return new String(sourceRepository.readSource(load(className)), StandardCharsets.UTF_8);
+    } catch(final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Parses the source of a class, and reduces it to the model that the
+   * generators read, as the generation pipeline does, but without its model
+   * cache.
+   *
+   * @param className The name of the class.
+   *
+   * @return The model.
+   */
+  public static CompilationUnit parse(final String className) {
+    final CompilationUnit sourceFile = ApiModelParser.parseSource(read(className));
+
+    ApiModel.prune(sourceFile);
+
+    return sourceFile;
+  }
+
+  /**
+   * Creates the environment of a full generation, with a fixed generation
+   * date.
+   *
+   * @return The environment.
+   */
+  public static GeneratorEnvironment environment() {
+    try {
+      final TargetPlatform platform = TargetPlatform.ofClassLoader(BenchmarkSources.class.getClassLoader());
+
+      return new GeneratorEnvironment(
+          App.findSourceClasses(new ClassSelector()),
+          GENERATION_DATE,
+          new TypeIndex(platform.getClassLoader(), platform.getClassPath()),
+          platform.getVaadinVersion()
+      );
+    } catch(final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private BenchmarkSources() {
+    super();
+
+    throw new UnsupportedInstantiationException();
+  }
+
+}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.benchmarks;
+
+import com.oliveryasuna.commons.language.exception.UnsupportedInstantiationException;
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.Config;
+import com.oliveryasuna.vaadin.fluent.generator.Options;
+import com.oliveryasuna.vaadin.fluent.generator.pipeline.GenerationPipeline;
+import com.oliveryasuna.vaadin.fluent.generator.selection.ClassSelector;
+import org.apache.commons.io.FileUtils;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Runs a full generation against the Vaadin version that the generator is
+ * built for, and compares it with a committed baseline.
+ * <p>
+ * Each run generates every source class into a scratch directory, with the
+ * model cache and incremental generation disabled, and measures:
+ * <ul>
+ *   <li>{@code wallMillis}: the wall-clock time,</li>
+ *   <li>{@code cpuMillis}: the CPU time of the process,</li>
+ *   <li>{@code peakHeapBytes}: the peak heap usage,</li>
+ *   <li>{@code failures}: the number of failed generation steps, and</li>
+ *   <li>{@code outputBytes} and {@code outputFiles}: the size and number of
+ *   the generated files.</li>
+ * </ul>
+ * The median of the runs is compared with the baseline. The benchmark fails
+ * if any metric exceeds its baseline value times its threshold, such as
+ * {@code threshold.wallMillis=1.5}. A metric without a baseline value is
+ * only reported, so that the benchmark passes until a baseline is recorded.
+ * The first argument is the baseline file.
+ * <p>
+ * With {@code -Dfluentflow.benchmark.updateBaseline=true}, the measured
+ * values replace those of the baseline instead. Only the Vaadin jars in the
+ * local Maven repository are used, so the benchmark runs offline.
+ * <p>
+ * Other options are read from the system properties, so that, for example,
+ * a memory-bounded run is measured with {@code -Dfluentflow.memoryBounded=true}.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class EndToEndBenchmark {
+
+  // Entry point
+  //--------------------------------------------------
+
+  public static void main(final String[] args) throws Exception {
+    if(args.length != 1) {
+      System.err.println("Usage: EndToEndBenchmark <baseline file>");
+      System.exit(2);
+    }
+
+    final File baselineFile = new File(args[0]);
+    final int runs = Math.max(1, Integer.getInteger(PROPERTY_PREFIX + "runs", 3));
+    final boolean updateBaseline = Boolean.getBoolean(PROPERTY_PREFIX + "updateBaseline");
+
+    final List<Map<String, Long>> results = new ArrayList<>();
+
+    for(int run = 1; run <= runs; run++) {
+      final Map<String, Long> result = runOnce();
+
+      System.out.printf("Run %d/%d: %s%n", run, runs, result);
+
+      results.add(result);
+    }
+
+    final Map<String, Long> median = median(results);
+
+    System.out.println("Median: " + median);
+
+    final Properties baseline = readBaseline(baselineFile);
+
+    if(updateBaseline) {
+      writeBaseline(baselineFile, baseline, median);
+
+      System.out.println("Updated baseline \"" + baselineFile + "\".");
+
+      return;
+    }
+
+    METRICS.stream()
+        .filter(metric -> baseline.getProperty(metric) == null)
+        .forEach(metric -> System.out.printf("No baseline for %s; record one with -D%supdateBaseline=true.%n", metric, PROPERTY_PREFIX));
+
+    final List<String> regressions = compare(baseline, median);
+
+    if(!regressions.isEmpty()) {
+      regressions.forEach(System.err::println);
+      System.exit(1);
+    }
+
+    System.out.println("Within the baseline thresholds.");
+  }
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String PROPERTY_PREFIX = "fluentflow.benchmark.";
+
+  private static final String VAADIN_VERSION_KEY = "vaadinVersion";
+
+  private static final String THRESHOLD_PREFIX = "threshold.";
+
+  /**
+   * The comment that the baseline file starts with.
+   */
+  private static final String BASELINE_HEADER = """
+      # End-to-end generation baseline. Update with -Dfluentflow.benchmark.updateBaseline=true.
+      # A metric fails if it exceeds its baseline value times its threshold.
+      # A metric without a baseline value is only reported, until the baseline is updated.
+      """;
+
+  private static final List<String> METRICS = List.of("wallMillis", "cpuMillis", "peakHeapBytes", "failures", "outputBytes", "outputFiles");
+
+  /**
+   * 2023-01-01, so that output sizes do not depend on the date.
+   */
+  private static final long SOURCE_DATE_EPOCH = 1672531200L;
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static Map<String, Long> runOnce() throws IOException, InterruptedException {
+    final Path outputDirectory = Files.createTempDirectory("fluent-flow-benchmark");
+
+    try {
+      final Options options = Options.fromSystemProperties();
+
+      options.setOutputDirectory(outputDirectory.toFile());
+      options.setIncremental(false);
+      options.setCache(false);
+      options.setSourceDateEpoch(SOURCE_DATE_EPOCH);
+      options.setReproducible(true);
+
+      final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+          .filter(pool -> pool.getType() == MemoryType.HEAP)
+          .toList();
+
+      System.gc();
+      heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+      final long startCpuNanos = processCpuNanos();
+      final long startNanos = System.nanoTime();
+
+      final GenerationPipeline.Summary summary = App.generate(options, App.findSourceClasses(new ClassSelector()));
+
+      final long wallNanos = System.nanoTime() - startNanos;
+      final long cpuNanos = processCpuNanos() - startCpuNanos;
+      final long peakHeapBytes = heapPools.stream()
+          .mapToLong(pool -> pool.getPeakUsage().getUsed())
+          .sum();
+
+      final Map<String, Long> result = new LinkedHashMap<>();
+
+      result.put("wallMillis", wallNanos / 1_000_000);
+      result.put("cpuMillis", cpuNanos / 1_000_000);
+      result.put("peakHeapBytes", peakHeapBytes);
+      result.put("failures", (long)summary.failures());
+
+      try(final Stream<Path> files = Files.walk(outputDirectory)) {
+        final List<Path> javaFiles = files
+            .filter(file -> file.toString().endsWith(".java"))
+            .toList();
+
+        long outputBytes = 0;
+
+        for(final Path javaFile : javaFiles) {
+          outputBytes += Files.size(javaFile);
+        }
+
+        result.put("outputBytes", outputBytes);
+        result.put("outputFiles", (long)javaFiles.size());
+      }
+
+      return result;
+    } finally {
+      FileUtils.deleteQuietly(outputDirectory.toFile());
+    }
+  }
+
+  private static long processCpuNanos() {
+    if(ManagementFactory.getOperatingSystemMXBean() instanceof final com.sun.management.OperatingSystemMXBean operatingSystemMxBean) {
+      return operatingSystemMxBean.getProcessCpuTime();
+    }
+
+    return 0;
+  }
+
+  private static Map<String, Long> median(final List<Map<String, Long>> results) {
+    final Map<String, Long> median = new LinkedHashMap<>();
+
+    for(final String metric : METRICS) {
+      final long[] values = results.stream()
+          .mapToLong(result -> result.get(metric))
+          .sorted()
+          .toArray();
+
+      median.put(metric, values[values.length / 2]);
+    }
+
+    return median;
+  }
+
+  /**
+   * Compares measured values with the baseline.
+   *
+   * @param baseline The baseline.
+   * @param measured The measured values.
+   *
+   * @return The regressions, empty if there are none.
+   */
+  private static List<String> compare(final Properties baseline, final Map<String, Long> measured) {
+    final List<String> regressions = new ArrayList<>();
+    final String baselineVaadinVersion = baseline.getProperty(VAADIN_VERSION_KEY);
+
+    if(baselineVaadinVersion != null && !baselineVaadinVersion.equals(Config.getVaadinVersion())) {
+      regressions.add(String.format(
+          "The baseline is for Vaadin %s, but the generator is built for Vaadin %s; update the baseline.",
+          baselineVaadinVersion,
+          Config.getVaadinVersion()
+      ));
+
+      return regressions;
+    }
+
+    for(final String metric : METRICS) {
+      final String baselineValue = baseline.getProperty(metric);
+
+      // Reported by the caller.
+      if(baselineValue == null) {
+        continue;
+      }
+
+      final double threshold = Double.parseDouble(baseline.getProperty(THRESHOLD_PREFIX + metric, "1.0"));
+      final long limit = (long)Math.ceil(Long.parseLong(baselineValue.trim()) * threshold);
+      final long value = measured.get(metric);
+
+      if(value > limit) {
+        regressions.add(String.format("%s regressed: %d > %d (baseline %s times %s).", metric, value, limit, baselineValue.trim(), threshold));
+      }
+    }
+
+    return regressions;
+  }
+
+  // Baseline
+  //
+
+  private static Properties readBaseline(final File file) throws IOException {
+    final Properties baseline = new Properties();
+
+    if(file.isFile()) {
+      try(final Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+        baseline.load(reader);
+      }
+    }
+
+    return baseline;
+  }
+
+  /**
+   * Writes the measured values as the new baseline, keeping its thresholds.
+   *
+   * @param file     The baseline file.
+   * @param baseline The current baseline.
+   * @param measured The measured values.
+   */
+  private static void writeBaseline(final File file, final Properties baseline, final Map<String, Long> measured) throws IOException {
+    final StringBuilder content = new StringBuilder()
+        .append(BASELINE_HEADER)
+        .append(String.format(
+            "# Measured on a %d MB heap%s.%n",
+            Runtime.getRuntime().maxMemory() / (1024 * 1024),
+            (Options.fromSystemProperties().isMemoryBounded() ? ", in a memory-bounded run" : "")
+        ))
+        .append(VAADIN_VERSION_KEY).append('=').append(Config.getVaadinVersion()).append('\n');
+
+    for(final String metric : METRICS) {
+      content.append(metric).append('=').append(measured.get(metric)).append('\n');
+    }
+
+    for(final String metric : METRICS) {
+      final String threshold = baseline.getProperty(THRESHOLD_PREFIX + metric);
+
+      if(threshold != null) {
+        content.append(THRESHOLD_PREFIX).append(metric).append('=').append(threshold.trim()).append('\n');
+      }
+    }
+
+    Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private EndToEndBenchmark() {
+    super();
+
+    throw new UnsupportedInstantiationException();
+  }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.benchmarks;
+
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.TypeParameter;
+import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
+import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
+
+/**
+ * Exposes the helpers of {@link Generator} to the benchmarks.
+ * <p>
+ * Otherwise behaves like the interface generator of classes.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+final class ExposedGenerator extends Generator {
+
+  // Constructors
+  //--------------------------------------------------
+
+  ExposedGenerator(final GeneratorEnvironment environment) {
+    super("benchmark", environment);
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  @Override
+  public Type resolveType(final Type type, final OutputBuilder outputBuilder) {
+    return super.resolveType(type, outputBuilder);
+  }
+
+  @Override
+  public ClassOrInterfaceType generateFluentMethodReturnType(
+      final MethodDeclaration sourceMethod,
+      final ClassOrInterfaceDeclaration sourceClass,
+      final OutputBuilder outputBuilder
+  ) {
+    return super.generateFluentMethodReturnType(sourceMethod, sourceClass, outputBuilder);
+  }
+
+  @Override
+  public boolean canGenerateFluentMethod(final MethodDeclaration sourceMethod, final ClassOrInterfaceDeclaration sourceClass) {
+    return super.canGenerateFluentMethod(sourceMethod, sourceClass);
+  }
+
+  @Override
+  protected String generateClassSimpleName(final ClassOrInterfaceDeclaration sourceClass) {
+    return generateInterfaceSimpleName(sourceClass.getNameAsString());
+  }
+
+  @Override
+  protected NodeList<TypeParameter> generateTypeParameters(final ClassOrInterfaceDeclaration sourceClass, final OutputBuilder outputBuilder) {
+    return generateFluentTypeParameters(sourceClass, outputBuilder);
+  }
+
+  @Override
+  protected NodeList<Type> generateTypeArguments(final ClassOrInterfaceDeclaration sourceClass, final OutputBuilder outputBuilder) {
+    return generateFluentTypeArguments(sourceClass);
+  }
+
+  @Override
+  protected ClassOrInterfaceType generateSubclassTypeWithTypeArguments(final ClassOrInterfaceDeclaration sourceClass, final OutputBuilder outputBuilder) {
+    return new ClassOrInterfaceType(null, getSubclassTypeParameterName());
+  }
+
+  @Override
+  protected String generateJavadoc(final ClassOrInterfaceDeclaration sourceClass) {
+    return "";
+  }
+
+}
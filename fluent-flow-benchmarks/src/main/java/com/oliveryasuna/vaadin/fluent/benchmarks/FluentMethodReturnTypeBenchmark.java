@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.benchmarks;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Generator.generateFluentMethodReturnType} for every method of a
+ * component that gets a fluent variant.
+ * <p>
+ * The rewrites of the source class are forgotten before each call, so that
+ * the return types are rewritten every time.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FluentMethodReturnTypeBenchmark {
+
+  // Fields
+  //--------------------------------------------------
+
+  @Param({BenchmarkSources.SMALL, BenchmarkSources.MEDIUM, BenchmarkSources.HUGE})
+  public String className;
+
+  private ExposedGenerator generator;
+
+  private Class<?> sourceClass;
+
+  private CompilationUnit sourceFile;
+
+  private ClassOrInterfaceDeclaration sourceClassDeclaration;
+
+  private List<MethodDeclaration> sourceMethods;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Setup
+  public void setUp() {
+    sourceClass = BenchmarkSources.load(className);
+    sourceFile = BenchmarkSources.parse(className);
+    sourceClassDeclaration = sourceFile.getType(0).asClassOrInterfaceDeclaration();
+    generator = new ExposedGenerator(BenchmarkSources.environment());
+    sourceMethods = sourceClassDeclaration.getMethods().stream()
+        .filter(sourceMethod -> generator.canGenerateFluentMethod(sourceMethod, sourceClassDeclaration))
+        .toList();
+  }
+
+  @Benchmark
+  public void generateFluentMethodReturnType(final Blackhole blackhole) {
+    final OutputBuilder outputBuilder = new OutputBuilder(sourceClass, sourceFile);
+
+    generator.getTypeRewriteCache().evict(sourceClass);
+
+    for(final MethodDeclaration sourceMethod : sourceMethods) {
+      blackhole.consume(generator.generateFluentMethodReturnType(sourceMethod, sourceClassDeclaration, outputBuilder));
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.benchmarks;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full {@link Generator#generate} of a component, by each of its generators.
+ * <p>
+ * As in a run, the generators of the component share its type rewrites, which
+ * are forgotten once all of them have run.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GenerateBenchmark {
+
+  // Fields
+  //--------------------------------------------------
+
+  @Param({BenchmarkSources.SMALL, BenchmarkSources.MEDIUM, BenchmarkSources.HUGE})
+  public String className;
+
+  private Class<?> sourceClass;
+
+  private CompilationUnit sourceFile;
+
+  private GeneratorEnvironment environment;
+
+  private List<Generator> generators;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Setup
+  public void setUp() {
+    sourceClass = BenchmarkSources.load(className);
+    sourceFile = BenchmarkSources.parse(className);
+    environment = BenchmarkSources.environment();
+    generators = App.createGeneratorsSelector(environment).apply(sourceClass);
+  }
+
+  @Benchmark
+  public void generate(final Blackhole blackhole) {
+    for(final Generator generator : generators) {
+      blackhole.consume(generator.generate(sourceFile, sourceClass));
+    }
+
+    environment.getTypeRewriteCache().evict(sourceClass);
+  }
+
+}
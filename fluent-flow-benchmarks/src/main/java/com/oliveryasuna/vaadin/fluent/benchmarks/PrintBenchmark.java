@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.benchmarks;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorResult;
+import com.oliveryasuna.vaadin.fluent.generator.generator.SourceEmitter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Printing of generated compilation units with {@link CompilationUnit#toString()},
+ * against streaming generated classes with {@link SourceEmitter}.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrintBenchmark {
+
+  // Fields
+  //--------------------------------------------------
+
+  @Param({BenchmarkSources.SMALL, BenchmarkSources.MEDIUM, BenchmarkSources.HUGE})
+  public String className;
+
+  private List<GeneratorResult> results;
+
+  private List<CompilationUnit> compilationUnits;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Setup
+  public void setUp() {
+    final Class<?> sourceClass = BenchmarkSources.load(className);
+    final CompilationUnit sourceFile = BenchmarkSources.parse(className);
+    final List<Generator> generators = App.createGeneratorsSelector(BenchmarkSources.environment()).apply(sourceClass);
+
+    results = generators.stream()
+        .map(generator -> generator.generate(sourceFile, sourceClass))
+        .filter(GeneratorResult::hasOutput)
+        .toList();
+    compilationUnits = results.stream()
+        .map(GeneratorResult::getCompilationUnit)
+        .toList();
+  }
+
+  @Benchmark
+  public void print(final Blackhole blackhole) {
+    for(final CompilationUnit compilationUnit : compilationUnits) {
+      blackhole.consume(compilationUnit.toString());
+    }
+  }
+
+  @Benchmark
+  public void emit() throws IOException {
+    for(final GeneratorResult result : results) {
+      result.emit(Writer.nullWriter());
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.benchmarks;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.type.Type;
+import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Generator.resolveType} in the context of a component with a large
+ * API.
+ * <p>
+ * {@link #resolveType()} forgets the rewrites of the source class before each
+ * call, so that the type is rewritten every time;
+ * {@link #resolveTypeCached()} measures taking the remembered rewrite.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolveTypeBenchmark {
+
+  // Fields
+  //--------------------------------------------------
+
+  /**
+   * Types that take the different paths of {@code resolveType}: a plain type,
+   * a special case, a value change listener and a nested class.
+   */
+  @Param({
+      "String",
+      "IconFactory",
+      "ValueChangeListener<? super ComponentValueChangeEvent<DatePicker, LocalDate>>",
+      "DatePickerI18n"
+  })
+  public String typeName;
+
+  private ExposedGenerator generator;
+
+  private Type type;
+
+  private Class<?> sourceClass;
+
+  private CompilationUnit sourceFile;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Setup
+  public void setUp() {
+    sourceClass = BenchmarkSources.load(BenchmarkSources.HUGE);
+    sourceFile = BenchmarkSources.parse(BenchmarkSources.HUGE);
+    generator = new ExposedGenerator(BenchmarkSources.environment());
+    type = StaticJavaParser.parseClassOrInterfaceType(typeName);
+  }
+
+  @Benchmark
+  public Type resolveType() {
+    generator.getTypeRewriteCache().evict(sourceClass);
+
+    return generator.resolveType(type, new OutputBuilder(sourceClass, sourceFile));
+  }
+
+  @Benchmark
+  public Type resolveTypeCached() {
+    return generator.resolveType(type, new OutputBuilder(sourceClass, sourceFile));
+  }
+
+}
@@ -18,25 +18,25 @@
 
 package com.oliveryasuna.vaadin.fluent.generator;
 
-import com.github.javaparser.ParseProblemException;
-import com.github.javaparser.StaticJavaParser;
-import com.github.javaparser.ast.CompilationUnit;
 import com.oliveryasuna.vaadin.fluent.generator.classfinder.ClassFinder;
+import com.oliveryasuna.vaadin.fluent.generator.classfinder.ClassScanCache;
 import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
-import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorResult;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
 import com.oliveryasuna.vaadin.fluent.generator.generator.impl.*;
+import com.oliveryasuna.vaadin.fluent.generator.pipeline.GenerationPipeline;
+import com.oliveryasuna.vaadin.fluent.generator.platform.TargetPlatform;
+import com.oliveryasuna.vaadin.fluent.generator.selection.ClassSelector;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+import com.oliveryasuna.vaadin.fluent.generator.watch.WatchMode;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.lang.reflect.Modifier;
-import java.nio.charset.StandardCharsets;
-import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.function.Function;
 
 @Slf4j
 public final class App {
@@ -45,143 +45,142 @@ public final class App {
   //--------------------------------------------------
 
   public static void main(final String[] args) throws Exception {
-    final ClassFinder classFinder = new ClassFinder();
-    final Set<Class<?>> classes = classFinder.find(
-            "com.vaadin.flow.component",
-            true,
-            clazz -> !clazz.isAnnotation() && !clazz.isMemberClass() && Modifier.isPublic(clazz.getModifiers())
-        ).stream()
-        .filter(clazz ->
-            // TODO: I need to fix these.
-            !clazz.getPackageName().startsWith("com.vaadin.flow.component.grid")
-                && !clazz.getPackageName().startsWith("com.vaadin.flow.component.treegrid")
-                && !clazz.getPackageName().startsWith("com.vaadin.flow.component.combobox")
-                && !clazz.getPackageName().startsWith("com.vaadin.flow.component.internal")
-                && !clazz.getPackageName().startsWith("com.vaadin.flow.component.littemplate")
-                && !clazz.getPackageName().startsWith("com.vaadin.flow.component.upload"))
-        .collect(Collectors.toUnmodifiableSet());
-
-    final Set<Class<?>> sourceInterfaces = classes.stream()
-        .filter(Class::isInterface)
-        .collect(Collectors.toUnmodifiableSet());
-
-    generateClasses(sourceInterfaces, new InterfaceInterfaceGenerator(classes));
-    generateClasses(sourceInterfaces, new InterfaceBaseGenerator(classes));
-    generateClasses(sourceInterfaces, new InterfaceConcreteGenerator(classes));
-
-    final Set<Class<?>> sourceClasses = classes.stream()
-        .filter(clazz -> !clazz.isInterface() && !clazz.isEnum())
-        .collect(Collectors.toUnmodifiableSet());
-
-    generateClasses(sourceClasses, new ClassInterfaceGenerator(classes));
-    generateClasses(sourceClasses, new ClassBaseGenerator(classes));
-    generateClasses(sourceClasses, new ClassConcreteGenerator(classes));
-  }
-
-  // Static fields
-  //--------------------------------------------------
-
-  private static final File OUTPUT_DIRECTORY = new File("../fluent-flow-addon/src/main/java");
-
-  // Static methods
-  //--------------------------------------------------
-
-  private static void generateClasses(final Set<Class<?>> sourceClasses, final Generator generator) {
-    for(final Class<?> sourceClass : sourceClasses) {
-      generateClass(sourceClass, generator);
-    }
-  }
-
-  private static boolean generateClass(final Class<?> sourceClass, final Generator generator) {
-    final String generatorName = generator.getName();
-
-    LOGGER.info("[{}] Generating class for \"{}\".", generatorName, sourceClass.getName());
-
-    final InputStream sourceFileInput;
-
-    try {
-      sourceFileInput = resolveClassSource(sourceClass);
-    } catch(final IOException e) {
-      LOGGER.error("[{}] Failed to resolve source for \"{}\".", generatorName, sourceClass.getName(), e);
-
-      return false;
-    }
+    final Options options = Options.fromSystemProperties();
 
-    final CompilationUnit sourceFile;
+    try(final TargetPlatform platform = TargetPlatform.of(options)) {
+      final SortedSet<Class<?>> classes = findSourceClasses(
+          createClassFinder(options, platform.getClassLoader(), platform.getClassPath()),
+          new ClassSelector(options.getIncludes(), options.getExcludes())
+      );
 
-    try {
-      sourceFile = StaticJavaParser.parse(sourceFileInput);
-    } catch(final ParseProblemException e) {
-      LOGGER.error("[{}] Failed to parse source for \"{}\".", generatorName, sourceClass.getName(), e);
+      if(options.isWatch()) {
+        new WatchMode(options, classes).run();
 
-      return false;
-    }
+        return;
+      }
 
-    final GeneratorResult result = generator.generate(sourceFile, sourceClass);
-
-    if(result.hasErrors()) {
-      LOGGER.error(
-          "[{}] Failed to generate class for \"{}\":\n{}",
-          generatorName,
-          sourceClass.getName(),
-          result.getErrors()
-              .stream()
-              .map(value -> "* " + value)
-              .collect(Collectors.joining("\n"))
-      );
+      final GenerationPipeline.Summary summary = generate(options, classes);
 
-      return false;
+      if(summary.failures() > 0) {
+        LOGGER.error("Generation of {} source classes had {} failures.", summary.sourceClasses(), summary.failures());
+      }
     }
+  }
 
-    try {
-      write(result);
-    } catch(final IOException e) {
-      LOGGER.error("[{}] Failed to write generated class for \"{}\".", generatorName, sourceClass.getName(), e);
+  // Static methods
+  //--------------------------------------------------
 
-      return false;
-    }
+  /**
+   * Creates the class finder of a run.
+   * <p>
+   * Scans are cached in the cache directory, unless caching is disabled.
+   *
+   * @param options     The options.
+   * @param classLoader The class loader to load found classes with.
+   * @param classPath   The classpath to scan.
+   *
+   * @return The class finder.
+   */
+  public static ClassFinder createClassFinder(final Options options, final ClassLoader classLoader, final Collection<File> classPath) {
+    return new ClassFinder(classLoader, classPath, (options.isCache() ? new ClassScanCache(options.getCacheDirectory()) : null));
+  }
 
-    if(result.hasWarnings()) {
-      LOGGER.warn(
-          "[{}] Generated class for \"{}\" with warnings:\n{}",
-          generatorName,
-          sourceClass.getName(), result.getWarnings()
-              .stream()
-              .map(value -> "* " + value)
-              .collect(Collectors.joining("\n"))
-      );
-    } else {
-      LOGGER.info("[{}] Generated class for \"{}\".", generatorName, sourceClass.getName());
-    }
+  /**
+   * Finds the classes to generate fluent classes for.
+   *
+   * @param classSelector The selector of the classes.
+   *
+   * @return The classes, sorted by name.
+   */
+  public static SortedSet<Class<?>> findSourceClasses(final ClassSelector classSelector) throws IOException {
+    return findSourceClasses(new ClassFinder(), classSelector);
+  }
 
-    return true;
+  /**
+   * Finds the classes to generate fluent classes for.
+   *
+   * @param classFinder   The class finder to search with.
+   * @param classSelector The selector of the classes.
+   *
+   * @return The classes, sorted by name.
+   */
+  public static SortedSet<Class<?>> findSourceClasses(final ClassFinder classFinder, final ClassSelector classSelector) throws IOException {
+    // Only the included classes are loaded; their supertypes are loaded while
+    // closing over them.
+    // Sorted, so that lookups by simple name do not depend on hash order.
+    return Collections.unmodifiableSortedSet(classSelector.select(
+        classFinder.find(ClassSelector.SOURCE_PACKAGE, true, classSelector::isIncluded)
+    ));
   }
 
-  private static InputStream resolveClassSource(final Class<?> clazz) throws IOException {
-    final String compiledJarPath = clazz.getProtectionDomain().getCodeSource().getLocation().getPath();
-    final String sourceJarPath = compiledJarPath.substring(0, compiledJarPath.lastIndexOf(".jar")) + "-sources.jar";
-    final String sourcePath = clazz.getName().replaceAll("\\.", "/") + ".java";
+  /**
+   * Creates the function that selects the generators to run for a source
+   * class.
+   * <p>
+   * Generators are stateless, so one instance of each is shared by all
+   * source classes and worker threads.
+   *
+   * @param environment The environment of the generators.
+   *
+   * @return The selector.
+   */
+  public static Function<Class<?>, List<Generator>> createGeneratorsSelector(final GeneratorEnvironment environment) {
+    final List<Generator> interfaceGenerators = List.of(
+        new InterfaceInterfaceGenerator(environment),
+        new InterfaceBaseGenerator(environment),
+        new InterfaceConcreteGenerator(environment)
+    );
+    final List<Generator> classGenerators = List.of(
+        new ClassInterfaceGenerator(environment),
+        new ClassBaseGenerator(environment),
+        new ClassConcreteGenerator(environment)
+    );
 
-    final ZipFile zipFile = new ZipFile(sourceJarPath);
-    final ZipEntry zipEntry = zipFile.getEntry(sourcePath);
+    return sourceClass -> {
+      if(sourceClass.isInterface()) {
+        return interfaceGenerators;
+      } else if(!sourceClass.isEnum()) {
+        return classGenerators;
+      }
 
-    return zipFile.getInputStream(zipEntry);
+      return List.of();
+    };
   }
 
-  private static void write(final GeneratorResult result) throws IOException {
-    final CompilationUnit compilationUnit = result.getCompilationUnit();
-
-    final File folder = new File(
-        OUTPUT_DIRECTORY,
-        compilationUnit.getPackageDeclaration()
-            .map(packageDeclaration -> packageDeclaration.getNameAsString())
-            .orElseThrow()
-            .replaceAll("\\.", "/")
-    );
-    final File file = new File(folder, compilationUnit.getType(0).getNameAsString() + ".java");
+  /**
+   * Generates fluent classes with options from the system properties.
+   * <p>
+   * Only takes and returns types of the platform, so that it can be called
+   * across class loaders by {@link WatchMode}.
+   *
+   * @param classes The classes to generate fluent classes for.
+   *
+   * @return The number of failures.
+   */
+  public static int generate(final SortedSet<Class<?>> classes) throws IOException, InterruptedException {
+    return generate(Options.fromSystemProperties(), classes).failures();
+  }
 
-    folder.mkdirs();
-    FileUtils.writeStringToFile(file, compilationUnit.toString(), StandardCharsets.UTF_8);
+  /**
+   * Generates fluent classes.
+   * <p>
+   * Types are looked up, and the Vaadin version is detected, in the platform
+   * that the classes were loaded from.
+   *
+   * @param options The options.
+   * @param classes The classes to generate fluent classes for.
+   *
+   * @return The summary of the run.
+   */
+  public static GenerationPipeline.Summary generate(
+      final Options options,
+      final SortedSet<Class<?>> classes
+  ) throws IOException, InterruptedException {
+    final TargetPlatform platform = TargetPlatform.ofClassLoader(classes.isEmpty() ? App.class.getClassLoader() : classes.first().getClassLoader());
+    final TypeIndex typeIndex = new TypeIndex(platform.getClassLoader(), platform.getClassPath());
+    final GeneratorEnvironment environment = new GeneratorEnvironment(classes, options.resolveGenerationDate(), typeIndex, platform.getVaadinVersion());
+
+    return new GenerationPipeline(options).run(classes, environment, createGeneratorsSelector(environment));
   }
 
 }
@@ -18,6 +18,7 @@
 
 package com.oliveryasuna.vaadin.fluent.generator;
 
+import com.oliveryasuna.commons.language.exception.UnsupportedInstantiationException;
 import com.oliveryasuna.commons.language.pattern.fluent.FluentFactory;
 import com.oliveryasuna.commons.language.pattern.fluent.IFluentFactory;
 import com.oliveryasuna.commons.language.pattern.fluent.breakdown.*;
@@ -33,24 +34,11 @@ import java.util.Properties;
  */
 public final class Config {
 
-  // Static fields
-  //--------------------------------------------------
-
-  private static Config INSTANCE;
-
   // Static methods
   //--------------------------------------------------
 
   private static Config getInstance() {
-    if(INSTANCE == null) {
-      try {
-        INSTANCE = new Config();
-      } catch(final Exception e) {
-        throw new RuntimeException(e);
-      }
-    }
-
-    return INSTANCE;
+    return Holder.INSTANCE;
   }
 
   public static String getVersion() {
@@ -137,10 +125,22 @@ public final class Config {
     return getInstance().booleanArrayValueBreakClass;
   }
 
+  /**
+   * Gets the Vaadin version that the generator was built with.
+   * <p>
+   * Generation uses the version of its target platform, and falls back to this
+   * one only if that cannot be detected.
+   *
+   * @return The version.
+   */
   public static String getVaadinVersion() {
     return getInstance().vaadinVersion;
   }
 
+  private static Class<?> loadClass(final Properties properties, final String key) throws ClassNotFoundException {
+    return Class.forName(properties.getProperty(key), false, Config.class.getClassLoader());
+  }
+
   // Constructors
   //--------------------------------------------------
 
@@ -157,27 +157,27 @@ public final class Config {
 
     this.version = properties.getProperty("version");
 
-    this.iFluentFactoryClass = (Class<IFluentFactory<?, ?>>)Class.forName(properties.getProperty("name.IFluentFactory"));
-    this.fluentFactoryClass = (Class<FluentFactory<?, ?>>)Class.forName(properties.getProperty("name.FluentFactory"));
-
-    this.valueBreakClass = (Class<ValueBreak<?, ?, ?>>)Class.forName(properties.getProperty("name.ValueBreak"));
-    this.byteValueBreakClass = (Class<ByteValueBreak<?, ?>>)Class.forName(properties.getProperty("name.ByteValueBreak"));
-    this.shortValueBreakClass = (Class<ShortValueBreak<?, ?>>)Class.forName(properties.getProperty("name.ShortValueBreak"));
-    this.intValueBreakClass = (Class<IntValueBreak<?, ?>>)Class.forName(properties.getProperty("name.IntValueBreak"));
-    this.longValueBreakClass = (Class<LongValueBreak<?, ?>>)Class.forName(properties.getProperty("name.LongValueBreak"));
-    this.floatValueBreakClass = (Class<FloatValueBreak<?, ?>>)Class.forName(properties.getProperty("name.FloatValueBreak"));
-    this.doubleValueBreakClass = (Class<DoubleValueBreak<?, ?>>)Class.forName(properties.getProperty("name.DoubleValueBreak"));
-    this.booleanValueBreakClass = (Class<BooleanValueBreak<?, ?>>)Class.forName(properties.getProperty("name.BooleanValueBreak"));
-    this.charValueBreakClass = (Class<CharValueBreak<?, ?>>)Class.forName(properties.getProperty("name.CharValueBreak"));
-    this.arrayValueBreakClass = (Class<ArrayValueBreak<?, ?, ?>>)Class.forName(properties.getProperty("name.ArrayValueBreak"));
-    this.byteArrayValueBreakClass = (Class<ByteArrayValueBreak<?, ?>>)Class.forName(properties.getProperty("name.ByteArrayValueBreak"));
-    this.shortArrayValueBreakClass = (Class<ShortArrayValueBreak<?, ?>>)Class.forName(properties.getProperty("name.ShortArrayValueBreak"));
-    this.intArrayValueBreakClass = (Class<IntArrayValueBreak<?, ?>>)Class.forName(properties.getProperty("name.IntArrayValueBreak"));
-    this.longArrayValueBreakClass = (Class<LongArrayValueBreak<?, ?>>)Class.forName(properties.getProperty("name.LongArrayValueBreak"));
-    this.floatArrayValueBreakClass = (Class<FloatArrayValueBreak<?, ?>>)Class.forName(properties.getProperty("name.FloatArrayValueBreak"));
-    this.doubleArrayValueBreakClass = (Class<DoubleArrayValueBreak<?, ?>>)Class.forName(properties.getProperty("name.DoubleArrayValueBreak"));
-    this.booleanArrayValueBreakClass = (Class<BooleanArrayValueBreak<?, ?>>)Class.forName(properties.getProperty("name.BooleanArrayValueBreak"));
-    this.charArrayValueBreakClass = (Class<CharArrayValueBreak<?, ?>>)Class.forName(properties.getProperty("name.CharArrayValueBreak"));
+    this.iFluentFactoryClass = (Class<IFluentFactory<?, ?>>)loadClass(properties, "name.IFluentFactory");
+    this.fluentFactoryClass = (Class<FluentFactory<?, ?>>)loadClass(properties, "name.FluentFactory");
+
+    this.valueBreakClass = (Class<ValueBreak<?, ?, ?>>)loadClass(properties, "name.ValueBreak");
+    this.byteValueBreakClass = (Class<ByteValueBreak<?, ?>>)loadClass(properties, "name.ByteValueBreak");
+    this.shortValueBreakClass = (Class<ShortValueBreak<?, ?>>)loadClass(properties, "name.ShortValueBreak");
+    this.intValueBreakClass = (Class<IntValueBreak<?, ?>>)loadClass(properties, "name.IntValueBreak");
+    this.longValueBreakClass = (Class<LongValueBreak<?, ?>>)loadClass(properties, "name.LongValueBreak");
+    this.floatValueBreakClass = (Class<FloatValueBreak<?, ?>>)loadClass(properties, "name.FloatValueBreak");
+    this.doubleValueBreakClass = (Class<DoubleValueBreak<?, ?>>)loadClass(properties, "name.DoubleValueBreak");
+    this.booleanValueBreakClass = (Class<BooleanValueBreak<?, ?>>)loadClass(properties, "name.BooleanValueBreak");
+    this.charValueBreakClass = (Class<CharValueBreak<?, ?>>)loadClass(properties, "name.CharValueBreak");
+    this.arrayValueBreakClass = (Class<ArrayValueBreak<?, ?, ?>>)loadClass(properties, "name.ArrayValueBreak");
+    this.byteArrayValueBreakClass = (Class<ByteArrayValueBreak<?, ?>>)loadClass(properties, "name.ByteArrayValueBreak");
+    this.shortArrayValueBreakClass = (Class<ShortArrayValueBreak<?, ?>>)loadClass(properties, "name.ShortArrayValueBreak");
+    this.intArrayValueBreakClass = (Class<IntArrayValueBreak<?, ?>>)loadClass(properties, "name.IntArrayValueBreak");
+    this.longArrayValueBreakClass = (Class<LongArrayValueBreak<?, ?>>)loadClass(properties, "name.LongArrayValueBreak");
+    this.floatArrayValueBreakClass = (Class<FloatArrayValueBreak<?, ?>>)loadClass(properties, "name.FloatArrayValueBreak");
+    this.doubleArrayValueBreakClass = (Class<DoubleArrayValueBreak<?, ?>>)loadClass(properties, "name.DoubleArrayValueBreak");
+    this.booleanArrayValueBreakClass = (Class<BooleanArrayValueBreak<?, ?>>)loadClass(properties, "name.BooleanArrayValueBreak");
+    this.charArrayValueBreakClass = (Class<CharArrayValueBreak<?, ?>>)loadClass(properties, "name.CharArrayValueBreak");
 
     this.vaadinVersion = properties.getProperty("vaadin.version");
   }
@@ -229,4 +229,39 @@ public final class Config {
 
   private final String vaadinVersion;
 
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Lazily creates the configuration.
+   * <p>
+   * The JVM initializes this class on first access, which makes the lazy
+   * initialization thread-safe without explicit locking.
+   */
+  private static final class Holder {
+
+    // Static fields
+    //--------------------------------------------------
+
+    private static final Config INSTANCE;
+
+    static {
+      try {
+        INSTANCE = new Config();
+      } catch(final Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    // Constructors
+    //--------------------------------------------------
+
+    private Holder() {
+      super();
+
+      throw new UnsupportedInstantiationException();
+    }
+
+  }
+
 }
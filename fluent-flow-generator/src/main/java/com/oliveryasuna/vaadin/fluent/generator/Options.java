@@ -0,0 +1,532 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator;
+
+import com.oliveryasuna.vaadin.fluent.generator.pipeline.Phase;
+import com.oliveryasuna.vaadin.fluent.generator.platform.TargetPlatform;
+import com.oliveryasuna.vaadin.fluent.generator.selection.ClassSelector;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Options for a generator run.
+ * <p>
+ * Defaults can be overridden with system properties prefixed with
+ * {@value #PROPERTY_PREFIX}.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class Options {
+
+  // Static fields
+  //--------------------------------------------------
+
+  public static final String PROPERTY_PREFIX = "fluentflow.";
+
+  public static final File DEFAULT_OUTPUT_DIRECTORY = new File("../fluent-flow-addon/src/main/java");
+
+  public static final File DEFAULT_CACHE_DIRECTORY = new File(System.getProperty("user.home"), ".cache/fluent-flow");
+
+  public static final String MANIFEST_FILE_NAME = ".fluent-flow-manifest";
+
+  public static final int DEFAULT_REPORT_TOP_COUNT = 20;
+
+  /**
+   * The environment variable of the reproducible-builds convention for a fixed
+   * build timestamp, in seconds since the epoch.
+   */
+  public static final String SOURCE_DATE_EPOCH_VARIABLE = "SOURCE_DATE_EPOCH";
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Creates options from the system properties.
+   *
+   * @return The options.
+   */
+  public static Options fromSystemProperties() {
+    final Options options = new Options();
+
+    options.setOutputDirectory(new File(System.getProperty(PROPERTY_PREFIX + "outputDirectory", DEFAULT_OUTPUT_DIRECTORY.getPath())));
+    options.setParallelism(Integer.getInteger(PROPERTY_PREFIX + "parallelism", 0));
+    options.setIncremental(Boolean.parseBoolean(System.getProperty(PROPERTY_PREFIX + "incremental", "true")));
+
+    final String manifestFile = System.getProperty(PROPERTY_PREFIX + "manifestFile");
+
+    if(manifestFile != null) {
+      options.setManifestFile(new File(manifestFile));
+    }
+
+    options.setCache(Boolean.parseBoolean(System.getProperty(PROPERTY_PREFIX + "cache", "true")));
+    options.setCacheDirectory(new File(System.getProperty(PROPERTY_PREFIX + "cacheDirectory", DEFAULT_CACHE_DIRECTORY.getPath())));
+
+    final String sourceDateEpoch = System.getProperty(PROPERTY_PREFIX + "sourceDateEpoch", System.getenv(SOURCE_DATE_EPOCH_VARIABLE));
+
+    if(sourceDateEpoch != null && !sourceDateEpoch.isBlank()) {
+      options.setSourceDateEpoch(Long.parseLong(sourceDateEpoch.trim()));
+    }
+
+    options.setReproducible(Boolean.parseBoolean(System.getProperty(PROPERTY_PREFIX + "reproducible", String.valueOf(options.getSourceDateEpoch() != null))));
+    options.setWatch(Boolean.getBoolean(PROPERTY_PREFIX + "watch"));
+
+    final String watchPaths = System.getProperty(PROPERTY_PREFIX + "watchPaths");
+
+    if(watchPaths != null && !watchPaths.isBlank()) {
+      options.setWatchPaths(Arrays.stream(watchPaths.split(File.pathSeparator))
+          .filter(path -> !path.isBlank())
+          .map(Path::of)
+          .toList());
+    }
+
+    final String targetClassPath = System.getProperty(PROPERTY_PREFIX + "targetClassPath");
+
+    if(targetClassPath != null && !targetClassPath.isBlank()) {
+      options.setTargetClassPath(Arrays.stream(targetClassPath.split(File.pathSeparator))
+          .filter(path -> !path.isBlank())
+          .map(File::new)
+          .toList());
+    }
+
+    final String includes = System.getProperty(PROPERTY_PREFIX + "includes");
+
+    if(includes != null) {
+      options.setIncludes(splitList(includes));
+    }
+
+    final String excludes = System.getProperty(PROPERTY_PREFIX + "excludes");
+
+    if(excludes != null) {
+      options.setExcludes(splitList(excludes));
+    }
+
+    final String reportFile = System.getProperty(PROPERTY_PREFIX + "reportFile");
+
+    if(reportFile != null) {
+      options.setReportFile(new File(reportFile));
+    }
+
+    options.setReportTopCount(Integer.getInteger(PROPERTY_PREFIX + "reportTopCount", DEFAULT_REPORT_TOP_COUNT));
+    options.setQueueCapacity(Integer.getInteger(PROPERTY_PREFIX + "queueCapacity", 0));
+    options.setMemoryBounded(Boolean.getBoolean(PROPERTY_PREFIX + "memoryBounded"));
+    options.setStreaming(Boolean.parseBoolean(System.getProperty(PROPERTY_PREFIX + "streaming", "true")));
+
+    for(final Phase phase : Phase.values()) {
+      options.setWorkers(phase, Integer.getInteger(PROPERTY_PREFIX + "workers." + phase.getId(), 0));
+    }
+
+    return options;
+  }
+
+  private static List<String> splitList(final String value) {
+    return Arrays.stream(value.split(","))
+        .map(String::trim)
+        .filter(item -> !item.isEmpty())
+        .toList();
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  public Options() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private File outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+
+  /**
+   * The number of source classes generated concurrently.
+   * <p>
+   * A value less than {@code 1} means one per available processor.
+   */
+  private int parallelism;
+
+  /**
+   * Whether source classes that are unchanged since the last run are skipped.
+   */
+  private boolean incremental = true;
+
+  /**
+   * The manifest file.
+   * <p>
+   * {@code null} means {@value #MANIFEST_FILE_NAME} in the output directory.
+   */
+  private File manifestFile;
+
+  /**
+   * Whether parsed source models and classpath scans are cached on disk.
+   */
+  private boolean cache = true;
+
+  /**
+   * The directory of the parsed source model and classpath scan caches.
+   * <p>
+   * Entries are keyed by source jar checksum and classpath fingerprints, so the
+   * directory may be shared by checkouts and Vaadin versions.
+   */
+  private File cacheDirectory = DEFAULT_CACHE_DIRECTORY;
+
+  /**
+   * Whether generated files depend only on the inputs, and not on when they
+   * were generated.
+   * <p>
+   * Requires {@link #sourceDateEpoch}.
+   */
+  private boolean reproducible;
+
+  /**
+   * The date stamped into generated Javadoc, in seconds since the epoch.
+   * <p>
+   * {@code null} means the current date, unless the run is reproducible.
+   */
+  private Long sourceDateEpoch;
+
+  /**
+   * Whether to keep running and regenerate whenever the inputs change.
+   */
+  private boolean watch;
+
+  /**
+   * Files or directories to watch in addition to the source jars and the
+   * generator classes.
+   */
+  private List<Path> watchPaths = List.of();
+
+  /**
+   * The jars and class directories of the Vaadin version to generate for,
+   * which are loaded into an isolated class loader.
+   * <p>
+   * {@code null} means the classpath of the generator.
+   *
+   * @see TargetPlatform
+   */
+  private List<File> targetClassPath;
+
+  /**
+   * The class patterns of the classes to generate.
+   *
+   * @see ClassSelector
+   */
+  private List<String> includes = ClassSelector.DEFAULT_INCLUDES;
+
+  /**
+   * The class patterns of the classes not to generate, even as supertypes of
+   * included classes.
+   *
+   * @see ClassSelector
+   */
+  private List<String> excludes = ClassSelector.DEFAULT_EXCLUDES;
+
+  /**
+   * The file to write the timing and allocation report of a run to.
+   * <p>
+   * {@code null} means no report.
+   */
+  private File reportFile;
+
+  /**
+   * The number of slowest source classes listed in the report.
+   */
+  private int reportTopCount = DEFAULT_REPORT_TOP_COUNT;
+
+  /**
+   * The number of workers per phase.
+   * <p>
+   * A missing value or a value less than {@code 1} means the default of the
+   * phase.
+   */
+  private final Map<Phase, Integer> workers = new EnumMap<>(Phase.class);
+
+  /**
+   * The number of items that may wait between two phases.
+   * <p>
+   * A value less than {@code 1} means twice the parallelism.
+   */
+  private int queueCapacity;
+
+  /**
+   * Whether to bound the memory of a run by the size of the largest source
+   * class, rather than by the parallelism.
+   * <p>
+   * Unless configured otherwise, only one source class is held per phase, and
+   * only one item may wait between two phases. Meant for build agents with a
+   * small heap.
+   */
+  private boolean memoryBounded;
+
+  /**
+   * Whether generated classes are streamed into their files, rather than
+   * built into compilation units and printed.
+   * <p>
+   * Both give the same files. Printing compilation units is kept as a
+   * fallback.
+   */
+  private boolean streaming = true;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Resolves the effective parallelism.
+   *
+   * @return The configured parallelism, or, if none was configured, {@code 1}
+   *     in memory-bounded runs and the number of available processors
+   *     otherwise.
+   */
+  public int resolveParallelism() {
+    if(parallelism > 0) {
+      return parallelism;
+    }
+
+    return (memoryBounded ? 1 : Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Resolves the date stamped into generated Javadoc.
+   *
+   * @return The date of {@link #getSourceDateEpoch()} in UTC, if configured;
+   *     otherwise the current date.
+   *
+   * @throws IllegalStateException If the run is reproducible, but no source
+   *                               date epoch was configured.
+   */
+  public LocalDate resolveGenerationDate() {
+    if(sourceDateEpoch != null) {
+      return LocalDate.ofInstant(Instant.ofEpochSecond(sourceDateEpoch), ZoneOffset.UTC);
+    }
+
+    if(reproducible) {
+      throw new IllegalStateException("Reproducible runs require " + SOURCE_DATE_EPOCH_VARIABLE + " or " + PROPERTY_PREFIX + "sourceDateEpoch.");
+    }
+
+    return LocalDate.now();
+  }
+
+  /**
+   * Resolves the effective manifest file.
+   *
+   * @return The configured manifest file, or {@value #MANIFEST_FILE_NAME} in
+   *     the output directory if none was configured.
+   */
+  public File resolveManifestFile() {
+    return (manifestFile != null ? manifestFile : new File(outputDirectory, MANIFEST_FILE_NAME));
+  }
+
+  /**
+   * Resolves the effective number of workers of a phase.
+   * <p>
+   * Phases that mostly wait on I/O default to two workers, or one in
+   * memory-bounded runs; the others default to the parallelism.
+   *
+   * @param phase The phase.
+   *
+   * @return The number of workers.
+   */
+  public int resolveWorkers(final Phase phase) {
+    final int configured = getWorkers(phase);
+
+    if(configured > 0) {
+      return configured;
+    }
+
+    return switch(phase) {
+      case LOCATE, WRITE -> (memoryBounded ? 1 : 2);
+      case PARSE, GENERATE, PRINT -> resolveParallelism();
+    };
+  }
+
+  /**
+   * Resolves the effective queue capacity.
+   *
+   * @return The configured queue capacity, or, if none was configured,
+   *     {@code 1} in memory-bounded runs and twice the parallelism otherwise.
+   */
+  public int resolveQueueCapacity() {
+    if(queueCapacity > 0) {
+      return queueCapacity;
+    }
+
+    return (memoryBounded ? 1 : 2 * resolveParallelism());
+  }
+
+  // Getters/setters
+  //--------------------------------------------------
+
+  public File getOutputDirectory() {
+    return outputDirectory;
+  }
+
+  public void setOutputDirectory(final File outputDirectory) {
+    this.outputDirectory = outputDirectory;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(final int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  public boolean isIncremental() {
+    return incremental;
+  }
+
+  public void setIncremental(final boolean incremental) {
+    this.incremental = incremental;
+  }
+
+  public File getManifestFile() {
+    return manifestFile;
+  }
+
+  public void setManifestFile(final File manifestFile) {
+    this.manifestFile = manifestFile;
+  }
+
+  public boolean isCache() {
+    return cache;
+  }
+
+  public void setCache(final boolean cache) {
+    this.cache = cache;
+  }
+
+  public File getCacheDirectory() {
+    return cacheDirectory;
+  }
+
+  public void setCacheDirectory(final File cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  public boolean isReproducible() {
+    return reproducible;
+  }
+
+  public void setReproducible(final boolean reproducible) {
+    this.reproducible = reproducible;
+  }
+
+  public Long getSourceDateEpoch() {
+    return sourceDateEpoch;
+  }
+
+  public void setSourceDateEpoch(final Long sourceDateEpoch) {
+    this.sourceDateEpoch = sourceDateEpoch;
+  }
+
+  public boolean isWatch() {
+    return watch;
+  }
+
+  public void setWatch(final boolean watch) {
+    this.watch = watch;
+  }
+
+  public List<Path> getWatchPaths() {
+    return watchPaths;
+  }
+
+  public void setWatchPaths(final List<Path> watchPaths) {
+    this.watchPaths = List.copyOf(watchPaths);
+  }
+
+  public List<File> getTargetClassPath() {
+    return targetClassPath;
+  }
+
+  public void setTargetClassPath(final List<File> targetClassPath) {
+    this.targetClassPath = (targetClassPath != null ? List.copyOf(targetClassPath) : null);
+  }
+
+  public List<String> getIncludes() {
+    return includes;
+  }
+
+  public void setIncludes(final List<String> includes) {
+    this.includes = includes;
+  }
+
+  public List<String> getExcludes() {
+    return excludes;
+  }
+
+  public void setExcludes(final List<String> excludes) {
+    this.excludes = excludes;
+  }
+
+  public File getReportFile() {
+    return reportFile;
+  }
+
+  public void setReportFile(final File reportFile) {
+    this.reportFile = reportFile;
+  }
+
+  public int getReportTopCount() {
+    return reportTopCount;
+  }
+
+  public void setReportTopCount(final int reportTopCount) {
+    this.reportTopCount = reportTopCount;
+  }
+
+  public int getWorkers(final Phase phase) {
+    return workers.getOrDefault(phase, 0);
+  }
+
+  public void setWorkers(final Phase phase, final int workers) {
+    this.workers.put(phase, workers);
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  public void setQueueCapacity(final int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public boolean isMemoryBounded() {
+    return memoryBounded;
+  }
+
+  public void setMemoryBounded(final boolean memoryBounded) {
+    this.memoryBounded = memoryBounded;
+  }
+
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  public void setStreaming(final boolean streaming) {
+    this.streaming = streaming;
+  }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.apimodel;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.oliveryasuna.commons.language.exception.UnsupportedInstantiationException;
+
+import java.util.List;
+
+/**
+ * The API model of a source file: the parts of its syntax tree that generators
+ * read.
+ * <p>
+ * The model keeps the package, the imports and the single top-level class or
+ * interface with its modifiers, annotations, type parameters, supertypes,
+ * constructors and method signatures. Everything else (bodies, fields, nested
+ * types and comments) is dropped, which makes the model small enough to cache.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class ApiModel {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Checks whether a source file has the shape that the API model describes:
+   * exactly one top-level type, which is a class or an interface.
+   *
+   * @param sourceFile The source file.
+   *
+   * @return {@code true} if the file can be reduced to an API model.
+   */
+  public static boolean isSupported(final CompilationUnit sourceFile) {
+    return (sourceFile.getTypes().size() == 1 && sourceFile.getType(0) instanceof ClassOrInterfaceDeclaration);
+  }
+
+  /**
+   * Reduces a source file to its API model, in place.
+   * <p>
+   * Bodies are replaced with empty blocks, so that abstract and non-abstract
+   * members can still be told apart.
+   *
+   * @param sourceFile The source file.
+   *
+   * @return {@code true} if the file was reduced; {@code false} if it is not
+   *     {@link #isSupported(CompilationUnit) supported} and was left as is.
+   */
+  public static boolean prune(final CompilationUnit sourceFile) {
+    if(!isSupported(sourceFile)) {
+      return false;
+    }
+
+    // `Comment.remove()` misses some orphan comments, so strip them node by
+    // node.
+
+    for(final Node node : sourceFile.findAll(Node.class)) {
+      node.removeComment();
+      List.copyOf(node.getOrphanComments()).forEach(node::removeOrphanComment);
+    }
+    sourceFile.getPackageDeclaration()
+        .ifPresent(packageDeclaration -> packageDeclaration.getAnnotations().clear());
+
+    final ClassOrInterfaceDeclaration sourceClass = (ClassOrInterfaceDeclaration)sourceFile.getType(0);
+
+    sourceClass.getMembers()
+        .removeIf(member -> !(member instanceof MethodDeclaration) && !(member instanceof ConstructorDeclaration));
+
+    for(final BodyDeclaration<?> member : sourceClass.getMembers()) {
+      if(member instanceof final MethodDeclaration method) {
+        if(method.getBody().isPresent()) {
+          method.setBody(new BlockStmt());
+        }
+      } else if(member instanceof final ConstructorDeclaration constructor) {
+        constructor.setBody(new BlockStmt());
+      }
+    }
+
+    return true;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private ApiModel() {
+    super();
+
+    throw new UnsupportedInstantiationException();
+  }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.apimodel;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.oliveryasuna.vaadin.fluent.generator.utils.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+
+/**
+ * An on-disk cache of encoded {@link ApiModel API models}.
+ * <p>
+ * Models are stored per source jar, under the checksum of the jar, so a
+ * cached model stays valid for as long as the jar it was parsed from does not
+ * change. Entries are also kept apart by the hash of the generator code, since
+ * a change to {@link ApiModel#prune(CompilationUnit)}, to the codec or to the
+ * parser configuration changes the model of the same source. Unreadable
+ * entries count as misses.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+public final class ApiModelCache {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String EXTENSION = ".bin";
+
+  // Constructors
+  //--------------------------------------------------
+
+  /**
+   * Creates a cache for the models of the loaded generator code.
+   *
+   * @param directory The cache directory.
+   */
+  public ApiModelCache(final File directory) throws IOException {
+    this(directory, HashUtils.hashCodeSource(ApiModel.class));
+  }
+
+  /**
+   * Creates a cache.
+   *
+   * @param directory The cache directory.
+   * @param codeHash  The hash of the generator code that models are parsed
+   *                  and reduced by.
+   */
+  public ApiModelCache(final File directory, final String codeHash) {
+    super();
+
+    this.directory = directory.toPath()
+        .resolve("v" + ApiModelCodec.FORMAT_VERSION)
+        .resolve(codeHash);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Path directory;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Loads a cached model.
+   *
+   * @param jarChecksum The checksum of the source jar.
+   * @param className   The name of the class.
+   *
+   * @return The model, or {@code null} if it is not cached.
+   */
+  public CompilationUnit load(final String jarChecksum, final String className) {
+    final Path file = resolve(jarChecksum, className);
+
+    if(!Files.isRegularFile(file)) {
+      return null;
+    }
+
+    try {
+      return ApiModelCodec.decode(Files.readAllBytes(file));
+    } catch(final IOException e) {
+      LOGGER.warn("Ignoring unreadable cached model \"{}\".", file, e);
+
+      return null;
+    }
+  }
+
+  /**
+   * Caches a model.
+   * <p>
+   * The file is written under a temporary name and then moved into place, so
+   * concurrent readers never see a partial model.
+   *
+   * @param jarChecksum The checksum of the source jar.
+   * @param className   The name of the class.
+   * @param model       The encoded model.
+   */
+  public void store(final String jarChecksum, final String className, final byte[] model) throws IOException {
+    final Path file = resolve(jarChecksum, className);
+
+    Files.createDirectories(file.getParent());
+
+    final Path temporaryFile = Files.createTempFile(file.getParent(), className, ".tmp");
+
+    try {
+      Files.write(temporaryFile, model);
+
+      try {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch(final AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  private Path resolve(final String jarChecksum, final String className) {
+    return directory.resolve(jarChecksum).resolve(className + EXTENSION);
+  }
+
+}
@@ -0,0 +1,651 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.apimodel;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.*;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.MarkerAnnotationExpr;
+import com.github.javaparser.ast.expr.Name;
+import com.github.javaparser.ast.expr.SimpleName;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.type.*;
+import com.oliveryasuna.commons.language.exception.UnsupportedInstantiationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes {@link ApiModel API models} in a compact binary form.
+ * <p>
+ * Strings are stored once, in a table, and referenced by index. Types are
+ * stored structurally. Annotations other than marker annotations are stored
+ * as source text, since their values may be arbitrary expressions.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class ApiModelCodec {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final int MAGIC = 0x46464D31; // "FFM1"
+
+  /**
+   * Increase whenever the encoding or {@link ApiModel} changes.
+   */
+  public static final int FORMAT_VERSION = 1;
+
+  private static final int NONE = 0;
+
+  private static final int TYPE_CLASS = 1;
+
+  private static final int TYPE_PRIMITIVE = 2;
+
+  private static final int TYPE_ARRAY = 3;
+
+  private static final int TYPE_WILDCARD = 4;
+
+  private static final int TYPE_VOID = 5;
+
+  private static final int ANNOTATION_MARKER = 1;
+
+  private static final int ANNOTATION_SOURCE = 2;
+
+  private static final int MEMBER_METHOD = 1;
+
+  private static final int MEMBER_CONSTRUCTOR = 2;
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Encodes an API model.
+   *
+   * @param sourceFile A source file reduced by {@link ApiModel#prune(CompilationUnit)}.
+   *
+   * @return The encoded model.
+   *
+   * @throws IllegalArgumentException If the model contains a node that cannot
+   *                                  be encoded.
+   */
+  public static byte[] encode(final CompilationUnit sourceFile) {
+    if(!ApiModel.isSupported(sourceFile)) {
+      throw new IllegalArgumentException("Not an API model.");
+    }
+
+    final Encoder encoder = new Encoder();
+
+    encoder.compilationUnit(sourceFile);
+
+    final byte[] bytes = encoder.toByteArray();
+
+    // Syntax this codec does not know about (for example, `permits` clauses)
+    // would be dropped silently, so check that decoding gives back the same
+    // tree.
+
+    try {
+      if(!decode(bytes).equals(sourceFile)) {
+        throw new IllegalArgumentException("Model cannot be encoded without loss.");
+      }
+    } catch(final IOException e) {
+      throw new IllegalArgumentException("Model cannot be encoded.", e);
+    }
+
+    return bytes;
+  }
+
+  /**
+   * Decodes an API model.
+   *
+   * @param bytes The encoded model.
+   *
+   * @return The source file.
+   *
+   * @throws IOException If the bytes are not an encoded model of the current
+   *                     format version.
+   */
+  public static CompilationUnit decode(final byte[] bytes) throws IOException {
+    try {
+      return new Decoder(ByteBuffer.wrap(bytes)).compilationUnit();
+    } catch(final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("Corrupt API model.", e);
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private ApiModelCodec() {
+    super();
+
+    throw new UnsupportedInstantiationException();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class Encoder {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private Encoder() {
+      super();
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+
+    private final List<String> strings = new ArrayList<>();
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    // Methods
+    //--------------------------------------------------
+
+    private byte[] toByteArray() {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream(body.size() + 64 * strings.size());
+
+      try(final DataOutputStream dataOutput = new DataOutputStream(output)) {
+        dataOutput.writeInt(MAGIC);
+        dataOutput.writeInt(FORMAT_VERSION);
+
+        writeInt(output, strings.size());
+
+        for(final String string : strings) {
+          final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+          writeInt(output, bytes.length);
+          output.write(bytes);
+        }
+
+        body.writeTo(output);
+      } catch(final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+
+      return output.toByteArray();
+    }
+
+    private void compilationUnit(final CompilationUnit sourceFile) {
+      string(sourceFile.getPackageDeclaration()
+          .map(PackageDeclaration::getNameAsString)
+          .orElse(null));
+
+      integer(sourceFile.getImports().size());
+
+      for(final ImportDeclaration sourceImport : sourceFile.getImports()) {
+        string(sourceImport.getNameAsString());
+        integer((sourceImport.isStatic() ? 1 : 0) | (sourceImport.isAsterisk() ? 2 : 0));
+      }
+
+      classOrInterface((ClassOrInterfaceDeclaration)sourceFile.getType(0));
+    }
+
+    private void classOrInterface(final ClassOrInterfaceDeclaration sourceClass) {
+      modifiers(sourceClass.getModifiers());
+      annotations(sourceClass.getAnnotations());
+      bool(sourceClass.isInterface());
+      string(sourceClass.getNameAsString());
+      typeParameters(sourceClass.getTypeParameters());
+      types(sourceClass.getExtendedTypes());
+      types(sourceClass.getImplementedTypes());
+
+      integer(sourceClass.getMembers().size());
+
+      for(final BodyDeclaration<?> member : sourceClass.getMembers()) {
+        if(member instanceof final MethodDeclaration method) {
+          integer(MEMBER_METHOD);
+          callable(method);
+          type(method.getType());
+          bool(method.getBody().isPresent());
+        } else if(member instanceof final ConstructorDeclaration constructor) {
+          integer(MEMBER_CONSTRUCTOR);
+          callable(constructor);
+        } else {
+          throw new IllegalArgumentException("Unsupported member: " + member.getClass().getSimpleName());
+        }
+      }
+    }
+
+    private void callable(final CallableDeclaration<?> callable) {
+      if(callable.getReceiverParameter().isPresent()) {
+        throw new IllegalArgumentException("Receiver parameters are not supported.");
+      }
+
+      modifiers(callable.getModifiers());
+      annotations(callable.getAnnotations());
+      typeParameters(callable.getTypeParameters());
+      string(callable.getNameAsString());
+
+      integer(callable.getParameters().size());
+
+      for(final Parameter parameter : callable.getParameters()) {
+        modifiers(parameter.getModifiers());
+        annotations(parameter.getAnnotations());
+        type(parameter.getType());
+        bool(parameter.isVarArgs());
+        annotations(parameter.getVarArgsAnnotations());
+        string(parameter.getNameAsString());
+      }
+
+      types(callable.getThrownExceptions());
+    }
+
+    private void modifiers(final NodeList<Modifier> modifiers) {
+      integer(modifiers.size());
+
+      for(final Modifier modifier : modifiers) {
+        string(modifier.getKeyword().name());
+      }
+    }
+
+    private void annotations(final NodeList<AnnotationExpr> annotations) {
+      integer(annotations.size());
+
+      for(final AnnotationExpr annotation : annotations) {
+        if(annotation instanceof MarkerAnnotationExpr) {
+          integer(ANNOTATION_MARKER);
+          string(annotation.getNameAsString());
+        } else {
+          integer(ANNOTATION_SOURCE);
+          string(annotation.toString());
+        }
+      }
+    }
+
+    private void typeParameters(final NodeList<TypeParameter> typeParameters) {
+      integer(typeParameters.size());
+
+      for(final TypeParameter typeParameter : typeParameters) {
+        string(typeParameter.getNameAsString());
+        annotations(typeParameter.getAnnotations());
+        types(typeParameter.getTypeBound());
+      }
+    }
+
+    private void types(final NodeList<? extends Type> types) {
+      integer(types.size());
+
+      types.forEach(this::type);
+    }
+
+    private void type(final Type type) {
+      if(type == null) {
+        integer(NONE);
+      } else if(type instanceof final ClassOrInterfaceType classType) {
+        integer(TYPE_CLASS);
+        type(classType.getScope().orElse(null));
+        string(classType.getNameAsString());
+        annotations(classType.getAnnotations());
+
+        if(classType.getTypeArguments().isPresent()) {
+          bool(true);
+          types(classType.getTypeArguments().get());
+        } else {
+          bool(false);
+        }
+      } else if(type instanceof final PrimitiveType primitiveType) {
+        integer(TYPE_PRIMITIVE);
+        string(primitiveType.getType().name());
+        annotations(primitiveType.getAnnotations());
+      } else if(type instanceof final ArrayType arrayType) {
+        integer(TYPE_ARRAY);
+        type(arrayType.getComponentType());
+        string(arrayType.getOrigin().name());
+        annotations(arrayType.getAnnotations());
+      } else if(type instanceof final WildcardType wildcardType) {
+        integer(TYPE_WILDCARD);
+        type(wildcardType.getExtendedType().orElse(null));
+        type(wildcardType.getSuperType().orElse(null));
+        annotations(wildcardType.getAnnotations());
+      } else if(type instanceof final VoidType voidType) {
+        integer(TYPE_VOID);
+        annotations(voidType.getAnnotations());
+      } else {
+        throw new IllegalArgumentException("Unsupported type: " + type.getClass().getSimpleName());
+      }
+    }
+
+    private void string(final String string) {
+      if(string == null) {
+        integer(0);
+
+        return;
+      }
+
+      Integer index = stringIndices.get(string);
+
+      if(index == null) {
+        strings.add(string);
+        index = strings.size();
+        stringIndices.put(string, index);
+      }
+
+      integer(index);
+    }
+
+    private void bool(final boolean value) {
+      body.write(value ? 1 : 0);
+    }
+
+    private void integer(final int value) {
+      writeInt(body, value);
+    }
+
+    /**
+     * Writes an unsigned variable-length integer.
+     */
+    private static void writeInt(final ByteArrayOutputStream output, int value) {
+      while((value & ~0x7F) != 0) {
+        output.write((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+
+      output.write(value);
+    }
+
+  }
+
+  private static final class Decoder {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private Decoder(final ByteBuffer input) {
+      super();
+
+      this.input = input;
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private final ByteBuffer input;
+
+    private String[] strings;
+
+    // Methods
+    //--------------------------------------------------
+
+    private CompilationUnit compilationUnit() throws IOException {
+      if(input.getInt() != MAGIC || input.getInt() != FORMAT_VERSION) {
+        throw new IOException("Not an API model of format version " + FORMAT_VERSION + ".");
+      }
+
+      strings = new String[integer()];
+
+      for(int i = 0; i < strings.length; i++) {
+        final byte[] bytes = new byte[integer()];
+
+        input.get(bytes);
+        strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+
+      final CompilationUnit sourceFile = new CompilationUnit();
+
+      final String packageName = string();
+
+      if(packageName != null) {
+        sourceFile.setPackageDeclaration(new PackageDeclaration(name(packageName)));
+      }
+
+      // Not `addImport`, which drops imports it considers redundant.
+
+      final int importCount = integer();
+      final NodeList<ImportDeclaration> imports = new NodeList<>();
+
+      for(int i = 0; i < importCount; i++) {
+        final String importName = string();
+        final int flags = integer();
+
+        imports.add(new ImportDeclaration(name(importName), (flags & 1) != 0, (flags & 2) != 0));
+      }
+
+      sourceFile.setImports(imports);
+      sourceFile.setTypes(NodeList.nodeList(classOrInterface()));
+
+      if(input.hasRemaining()) {
+        throw new IOException("Trailing bytes after API model.");
+      }
+
+      return sourceFile;
+    }
+
+    private ClassOrInterfaceDeclaration classOrInterface() throws IOException {
+      final ClassOrInterfaceDeclaration sourceClass = new ClassOrInterfaceDeclaration();
+
+      sourceClass.setModifiers(modifiers());
+      sourceClass.setAnnotations(annotations());
+      sourceClass.setInterface(bool());
+      sourceClass.setName(string());
+      sourceClass.setTypeParameters(typeParameters());
+      sourceClass.setExtendedTypes(types());
+      sourceClass.setImplementedTypes(types());
+
+      final int memberCount = integer();
+      final NodeList<BodyDeclaration<?>> members = new NodeList<>();
+
+      for(int i = 0; i < memberCount; i++) {
+        final int kind = integer();
+
+        if(kind == MEMBER_METHOD) {
+          final MethodDeclaration method = new MethodDeclaration();
+
+          callable(method);
+          method.setType(type());
+
+          if(!bool()) {
+            method.removeBody();
+          }
+
+          members.add(method);
+        } else if(kind == MEMBER_CONSTRUCTOR) {
+          final ConstructorDeclaration constructor = new ConstructorDeclaration();
+
+          callable(constructor);
+          constructor.setBody(new BlockStmt());
+
+          members.add(constructor);
+        } else {
+          throw new IOException("Unknown member kind: " + kind);
+        }
+      }
+
+      sourceClass.setMembers(members);
+
+      return sourceClass;
+    }
+
+    private void callable(final CallableDeclaration<?> callable) throws IOException {
+      callable.setModifiers(modifiers());
+      callable.setAnnotations(annotations());
+      callable.setTypeParameters(typeParameters());
+      callable.setName(string());
+
+      final int parameterCount = integer();
+      final NodeList<Parameter> parameters = new NodeList<>();
+
+      for(int i = 0; i < parameterCount; i++) {
+        final Parameter parameter = new Parameter();
+
+        parameter.setModifiers(modifiers());
+        parameter.setAnnotations(annotations());
+        parameter.setType(type());
+        parameter.setVarArgs(bool());
+        parameter.setVarArgsAnnotations(annotations());
+        parameter.setName(string());
+
+        parameters.add(parameter);
+      }
+
+      callable.setParameters(parameters);
+      callable.setThrownExceptions(types());
+    }
+
+    private NodeList<Modifier> modifiers() {
+      final int count = integer();
+      final NodeList<Modifier> modifiers = new NodeList<>();
+
+      for(int i = 0; i < count; i++) {
+        modifiers.add(new Modifier(Modifier.Keyword.valueOf(string())));
+      }
+
+      return modifiers;
+    }
+
+    private NodeList<AnnotationExpr> annotations() throws IOException {
+      final int count = integer();
+      final NodeList<AnnotationExpr> annotations = new NodeList<>();
+
+      for(int i = 0; i < count; i++) {
+        final int kind = integer();
+
+        if(kind == ANNOTATION_MARKER) {
+          annotations.add(new MarkerAnnotationExpr(name(string())));
+        } else if(kind == ANNOTATION_SOURCE) {
+          annotations.add(StaticJavaParser.parseAnnotation(string()));
+        } else {
+          throw new IOException("Unknown annotation kind: " + kind);
+        }
+      }
+
+      return annotations;
+    }
+
+    private NodeList<TypeParameter> typeParameters() throws IOException {
+      final int count = integer();
+      final NodeList<TypeParameter> typeParameters = new NodeList<>();
+
+      for(int i = 0; i < count; i++) {
+        final String name = string();
+        final NodeList<AnnotationExpr> annotations = annotations();
+
+        typeParameters.add(new TypeParameter(new SimpleName(name), types(), annotations));
+      }
+
+      return typeParameters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <TYPE extends Type> NodeList<TYPE> types() throws IOException {
+      final int count = integer();
+      final NodeList<TYPE> types = new NodeList<>();
+
+      for(int i = 0; i < count; i++) {
+        types.add((TYPE)type());
+      }
+
+      return types;
+    }
+
+    private Type type() throws IOException {
+      final int kind = integer();
+
+      switch(kind) {
+        case NONE:
+          return null;
+        case TYPE_CLASS: {
+          final ClassOrInterfaceType scope = (ClassOrInterfaceType)type();
+          final String name = string();
+          final NodeList<AnnotationExpr> annotations = annotations();
+          final NodeList<Type> typeArguments = (bool() ? types() : null);
+
+          return new ClassOrInterfaceType(scope, new SimpleName(name), typeArguments, annotations);
+        }
+        case TYPE_PRIMITIVE: {
+          final PrimitiveType.Primitive primitive = PrimitiveType.Primitive.valueOf(string());
+
+          return new PrimitiveType(primitive, annotations());
+        }
+        case TYPE_ARRAY: {
+          final Type componentType = type();
+          final ArrayType.Origin origin = ArrayType.Origin.valueOf(string());
+
+          return new ArrayType(componentType, origin, annotations());
+        }
+        case TYPE_WILDCARD: {
+          final ReferenceType extendedType = (ReferenceType)type();
+          final ReferenceType superType = (ReferenceType)type();
+
+          return new WildcardType(extendedType, superType, annotations());
+        }
+        case TYPE_VOID: {
+          final VoidType voidType = new VoidType();
+
+          voidType.setAnnotations(annotations());
+
+          return voidType;
+        }
+        default:
+          throw new IOException("Unknown type kind: " + kind);
+      }
+    }
+
+    private static Name name(final String qualifiedName) {
+      Name name = null;
+
+      for(final String identifier : qualifiedName.split("\\.")) {
+        name = new Name(name, identifier);
+      }
+
+      return name;
+    }
+
+    private String string() {
+      final int index = integer();
+
+      return (index == 0 ? null : strings[index - 1]);
+    }
+
+    private boolean bool() {
+      return (input.get() != 0);
+    }
+
+    private int integer() {
+      int value = 0;
+      int shift = 0;
+      byte b;
+
+      do {
+        b = input.get();
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while((b & 0x80) != 0);
+
+      return value;
+    }
+
+  }
+
+}
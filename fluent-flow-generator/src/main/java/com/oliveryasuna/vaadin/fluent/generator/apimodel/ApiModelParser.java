@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.apimodel;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.oliveryasuna.vaadin.fluent.generator.source.SourceRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/**
+ * Parses the sources of source classes into their {@link ApiModel API models}.
+ * <p>
+ * Both the generation pipeline and the annotation processor parse through it,
+ * so that they generate from the same model.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+public final class ApiModelParser {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * Parses without tokens and comments, which generators do not read, and
+   * which would otherwise take most of the memory of a tree.
+   */
+  private static final ParserConfiguration PARSER_CONFIGURATION = new ParserConfiguration()
+      .setStoreTokens(false)
+      .setAttributeComments(false);
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Parses a source with the configuration of generation, but does not reduce
+   * it to its model.
+   *
+   * @param source The source.
+   *
+   * @return The compilation unit.
+   *
+   * @throws ParseProblemException If the source cannot be parsed.
+   */
+  public static CompilationUnit parseSource(final String source) {
+    // Parsers are not thread-safe, and cheap to create.
+    final ParseResult<CompilationUnit> result = new JavaParser(PARSER_CONFIGURATION).parse(source);
+
+    return result.getResult()
+        .filter(compilationUnit -> result.isSuccessful())
+        .orElseThrow(() -> new ParseProblemException(result.getProblems()));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  /**
+   * Creates a parser.
+   *
+   * @param apiModelCache The cache of parsed models, or {@code null} to parse
+   *                      every source.
+   */
+  public ApiModelParser(final ApiModelCache apiModelCache) {
+    super();
+
+    this.apiModelCache = apiModelCache;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final ApiModelCache apiModelCache;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Parses the source of a class into its model.
+   *
+   * @param sourceClass      The class.
+   * @param source           The source of the class.
+   * @param sourceRepository The repository the source was read from, which
+   *                         identifies the cached models of the class.
+   *
+   * @return The model.
+   *
+   * @throws ParseProblemException If the source cannot be parsed.
+   */
+  public Result parse(final Class<?> sourceClass, final String source, final SourceRepository sourceRepository) {
+    String jarChecksum = null;
+
+    if(apiModelCache != null) {
+      try {
+        jarChecksum = sourceRepository.getSourceJarChecksum(sourceClass);
+      } catch(final IOException e) {
+        LOGGER.warn("Failed to checksum the source jar of \"{}\"; not caching its model.", sourceClass.getName(), e);
+      }
+
+      if(jarChecksum != null) {
+        final CompilationUnit cachedSourceFile = apiModelCache.load(jarChecksum, sourceClass.getName());
+
+        if(cachedSourceFile != null) {
+          return new Result(cachedSourceFile, true);
+        }
+      }
+    }
+
+    final CompilationUnit sourceFile = parseSource(source);
+
+    // Generators only read the API model. Reduce every tree to it, cached or
+    // not, so that a cache hit and a fresh parse give the same output.
+
+    if(ApiModel.prune(sourceFile) && jarChecksum != null) {
+      try {
+        apiModelCache.store(jarChecksum, sourceClass.getName(), ApiModelCodec.encode(sourceFile));
+      } catch(final IllegalArgumentException e) {
+        LOGGER.debug("Not caching the model of \"{}\": {}", sourceClass.getName(), e.getMessage());
+      } catch(final IOException e) {
+        LOGGER.warn("Failed to cache the model of \"{}\".", sourceClass.getName(), e);
+      }
+    }
+
+    return new Result(sourceFile, false);
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * A parsed model.
+   *
+   * @param sourceFile The model.
+   * @param cached     Whether the model was loaded from the cache.
+   */
+  public record Result(CompilationUnit sourceFile, boolean cached) {
+  }
+
+}
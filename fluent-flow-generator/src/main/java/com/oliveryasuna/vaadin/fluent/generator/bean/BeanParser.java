@@ -22,12 +22,11 @@ import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseResult;
 import com.github.javaparser.ast.CompilationUnit;
 import com.oliveryasuna.vaadin.fluent.generator.bean.model.ClassFileDescriptor;
+import com.oliveryasuna.vaadin.fluent.generator.source.SourceRepository;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.InputStream;
 import java.util.Optional;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 @Slf4j
 public class BeanParser {
@@ -35,25 +34,24 @@ public class BeanParser {
   // Constructors
   //--------------------------------------------------
 
-  public BeanParser() {
+  public BeanParser(final SourceRepository sourceRepository) {
     super();
+
+    this.sourceRepository = sourceRepository;
   }
 
-  // Methods
+  // Fields
   //--------------------------------------------------
 
-  public ClassFileDescriptor parse(final Class<?> clazz) throws Exception {
-    final String classJarPath = clazz.getProtectionDomain().getCodeSource().getLocation().getPath();
-
-    final String sourceJarPath = classJarPath.substring(0, classJarPath.lastIndexOf(".jar")) + "-sources.jar";
-    final String sourcePath = clazz.getName().replaceAll("\\.", "/") + ".java";
+  private final SourceRepository sourceRepository;
 
-    final ZipFile zipFile = new ZipFile(sourceJarPath);
-    final ZipEntry zipEntry = zipFile.getEntry(sourcePath);
+  // Methods
+  //--------------------------------------------------
 
+  public ClassFileDescriptor parse(final Class<?> clazz) throws Exception {
     final CompilationUnit compilationUnit;
 
-    try(final InputStream sourceInput = zipFile.getInputStream(zipEntry)) {
+    try(final InputStream sourceInput = sourceRepository.openSource(clazz)) {
       final ParseResult<CompilationUnit> result = new JavaParser().parse(sourceInput);
       final Optional<CompilationUnit> optionalCompilationUnit = result.getResult();
 
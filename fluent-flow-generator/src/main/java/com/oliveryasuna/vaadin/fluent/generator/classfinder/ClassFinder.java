@@ -18,18 +18,29 @@
 
 package com.oliveryasuna.vaadin.fluent.generator.classfinder;
 
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.ClassHeader;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
 import lombok.extern.slf4j.Slf4j;
 
-import javax.tools.*;
 import java.io.File;
 import java.io.IOException;
-import java.util.Set;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 /**
  * Discovers classes on the classpath.
+ * <p>
+ * Classes are discovered from the headers of their class files, read directly
+ * from the jars and class directories. Only the classes that pass the filter
+ * are loaded, and none is initialized. Scans may be cached, by
+ * {@link ClassScanCache}.
  *
  * @author Oliver Yasuna
  * @since 2.0.0
@@ -40,64 +51,228 @@ public class ClassFinder {
   // Static fields
   //--------------------------------------------------
 
-  protected static final JavaFileManager.Location LOCATION = StandardLocation.CLASS_PATH;
-
-  protected static final Set<JavaFileObject.Kind> KINDS = Set.of(JavaFileObject.Kind.CLASS);
+  protected static final String CLASS_FILE_EXTENSION = ".class";
 
   // Constructors
   //--------------------------------------------------
 
   public ClassFinder() {
+    this(ClassFinder.class.getClassLoader());
+  }
+
+  /**
+   * Creates a class finder over the classpath that a class loader sees.
+   *
+   * @param classLoader The class loader to load found classes with.
+   *
+   * @see TypeIndex#classPathOf(ClassLoader)
+   */
+  public ClassFinder(final ClassLoader classLoader) {
+    this(classLoader, TypeIndex.classPathOf(classLoader));
+  }
+
+  /**
+   * Creates a class finder over an explicit classpath.
+   * <p>
+   * Use this where the system classpath is not the one to scan, such as inside
+   * a build tool.
+   *
+   * @param classLoader The class loader to load found classes with.
+   * @param classPath   The classpath to scan.
+   */
+  public ClassFinder(final ClassLoader classLoader, final Collection<File> classPath) {
+    this(classLoader, classPath, null);
+  }
+
+  /**
+   * Creates a class finder over an explicit classpath, whose scans are
+   * cached.
+   *
+   * @param classLoader The class loader to load found classes with.
+   * @param classPath   The classpath to scan.
+   * @param scanCache   The cache of scans, or {@code null} to always scan.
+   */
+  public ClassFinder(final ClassLoader classLoader, final Collection<File> classPath, final ClassScanCache scanCache) {
     super();
+
+    this.classLoader = classLoader;
+    this.classPath = List.copyOf(classPath);
+    this.scanCache = scanCache;
   }
 
   // Fields
   //--------------------------------------------------
 
-  private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+  private final ClassLoader classLoader;
+
+  private final List<File> classPath;
 
-  private final JavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+  private final ClassScanCache scanCache;
 
   // Methods
   //--------------------------------------------------
 
-  public Set<Class<?>> find(final String basePackage, final boolean recursive, final Predicate<Class<?>> filter) throws IOException {
-    final Iterable<JavaFileObject> javaFiles = getFileManager().list(LOCATION, basePackage, KINDS, recursive);
+  /**
+   * Finds the classes of a package that pass a filter.
+   *
+   * @param basePackage The package.
+   * @param recursive   Whether to include the classes of subpackages.
+   * @param filter      Tests the header of a class.
+   *
+   * @return The loaded classes.
+   */
+  public Set<Class<?>> find(final String basePackage, final boolean recursive, final Predicate<ClassHeader> filter) throws IOException {
+    return findHeaders(basePackage, recursive).stream()
+        .filter(filter)
+        .map(header -> load(header.name()))
+        .collect(Collectors.toSet());
+  }
+
+  /**
+   * Reads the headers of the classes of a package.
+   * <p>
+   * Where several classpath entries contain a class, the first one is read.
+   * If the scan is cached and the classpath is unchanged, no class file is
+   * read.
+   *
+   * @param basePackage The package.
+   * @param recursive   Whether to include the classes of subpackages.
+   *
+   * @return The headers.
+   */
+  public Collection<ClassHeader> findHeaders(final String basePackage, final boolean recursive) throws IOException {
+    List<ClassPathFingerprint> fingerprints = null;
+
+    if(scanCache != null) {
+      final Collection<ClassHeader> cachedHeaders = scanCache.load(classPath, basePackage, recursive);
+
+      if(cachedHeaders != null) {
+        LOGGER.debug("Using the cached scan of {} classes of {}.", cachedHeaders.size(), basePackage);
+
+        return cachedHeaders;
+      }
+
+      // Before the scan, so that a class file that changes during the scan
+      // invalidates the cached scan.
+      try {
+        fingerprints = scanCache.fingerprint(classPath, basePackage);
+      } catch(final IOException e) {
+        LOGGER.warn("Failed to fingerprint the classpath; not caching the scan of {}.", basePackage, e);
+      }
+    }
 
-    final String basePackagePath = basePackage.replace('.', '/');
-    final String basePackagePathWithSlash = basePackagePath + "/";
+    final Collection<ClassHeader> headers = scan(basePackage, recursive);
 
-    return StreamSupport.stream(javaFiles.spliterator(), true)
-        // Map to `Class`.
-        .map(javaFile -> {
-          final String uri = javaFile.toUri().toString();
+    if(fingerprints != null) {
+      try {
+        scanCache.store(classPath, basePackage, recursive, fingerprints, headers);
+      } catch(final IOException e) {
+        LOGGER.warn("Failed to cache the scan of {}.", basePackage, e);
+      }
+    }
 
-          return uri
-              .substring(uri.indexOf(basePackagePathWithSlash), uri.length() - 6)
-              .replaceAll(File.separator, ".");
-        })
-        .map(className -> {
-          try {
-            return Class.forName(className);
-          } catch(final ClassNotFoundException e) {
-            LOGGER.error("Failed to load class: {}", className, e);
+    return headers;
+  }
+
+  protected Collection<ClassHeader> scan(final String basePackage, final boolean recursive) throws IOException {
+    final String basePackagePathWithSlash = basePackage.replace('.', '/') + "/";
+    final Map<String, ClassHeader> headers = new LinkedHashMap<>();
+
+    for(final File entry : classPath) {
+      if(entry.isDirectory()) {
+        readDirectory(entry.toPath(), basePackagePathWithSlash, recursive, headers);
+      } else if(entry.isFile()) {
+        readJar(entry, basePackagePathWithSlash, recursive, headers);
+      }
+    }
+
+    return headers.values();
+  }
 
-            throw new RuntimeException(e);
+  protected Class<?> load(final String className) {
+    try {
+      return Class.forName(className, false, classLoader);
+    } catch(final ClassNotFoundException e) {
+      LOGGER.error("Failed to load class: {}", className, e);
+
+      throw new RuntimeException(e);
+    }
+  }
+
+  // Helpers
+  //
+
+  private static void readJar(
+      final File jar,
+      final String basePackagePathWithSlash,
+      final boolean recursive,
+      final Map<String, ClassHeader> headers
+  ) throws IOException {
+    try(final ZipFile zipFile = new ZipFile(jar)) {
+      final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+      while(entries.hasMoreElements()) {
+        final ZipEntry entry = entries.nextElement();
+
+        if(isClassFile(entry.getName(), basePackagePathWithSlash, recursive)) {
+          try(final InputStream inputStream = zipFile.getInputStream(entry)) {
+            readHeader(inputStream, headers);
           }
-        })
-        .filter(filter)
-        .collect(Collectors.toSet());
+        }
+      }
+    }
+  }
+
+  private static void readDirectory(
+      final Path directory,
+      final String basePackagePathWithSlash,
+      final boolean recursive,
+      final Map<String, ClassHeader> headers
+  ) throws IOException {
+    final Path packageDirectory = directory.resolve(basePackagePathWithSlash);
+
+    if(!Files.isDirectory(packageDirectory)) {
+      return;
+    }
+
+    try(final Stream<Path> files = Files.walk(packageDirectory)) {
+      for(final Path file : files.filter(Files::isRegularFile).sorted().toList()) {
+        final String entryName = directory.relativize(file).toString().replace(File.separatorChar, '/');
+
+        if(isClassFile(entryName, basePackagePathWithSlash, recursive)) {
+          try(final InputStream inputStream = Files.newInputStream(file)) {
+            readHeader(inputStream, headers);
+          }
+        }
+      }
+    }
+  }
+
+  private static boolean isClassFile(final String entryName, final String basePackagePathWithSlash, final boolean recursive) {
+    return entryName.startsWith(basePackagePathWithSlash)
+        && entryName.endsWith(CLASS_FILE_EXTENSION)
+        && (recursive || entryName.indexOf('/', basePackagePathWithSlash.length()) == -1);
+  }
+
+  private static void readHeader(final InputStream inputStream, final Map<String, ClassHeader> headers) throws IOException {
+    final ClassHeader header = ClassHeader.read(inputStream);
+
+    headers.putIfAbsent(header.name(), header);
   }
 
   // Getters/setters
   //--------------------------------------------------
 
-  public JavaCompiler getCompiler() {
-    return compiler;
+  public ClassLoader getClassLoader() {
+    return classLoader;
+  }
+
+  public List<File> getClassPath() {
+    return classPath;
   }
 
-  public JavaFileManager getFileManager() {
-    return fileManager;
+  public ClassScanCache getScanCache() {
+    return scanCache;
   }
 
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.classfinder;
+
+import com.oliveryasuna.vaadin.fluent.generator.utils.HashUtils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The fingerprint of a classpath entry, by which cached scans of it are
+ * validated.
+ * <p>
+ * A jar is fingerprinted by its size, modification time and the hash of its
+ * content. The hash is only recomputed if the size or modification time
+ * changed, so that a jar that was touched, but not changed, still matches. A
+ * class directory is fingerprinted by the files under the scanned package:
+ * their total size, latest modification time, and the hash of their paths,
+ * sizes and modification times. A missing entry has a size of {@code -1}.
+ *
+ * @param path         The path of the entry.
+ * @param size         The size of the entry.
+ * @param lastModified The modification time of the entry.
+ * @param hash         The hash of the entry.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public record ClassPathFingerprint(String path, long size, long lastModified, String hash) {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Fingerprints a classpath entry.
+   *
+   * @param entry                    The jar or class directory.
+   * @param basePackagePathWithSlash The path of the scanned package, with a
+   *                                 trailing slash.
+   *
+   * @return The fingerprint.
+   */
+  public static ClassPathFingerprint of(final File entry, final String basePackagePathWithSlash) throws IOException {
+    if(entry.isDirectory()) {
+      return ofDirectory(entry, entry.toPath().resolve(basePackagePathWithSlash));
+    } else if(entry.isFile()) {
+      return new ClassPathFingerprint(entry.getPath(), entry.length(), entry.lastModified(), HashUtils.hash(entry.toPath()));
+    }
+
+    return new ClassPathFingerprint(entry.getPath(), -1, -1, "");
+  }
+
+  public static ClassPathFingerprint read(final DataInput input) throws IOException {
+    return new ClassPathFingerprint(input.readUTF(), input.readLong(), input.readLong(), input.readUTF());
+  }
+
+  private static ClassPathFingerprint ofDirectory(final File entry, final Path packageDirectory) throws IOException {
+    final MessageDigest digest = HashUtils.newDigest();
+    long size = 0;
+    long lastModified = 0;
+
+    if(Files.isDirectory(packageDirectory)) {
+      final List<Path> files;
+
+      try(final Stream<Path> stream = Files.walk(packageDirectory)) {
+        files = stream.filter(Files::isRegularFile)
+            .sorted()
+            .toList();
+      }
+
+      for(final Path file : files) {
+        final long fileSize = Files.size(file);
+        final long fileLastModified = Files.getLastModifiedTime(file).toMillis();
+
+        size += fileSize;
+        lastModified = Math.max(lastModified, fileLastModified);
+
+        digest.update((packageDirectory.relativize(file).toString().replace('\\', '/') + "\t" + fileSize + "\t" + fileLastModified + "\n")
+            .getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    return new ClassPathFingerprint(entry.getPath(), size, lastModified, HashUtils.toHex(digest));
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Checks this fingerprint against the current state of its entry.
+   *
+   * @param entry                    The jar or class directory.
+   * @param basePackagePathWithSlash The path of the scanned package, with a
+   *                                 trailing slash.
+   *
+   * @return This fingerprint if the entry is unchanged, the current one if only
+   *     the modification time changed, or {@code null} if the entry changed.
+   */
+  public ClassPathFingerprint check(final File entry, final String basePackagePathWithSlash) throws IOException {
+    if(!path.equals(entry.getPath())) {
+      return null;
+    }
+
+    if(entry.isFile() && entry.length() == size && entry.lastModified() == lastModified) {
+      return this;
+    }
+
+    final ClassPathFingerprint current = of(entry, basePackagePathWithSlash);
+
+    if(current.equals(this)) {
+      return this;
+    }
+
+    return (current.size() == size && current.hash().equals(hash) ? current : null);
+  }
+
+  public void write(final DataOutput output) throws IOException {
+    output.writeUTF(path);
+    output.writeLong(size);
+    output.writeLong(lastModified);
+    output.writeUTF(hash);
+  }
+
+}
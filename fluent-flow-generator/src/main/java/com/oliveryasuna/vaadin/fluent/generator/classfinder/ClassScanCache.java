@@ -0,0 +1,278 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.classfinder;
+
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.ClassHeader;
+import com.oliveryasuna.vaadin.fluent.generator.utils.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An on-disk cache of classpath scans.
+ * <p>
+ * A scan is the list of the headers of the classes of a package, stored in a
+ * small index file along with the {@linkplain ClassPathFingerprint
+ * fingerprints} of all classpath entries. A cached scan is used only if no
+ * entry changed, so a rerun against an unchanged classpath reads no jar.
+ * Unreadable entries count as misses.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+public final class ClassScanCache {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final int FORMAT_VERSION = 1;
+
+  private static final String EXTENSION = ".bin";
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static String basePackagePathWithSlash(final String basePackage) {
+    return basePackage.replace('.', '/') + "/";
+  }
+
+  private static void writeHeader(final DataOutput output, final ClassHeader header) throws IOException {
+    output.writeUTF(header.name());
+    output.writeInt(header.accessFlags());
+    output.writeInt(header.modifiers());
+    writeNullable(output, header.superName());
+    output.writeInt(header.interfaceNames().size());
+
+    for(final String interfaceName : header.interfaceNames()) {
+      output.writeUTF(interfaceName);
+    }
+
+    output.writeBoolean(header.nested());
+    writeNullable(output, header.declaringClassName());
+    writeNullable(output, header.simpleName());
+  }
+
+  private static ClassHeader readHeader(final DataInput input) throws IOException {
+    final String name = input.readUTF();
+    final int accessFlags = input.readInt();
+    final int modifiers = input.readInt();
+    final String superName = readNullable(input);
+    final int interfaceCount = input.readInt();
+    final List<String> interfaceNames = new ArrayList<>(interfaceCount);
+
+    for(int i = 0; i < interfaceCount; i++) {
+      interfaceNames.add(input.readUTF());
+    }
+
+    return new ClassHeader(name, accessFlags, modifiers, superName, List.copyOf(interfaceNames), input.readBoolean(), readNullable(input), readNullable(input));
+  }
+
+  private static void writeNullable(final DataOutput output, final String string) throws IOException {
+    output.writeBoolean(string != null);
+
+    if(string != null) {
+      output.writeUTF(string);
+    }
+  }
+
+  private static String readNullable(final DataInput input) throws IOException {
+    return (input.readBoolean() ? input.readUTF() : null);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  public ClassScanCache(final File directory) {
+    super();
+
+    this.directory = directory.toPath().resolve("classpath").resolve("v" + FORMAT_VERSION);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Path directory;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Loads a cached scan.
+   *
+   * @param classPath   The classpath.
+   * @param basePackage The scanned package.
+   * @param recursive   Whether subpackages were scanned.
+   *
+   * @return The headers, or {@code null} if the scan is not cached or the
+   *     classpath changed.
+   */
+  public List<ClassHeader> load(final List<File> classPath, final String basePackage, final boolean recursive) {
+    final Path file = resolve(classPath, basePackage, recursive);
+
+    if(!Files.isRegularFile(file)) {
+      return null;
+    }
+
+    final String basePackagePathWithSlash = basePackagePathWithSlash(basePackage);
+    final List<ClassPathFingerprint> fingerprints = new ArrayList<>(classPath.size());
+    final List<ClassHeader> headers;
+    boolean refreshed = false;
+
+    try(final DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if(input.readInt() != classPath.size()) {
+        return null;
+      }
+
+      for(final File entry : classPath) {
+        final ClassPathFingerprint fingerprint = ClassPathFingerprint.read(input);
+        final ClassPathFingerprint currentFingerprint = fingerprint.check(entry, basePackagePathWithSlash);
+
+        if(currentFingerprint == null) {
+          LOGGER.debug("Classpath entry \"{}\" changed; rescanning.", entry);
+
+          return null;
+        }
+
+        refreshed |= (currentFingerprint != fingerprint);
+        fingerprints.add(currentFingerprint);
+      }
+
+      final int headerCount = input.readInt();
+
+      headers = new ArrayList<>(headerCount);
+
+      for(int i = 0; i < headerCount; i++) {
+        headers.add(readHeader(input));
+      }
+    } catch(final IOException e) {
+      LOGGER.warn("Ignoring unreadable cached classpath scan \"{}\".", file, e);
+
+      return null;
+    }
+
+    // Entries that were only touched are recorded, so that they are not hashed
+    // again on the next run.
+    if(refreshed) {
+      try {
+        write(file, fingerprints, headers);
+      } catch(final IOException e) {
+        LOGGER.debug("Failed to refresh cached classpath scan \"{}\".", file, e);
+      }
+    }
+
+    return headers;
+  }
+
+  /**
+   * Fingerprints the classpath for a scan.
+   * <p>
+   * Call this before scanning, so that an entry that changes during the scan
+   * does not match the stored fingerprint, and is scanned again next time.
+   *
+   * @param classPath   The classpath.
+   * @param basePackage The package to scan.
+   *
+   * @return The fingerprints, to {@linkplain #store store} with the scan.
+   */
+  public List<ClassPathFingerprint> fingerprint(final List<File> classPath, final String basePackage) throws IOException {
+    final String basePackagePathWithSlash = basePackagePathWithSlash(basePackage);
+    final List<ClassPathFingerprint> fingerprints = new ArrayList<>(classPath.size());
+
+    for(final File entry : classPath) {
+      fingerprints.add(ClassPathFingerprint.of(entry, basePackagePathWithSlash));
+    }
+
+    return fingerprints;
+  }
+
+  /**
+   * Caches a scan.
+   *
+   * @param classPath    The classpath.
+   * @param basePackage  The scanned package.
+   * @param recursive    Whether subpackages were scanned.
+   * @param fingerprints The fingerprints of the classpath, taken before the
+   *                     scan.
+   * @param headers      The headers.
+   */
+  public void store(
+      final List<File> classPath,
+      final String basePackage,
+      final boolean recursive,
+      final List<ClassPathFingerprint> fingerprints,
+      final Collection<ClassHeader> headers
+  ) throws IOException {
+    write(resolve(classPath, basePackage, recursive), fingerprints, headers);
+  }
+
+  /**
+   * Writes a scan.
+   * <p>
+   * The file is written under a temporary name and then moved into place, so
+   * concurrent readers never see a partial scan.
+   */
+  private void write(final Path file, final List<ClassPathFingerprint> fingerprints, final Collection<ClassHeader> headers) throws IOException {
+    Files.createDirectories(file.getParent());
+
+    final Path temporaryFile = Files.createTempFile(file.getParent(), "scan", ".tmp");
+
+    try {
+      try(final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+        output.writeInt(fingerprints.size());
+
+        for(final ClassPathFingerprint fingerprint : fingerprints) {
+          fingerprint.write(output);
+        }
+
+        output.writeInt(headers.size());
+
+        for(final ClassHeader header : headers) {
+          writeHeader(output, header);
+        }
+      }
+
+      try {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch(final AtomicMoveNotSupportedException e) {
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  /**
+   * Resolves the file of a scan, which is named by the hash of the classpath
+   * and the scanned package.
+   */
+  private Path resolve(final List<File> classPath, final String basePackage, final boolean recursive) {
+    final String key = classPath.stream()
+        .map(File::getAbsolutePath)
+        .collect(Collectors.joining(File.pathSeparator, basePackage + (recursive ? "/**" : "/*") + "\n", ""));
+
+    return directory.resolve(HashUtils.hash(key) + EXTENSION);
+  }
+
+}
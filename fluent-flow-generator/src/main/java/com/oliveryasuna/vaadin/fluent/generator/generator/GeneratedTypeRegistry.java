@@ -0,0 +1,204 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The classes for which fluent classes are generated, by simple name.
+ * <p>
+ * Built once per run. Only names are kept: a map from simple name to the
+ * classes of that name, and the set of qualified names, so that a lookup by
+ * either is a single hash lookup.
+ * <p>
+ * Vaadin has classes in different packages that share a simple name. A type
+ * referred to by its simple name in a source file is therefore resolved the
+ * way the compiler would, from the imports and the package of that file.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class GeneratedTypeRegistry {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Creates the registry of classes.
+   *
+   * @param classes The classes.
+   *
+   * @return The registry.
+   */
+  public static GeneratedTypeRegistry of(final Collection<Class<?>> classes) {
+    return new GeneratedTypeRegistry(classes.stream()
+        .map(Class::getName)
+        .collect(Collectors.toSet()));
+  }
+
+  /**
+   * Gets the package of a class.
+   *
+   * @param className The qualified name of the class.
+   *
+   * @return The package name.
+   */
+  public static String packageName(final String className) {
+    final int lastDot = className.lastIndexOf('.');
+
+    return (lastDot != -1 ? className.substring(0, lastDot) : "");
+  }
+
+  private static String simpleName(final String className) {
+    final String binarySimpleName = className.substring(className.lastIndexOf('.') + 1);
+
+    return binarySimpleName.substring(binarySimpleName.lastIndexOf('$') + 1);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private GeneratedTypeRegistry(final Set<String> classNames) {
+    super();
+
+    // Each list is ordered by name.
+
+    this.classNamesBySimpleName = classNames.stream()
+        .sorted()
+        .collect(Collectors.collectingAndThen(
+            Collectors.groupingBy(GeneratedTypeRegistry::simpleName, Collectors.toUnmodifiableList()),
+            Map::copyOf
+        ));
+    this.classNames = Set.copyOf(classNames);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  /**
+   * The qualified names of the classes, by simple name.
+   */
+  private final Map<String, List<String>> classNamesBySimpleName;
+
+  /**
+   * The qualified names of the classes.
+   */
+  private final Set<String> classNames;
+
+  // Methods
+  //--------------------------------------------------
+
+  public boolean contains(final String simpleName) {
+    return classNamesBySimpleName.containsKey(simpleName);
+  }
+
+  public boolean containsClassName(final String className) {
+    return classNames.contains(className);
+  }
+
+  /**
+   * Finds the classes of a simple name.
+   *
+   * @param simpleName The simple name.
+   *
+   * @return The qualified names of the classes, ordered by name.
+   */
+  public List<String> findClassNames(final String simpleName) {
+    return classNamesBySimpleName.getOrDefault(simpleName, List.of());
+  }
+
+  /**
+   * Resolves a type, as it is written in a source file, to a class.
+   * <p>
+   * A qualified type is looked up as is. A simple one is looked up, in order,
+   * by the single-type import of its name, in the package of the source file
+   * and in the on-demand imports.
+   *
+   * @param type       The type.
+   * @param sourceFile The source file that the type is written in.
+   *
+   * @return The qualified name of the class, or {@code null} if the type is not
+   *     one of the classes.
+   */
+  public String resolve(final ClassOrInterfaceType type, final CompilationUnit sourceFile) {
+    final String simpleName = type.getNameAsString();
+    final List<String> candidates = findClassNames(simpleName);
+
+    // Most types are not generated, so there is nothing to disambiguate.
+    if(candidates.isEmpty()) {
+      return null;
+    }
+
+    // Qualified.
+
+    if(type.getScope().isPresent()) {
+      final String className = type.getScope().get().asString() + "." + simpleName;
+
+      return (candidates.contains(className) ? className : null);
+    }
+
+    // Single-type import.
+
+    final String dotSimpleName = "." + simpleName;
+
+    for(final ImportDeclaration sourceImport : sourceFile.getImports()) {
+      if(!sourceImport.isStatic() && !sourceImport.isAsterisk() && sourceImport.getNameAsString().endsWith(dotSimpleName)) {
+        final String className = sourceImport.getNameAsString();
+
+        return (candidates.contains(className) ? className : null);
+      }
+    }
+
+    // Same package.
+
+    final String samePackageClassName = sourceFile.getPackageDeclaration()
+        .map(PackageDeclaration::getNameAsString)
+        .map(packageName -> packageName + dotSimpleName)
+        .orElse(simpleName);
+
+    if(candidates.contains(samePackageClassName)) {
+      return samePackageClassName;
+    }
+
+    // On-demand import.
+
+    for(final ImportDeclaration sourceImport : sourceFile.getImports()) {
+      if(!sourceImport.isStatic() && sourceImport.isAsterisk()) {
+        final String className = sourceImport.getNameAsString() + dotSimpleName;
+
+        if(candidates.contains(className)) {
+          return className;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  public int size() {
+    return classNames.size();
+  }
+
+}
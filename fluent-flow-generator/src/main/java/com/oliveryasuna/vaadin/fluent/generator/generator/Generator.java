@@ -30,14 +30,19 @@ import com.github.javaparser.ast.stmt.*;
 import com.github.javaparser.ast.type.*;
 import com.github.javaparser.ast.visitor.GenericVisitor;
 import com.oliveryasuna.vaadin.fluent.generator.Config;
+import com.oliveryasuna.vaadin.fluent.generator.jfr.BuildEvent;
+import com.oliveryasuna.vaadin.fluent.generator.jfr.GenerateEvent;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.ClassHeader;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
 import com.oliveryasuna.vaadin.fluent.generator.utils.NodeUtils;
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
-import java.util.Set;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -62,14 +67,79 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
 
   protected static final Pattern VALUE_CHANGE_LISTENER_PATTERN_2 = Pattern.compile("ValueChangeListener<ComponentValueChangeEvent<(.+), ?(.+)>>");
 
+  protected static final TypeRewriteRules DEFAULT_TYPE_REWRITE_RULES = TypeRewriteRules.of(
+      // The layouts inherit the nested types of `FlexComponent`.
+      TypeRewriteRule.of(
+          "Alignment",
+          (type, sourceClass) -> isFlexLayout(sourceClass),
+          type -> new ClassOrInterfaceType().setName("FlexComponent.Alignment"),
+          "com.vaadin.flow.component.orderedlayout.FlexComponent"
+      ),
+      TypeRewriteRule.of(
+          "JustifyContentMode",
+          (type, sourceClass) -> isFlexLayout(sourceClass),
+          type -> new ClassOrInterfaceType().setName("FlexComponent.JustifyContentMode"),
+          "com.vaadin.flow.component.orderedlayout.FlexComponent"
+      ),
+      // This would clash with a generated concrete class.
+      TypeRewriteRule.of(
+          "IconFactory",
+          (type, sourceClass) -> true,
+          type -> new ClassOrInterfaceType().setName("com.vaadin.flow.component.icon.IconFactory")
+      ),
+      // The listener and event are nested types, which are not imported.
+      TypeRewriteRule.of(
+          "ValueChangeListener",
+          (type, sourceClass) -> VALUE_CHANGE_LISTENER_PATTERN_1.matcher(type.asString()).matches(),
+          type -> rewriteValueChangeListenerType(
+              type,
+              VALUE_CHANGE_LISTENER_PATTERN_1,
+              "HasValue.ValueChangeListener<? super AbstractField.ComponentValueChangeEvent<%s, %s>>"
+          ),
+          "com.vaadin.flow.component.HasValue",
+          "com.vaadin.flow.component.AbstractField"
+      ),
+      TypeRewriteRule.of(
+          "ValueChangeListener",
+          (type, sourceClass) -> VALUE_CHANGE_LISTENER_PATTERN_2.matcher(type.asString()).matches(),
+          type -> rewriteValueChangeListenerType(
+              type,
+              VALUE_CHANGE_LISTENER_PATTERN_2,
+              "HasValue.ValueChangeListener<AbstractField.ComponentValueChangeEvent<%s, %s>>"
+          ),
+          "com.vaadin.flow.component.HasValue",
+          "com.vaadin.flow.component.AbstractField"
+      )
+  );
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static boolean isFlexLayout(final Class<?> sourceClass) {
+    final String sourceClassSimpleName = sourceClass.getSimpleName();
+
+    return (sourceClassSimpleName.equals("VerticalLayout") || sourceClassSimpleName.equals("HorizontalLayout"));
+  }
+
+  private static ClassOrInterfaceType rewriteValueChangeListenerType(final ClassOrInterfaceType type, final Pattern pattern, final String format) {
+    final Matcher matcher = pattern.matcher(type.asString());
+
+    if(!matcher.matches()) {
+      throw new IllegalArgumentException("Not a value change listener: " + type);
+    }
+
+    return new ClassOrInterfaceType()
+        .setName(String.format(format, matcher.group(1), matcher.group(2)));
+  }
+
   // Constructors
   //--------------------------------------------------
 
-  protected Generator(final String name, final Set<Class<?>> generatedClasses) {
+  protected Generator(final String name, final GeneratorEnvironment environment) {
     super();
 
     this.name = name;
-    this.generatedClasses = Collections.unmodifiableSet(generatedClasses);
+    this.environment = environment;
   }
 
   // Fields
@@ -79,7 +149,7 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
 
   private final String name;
 
-  private final Set<Class<?>> generatedClasses;
+  private final GeneratorEnvironment environment;
 
   // Methods
   //--------------------------------------------------
@@ -87,15 +157,67 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
   // Main
   //
 
+  /**
+   * Generates a class from a source file.
+   * <p>
+   * The source file is only read, so the same parsed file may be handed to
+   * several generators.
+   *
+   * @param sourceFile  The parsed source file.
+   * @param sourceClass The source class.
+   *
+   * @return The result.
+   */
   public GeneratorResult generate(final CompilationUnit sourceFile, final Class<?> sourceClass) {
-    final OutputBuilder outputBuilder = new OutputBuilder(sourceClass, sourceFile);
+    final GenerateEvent event = new GenerateEvent(sourceClass, getName());
 
-    sourceFile.accept(this, outputBuilder);
+    event.begin();
 
-    if(outputBuilder.getGenerationErrors().isEmpty()) {
-      return new GeneratorResult(outputBuilder.build(), outputBuilder.getGenerationWarnings());
-    } else {
-      return new GeneratorResult(outputBuilder.getGenerationWarnings(), outputBuilder.getGenerationErrors());
+    try {
+      final OutputBuilder outputBuilder = new OutputBuilder(sourceClass, sourceFile);
+
+      sourceFile.accept(this, outputBuilder);
+
+      if(outputBuilder.getGenerationErrors().isEmpty()) {
+        // The compilation unit is only built if it is asked for; emitting does
+        // not need it.
+
+        return new GeneratorResult(
+            outputBuilder,
+            () -> build(outputBuilder, sourceClass),
+            writer -> emit(outputBuilder, sourceClass, writer),
+            outputBuilder.getGenerationWarnings()
+        );
+      } else {
+        return new GeneratorResult(outputBuilder.getGenerationWarnings(), outputBuilder.getGenerationErrors());
+      }
+    } finally {
+      event.commit();
+    }
+  }
+
+  private CompilationUnit build(final OutputBuilder outputBuilder, final Class<?> sourceClass) {
+    final BuildEvent event = new BuildEvent(sourceClass, getName());
+
+    event.begin();
+
+    try {
+      return outputBuilder.build();
+    } finally {
+      event.commit();
+    }
+  }
+
+  private void emit(final OutputBuilder outputBuilder, final Class<?> sourceClass, final Writer writer) throws IOException {
+    final BuildEvent event = new BuildEvent(sourceClass, getName());
+
+    event.setEmitted(true);
+    event.begin();
+
+    try {
+      SourceEmitter.emit(outputBuilder, writer);
+    } finally {
+      event.commit();
     }
   }
 
@@ -130,6 +252,15 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
         .collect(Collectors.joining("\n"));
   }
 
+  /**
+   * Formats the generation date for Javadoc.
+   *
+   * @return The formatted generation date.
+   */
+  protected String formatGenerationDate() {
+    return environment.getGenerationDate().format(DATE_TIME_FORMATTER);
+  }
+
   protected abstract String generateClassSimpleName(final ClassOrInterfaceDeclaration sourceClass);
 
   /**
@@ -220,6 +351,22 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
       final MethodDeclaration sourceMethod,
       final ClassOrInterfaceDeclaration sourceClass,
       final OutputBuilder outputBuilder
+  ) {
+    // Depends only on the return type, and on the names of the type
+    // parameters.
+
+    return getTypeRewriteCache().rewrite(
+        "return:" + getWrappedTypeParameterName() + "," + getSubclassTypeParameterName(),
+        sourceMethod.getType(),
+        outputBuilder,
+        () -> rewriteFluentMethodReturnType(sourceMethod, sourceClass, outputBuilder)
+    );
+  }
+
+  private ClassOrInterfaceType rewriteFluentMethodReturnType(
+      final MethodDeclaration sourceMethod,
+      final ClassOrInterfaceDeclaration sourceClass,
+      final OutputBuilder outputBuilder
   ) {
     final Type sourceReturnType = sourceMethod.getType();
 
@@ -309,7 +456,7 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
       throw new IllegalStateException("Unknown return type: " + sourceReturnType.getClass().getName());
     }
 
-    generatedReturnType.setAnnotations(sourceMethod.getType().getAnnotations());
+    generatedReturnType.setAnnotations(NodeUtils.copyAll(sourceMethod.getType().getAnnotations()));
 
     return generatedReturnType;
   }
@@ -399,19 +546,40 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
     return DEFAULT_SUBCLASS_TYPE_PARAMETER_NAME;
   }
 
-  protected String getGeneratedClassPackageName(final String classSimpleName) {
-    return getGeneratedClasses().stream()
-        .filter(generatedClass -> generatedClass.getSimpleName().equals(classSimpleName))
-        .findFirst()
-        .map(Class::getPackageName)
+  /**
+   * Gets the rules that rewrite types of the source class.
+   * <p>
+   * Rewrites are shared by the generators of a source class, so all generators
+   * should have the same rules.
+   *
+   * @return The rules.
+   */
+  protected TypeRewriteRules getTypeRewriteRules() {
+    return DEFAULT_TYPE_REWRITE_RULES;
+  }
+
+  /**
+   * Finds the generated class that a type of the source file refers to.
+   *
+   * @param type          The type, as it is written in the source file.
+   * @param outputBuilder The output builder.
+   *
+   * @return The qualified name of the class, or {@code null} if the type does
+   *     not refer to a generated class.
+   */
+  protected String findGeneratedClassName(final ClassOrInterfaceType type, final OutputBuilder outputBuilder) {
+    return getGeneratedTypeRegistry().resolve(type, outputBuilder.getSourceFile());
+  }
+
+  protected String getGeneratedClassPackageName(final ClassOrInterfaceType type, final OutputBuilder outputBuilder) {
+    return Optional.ofNullable(findGeneratedClassName(type, outputBuilder))
+        .map(GeneratedTypeRegistry::packageName)
         .map(this::generatePackageName)
         .orElseThrow();
   }
 
-  protected boolean hasGeneratedClass(final String classSimpleName) {
-    return getGeneratedClasses().stream()
-        .map(Class::getSimpleName)
-        .anyMatch(generatedClassName -> generatedClassName.equals(classSimpleName));
+  protected boolean hasGeneratedClass(final ClassOrInterfaceType type, final OutputBuilder outputBuilder) {
+    return (findGeneratedClassName(type, outputBuilder) != null);
   }
 
   protected Type resolveType(final Type type, final OutputBuilder outputBuilder) {
@@ -419,71 +587,31 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
       return NodeUtils.copy(type);
     }
 
+    // Depends only on the type and the source class.
+
+    return getTypeRewriteCache().rewrite("resolve", objectType, outputBuilder, () -> rewriteType(objectType, outputBuilder));
+  }
+
+  private Type rewriteType(final ClassOrInterfaceType objectType, final OutputBuilder outputBuilder) {
     final String typeSimpleName = objectType.getNameAsString();
     final Class<?> sourceClass = outputBuilder.getSourceClass();
 
     // Handle special cases.
 
-    final String sourceClassSimpleName = sourceClass.getSimpleName();
-
-    if((typeSimpleName.equals("Alignment") || typeSimpleName.equals("JustifyContentMode"))
-        && (sourceClassSimpleName.equals("VerticalLayout") || sourceClassSimpleName.equals("HorizontalLayout"))) {
-      outputBuilder.addImport(new ImportDeclaration("com.vaadin.flow.component.orderedlayout.FlexComponent", false, false));
-
-      return new ClassOrInterfaceType()
-          .setName("FlexComponent." + typeSimpleName);
-    }
-
-    if(typeSimpleName.equals("WebComponentExporterFactory<C>")) {
-      return new ClassOrInterfaceType()
-          .setName("com.vaadin.flow.component.WebComponentExporterFactory<C>");
-    }
-
-    if(typeSimpleName.equals("IconFactory")) {
-      return new ClassOrInterfaceType()
-          .setName("com.vaadin.flow.component.icon.IconFactory");
-    }
-
-    final String typeName = objectType.asString();
-
-    final Matcher matcher = VALUE_CHANGE_LISTENER_PATTERN_1.matcher(typeName);
-
-    if(matcher.matches()) {
-      outputBuilder.addImport(new ImportDeclaration("com.vaadin.flow.component.HasValue", false, false));
-      outputBuilder.addImport(new ImportDeclaration("com.vaadin.flow.component.AbstractField", false, false));
-
-      return new ClassOrInterfaceType()
-          .setName(String.format(
-              "HasValue.ValueChangeListener<? super AbstractField.ComponentValueChangeEvent<%s, %s>>",
-              matcher.group(1),
-              matcher.group(2)
-          ));
-    }
-
-    final Matcher matcher2 = VALUE_CHANGE_LISTENER_PATTERN_2.matcher(typeName);
-
-    if(matcher2.matches()) {
-      outputBuilder.addImport(new ImportDeclaration("com.vaadin.flow.component.HasValue", false, false));
-      outputBuilder.addImport(new ImportDeclaration("com.vaadin.flow.component.AbstractField", false, false));
+    final ClassOrInterfaceType rewrittenType = getTypeRewriteRules().rewrite(objectType, outputBuilder);
 
-      return new ClassOrInterfaceType()
-          .setName(String.format(
-              "HasValue.ValueChangeListener<AbstractField.ComponentValueChangeEvent<%s, %s>>",
-              matcher2.group(1),
-              matcher2.group(2)
-          ));
+    if(rewrittenType != null) {
+      return rewrittenType;
     }
 
     // Try to find inner class.
 
-    try {
-      Class.forName(sourceClass.getName() + "$" + typeSimpleName);
-
+    if(getTypeIndex().contains(sourceClass.getName() + "$" + typeSimpleName)) {
       return new ClassOrInterfaceType()
-          .setName(sourceClassSimpleName + "." + typeSimpleName);
-    } catch(final ClassNotFoundException ignored) {
-      return NodeUtils.copy(type);
+          .setName(sourceClass.getSimpleName() + "." + typeSimpleName);
     }
+
+    return NodeUtils.copy(objectType);
   }
 
   protected boolean canGenerateFluentMethod(final MethodDeclaration sourceMethod, final ClassOrInterfaceDeclaration sourceClass) {
@@ -589,15 +717,12 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
     String sourceImportNameTest = sourceImportName;
 
     while(sourceImportNameTest.contains(".")) {
-      try {
-        final Class<?> clazz = Class.forName(sourceImportNameTest);
+      final ClassHeader classHeader = getTypeIndex().find(sourceImportNameTest);
 
-        if(!java.lang.reflect.Modifier.isPublic(clazz.getModifiers())) {
-          outputBuilder.addGenerationWarning("Import is not accessible: " + sourceImportName);
+      if(classHeader != null && !classHeader.isPublic()) {
+        outputBuilder.addGenerationWarning("Import is not accessible: " + sourceImportName);
 
-          return false;
-        }
-      } catch(final ClassNotFoundException ignored) {
+        return false;
       }
 
       // Replace last "." with "$".
@@ -1125,8 +1250,24 @@ public abstract class Generator implements GenericVisitor<Boolean, OutputBuilder
     return name;
   }
 
-  public Set<Class<?>> getGeneratedClasses() {
-    return generatedClasses;
+  public GeneratorEnvironment getEnvironment() {
+    return environment;
+  }
+
+  public GeneratedTypeRegistry getGeneratedTypeRegistry() {
+    return environment.getGeneratedTypeRegistry();
+  }
+
+  public TypeIndex getTypeIndex() {
+    return environment.getTypeIndex();
+  }
+
+  public TypeRewriteCache getTypeRewriteCache() {
+    return environment.getTypeRewriteCache();
+  }
+
+  public String getVaadinVersion() {
+    return environment.getVaadinVersion();
   }
 
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Inputs shared by all generators of a run.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class GeneratorEnvironment {
+
+  // Constructors
+  //--------------------------------------------------
+
+  /**
+   * Creates an environment.
+   * <p>
+   * Only the names of the generated classes are kept, in a registry.
+   *
+   * @param generatedClasses The classes for which fluent classes are
+   *                         generated.
+   * @param generationDate   The date stamped into generated Javadoc.
+   * @param typeIndex        The index of the classes that the source classes
+   *                         may refer to.
+   * @param vaadinVersion    The Vaadin version stamped into generated Javadoc.
+   */
+  public GeneratorEnvironment(
+      final Set<Class<?>> generatedClasses,
+      final LocalDate generationDate,
+      final TypeIndex typeIndex,
+      final String vaadinVersion
+  ) {
+    super();
+
+    this.generatedTypeRegistry = GeneratedTypeRegistry.of(generatedClasses);
+    this.generationDate = generationDate;
+    this.typeIndex = typeIndex;
+    this.vaadinVersion = vaadinVersion;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final GeneratedTypeRegistry generatedTypeRegistry;
+
+  private final LocalDate generationDate;
+
+  private final TypeIndex typeIndex;
+
+  private final String vaadinVersion;
+
+  private final TypeRewriteCache typeRewriteCache = new TypeRewriteCache();
+
+  // Getters/setters
+  //--------------------------------------------------
+
+  public GeneratedTypeRegistry getGeneratedTypeRegistry() {
+    return generatedTypeRegistry;
+  }
+
+  public LocalDate getGenerationDate() {
+    return generationDate;
+  }
+
+  public TypeIndex getTypeIndex() {
+    return typeIndex;
+  }
+
+  public String getVaadinVersion() {
+    return vaadinVersion;
+  }
+
+  public TypeRewriteCache getTypeRewriteCache() {
+    return typeRewriteCache;
+  }
+
+}
@@ -20,34 +20,59 @@ package com.oliveryasuna.vaadin.fluent.generator.generator;
 
 import com.github.javaparser.ast.CompilationUnit;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 public final class GeneratorResult {
 
   // Constructors
   //--------------------------------------------------
 
-  private GeneratorResult(final CompilationUnit compilationUnit, final List<String> warnings, final List<String> errors) {
+  private GeneratorResult(
+      final OutputBuilder output,
+      final Supplier<CompilationUnit> compilationUnitBuilder,
+      final Emitter emitter,
+      final List<String> warnings,
+      final List<String> errors
+  ) {
     super();
 
-    this.compilationUnit = compilationUnit;
+    this.output = output;
+    this.compilationUnitBuilder = compilationUnitBuilder;
+    this.emitter = emitter;
     this.warnings = Collections.unmodifiableList(warnings);
     this.errors = Collections.unmodifiableList(errors);
   }
 
-  GeneratorResult(final CompilationUnit compilationUnit, final List<String> warnings) {
-    this(compilationUnit, warnings, Collections.emptyList());
+  GeneratorResult(
+      final OutputBuilder output,
+      final Supplier<CompilationUnit> compilationUnitBuilder,
+      final Emitter emitter,
+      final List<String> warnings
+  ) {
+    this(output, compilationUnitBuilder, emitter, warnings, Collections.emptyList());
   }
 
   GeneratorResult(final List<String> warnings, final List<String> errors) {
-    this(null, warnings, errors);
+    this(null, null, null, warnings, errors);
   }
 
   // Fields
   //--------------------------------------------------
 
-  private final CompilationUnit compilationUnit;
+  private final OutputBuilder output;
+
+  private final Supplier<CompilationUnit> compilationUnitBuilder;
+
+  /**
+   * The compilation unit, once built.
+   */
+  private CompilationUnit compilationUnit;
+
+  private final Emitter emitter;
 
   private final List<String> warnings;
 
@@ -56,8 +81,25 @@ public final class GeneratorResult {
   // Methods
   //--------------------------------------------------
 
-  public boolean hasCompilationUnit() {
-    return (compilationUnit != null);
+  /**
+   * Checks whether a class was generated, which can then be built or emitted.
+   *
+   * @return {@code true} if generation succeeded.
+   */
+  public boolean hasOutput() {
+    return (output != null);
+  }
+
+  /**
+   * Writes the generated class as source, without building its compilation
+   * unit.
+   *
+   * @param writer The writer.
+   *
+   * @see SourceEmitter
+   */
+  public void emit(final Writer writer) throws IOException {
+    emitter.emit(writer);
   }
 
   public boolean hasWarnings() {
@@ -71,7 +113,21 @@ public final class GeneratorResult {
   // Getters/setters
   //--------------------------------------------------
 
+  public OutputBuilder getOutput() {
+    return output;
+  }
+
+  /**
+   * Gets the compilation unit of the generated class, building it on first
+   * use.
+   *
+   * @return The compilation unit, or {@code null} if generation failed.
+   */
   public CompilationUnit getCompilationUnit() {
+    if(compilationUnit == null && compilationUnitBuilder != null) {
+      compilationUnit = compilationUnitBuilder.get();
+    }
+
     return compilationUnit;
   }
 
@@ -83,4 +139,17 @@ public final class GeneratorResult {
     return errors;
   }
 
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Writes a generated class as source.
+   */
+  @FunctionalInterface
+  interface Emitter {
+
+    void emit(Writer writer) throws IOException;
+
+  }
+
 }
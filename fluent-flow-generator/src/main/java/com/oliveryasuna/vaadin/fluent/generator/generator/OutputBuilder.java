@@ -22,6 +22,7 @@ import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.BodyDeclaration;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
@@ -85,50 +86,61 @@ public final class OutputBuilder {
   // Methods
   //--------------------------------------------------
 
+  /**
+   * Adds an import.
+   * <p>
+   * Imports are only ever appended, in order, and never de-duplicated or
+   * reordered: {@link TypeRewriteCache} takes the imports that a rewrite added
+   * to be those appended while it ran.
+   *
+   * @param import_ The import.
+   *
+   * @return This builder.
+   */
   public OutputBuilder addImport(final ImportDeclaration import_) {
-    imports.add(NodeUtils.copy(import_));
+    imports.add(NodeUtils.adopt(import_));
 
     return this;
   }
 
   public OutputBuilder addClassModifier(final Modifier modifier) {
-    classModifiers.add(NodeUtils.copy(modifier));
+    classModifiers.add(NodeUtils.adopt(modifier));
 
     return this;
   }
 
   public OutputBuilder addTypeParameter(final TypeParameter typeParameter) {
-    typeParameters.add(NodeUtils.copy(typeParameter));
+    typeParameters.add(NodeUtils.adopt(typeParameter));
 
     return this;
   }
 
   public OutputBuilder addExtendedType(final ClassOrInterfaceType extendedType) {
-    extendedTypes.add(NodeUtils.copy(extendedType));
+    extendedTypes.add(NodeUtils.adopt(extendedType));
 
     return this;
   }
 
   public OutputBuilder addImplementedType(final ClassOrInterfaceType implementedType) {
-    implementedTypes.add(NodeUtils.copy(implementedType));
+    implementedTypes.add(NodeUtils.adopt(implementedType));
 
     return this;
   }
 
   public OutputBuilder addConstructor(final ConstructorDeclaration constructor) {
-    constructors.add(NodeUtils.copy(constructor));
+    constructors.add(NodeUtils.adopt(constructor));
 
     return this;
   }
 
   public OutputBuilder addField(final FieldDeclaration field) {
-    fields.add(NodeUtils.copy(field));
+    fields.add(NodeUtils.adopt(field));
 
     return this;
   }
 
   public OutputBuilder addMethod(final MethodDeclaration method) {
-    methods.add(NodeUtils.copy(method));
+    methods.add(NodeUtils.adopt(method));
 
     return this;
   }
@@ -146,6 +158,20 @@ public final class OutputBuilder {
   }
 
   public CompilationUnit build() {
+    final CompilationUnit compilationUnit = buildHeader();
+
+    compilationUnit.getType(0).setMembers(buildMembers());
+
+    return compilationUnit;
+  }
+
+  /**
+   * Builds the compilation unit without members: the package, the imports and
+   * the declaration of the class.
+   *
+   * @return The compilation unit.
+   */
+  CompilationUnit buildHeader() {
     return new CompilationUnit()
         .setPackageDeclaration(packageName)
         .setImports(imports)
@@ -156,12 +182,20 @@ public final class OutputBuilder {
             .setName(className)
             .setTypeParameters(typeParameters)
             .setExtendedTypes(extendedTypes)
-            .setImplementedTypes(implementedTypes)
-            .setMembers(NodeUtils.of(
-                constructors,
-                fields,
-                methods
-            ))));
+            .setImplementedTypes(implementedTypes)));
+  }
+
+  /**
+   * Builds the members of the class, in the order that they are printed in.
+   *
+   * @return The members.
+   */
+  NodeList<BodyDeclaration<?>> buildMembers() {
+    return NodeUtils.of(
+        constructors,
+        fields,
+        methods
+    );
   }
 
   // Getters/setters
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.comments.JavadocComment;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.printer.DefaultPrettyPrinterVisitor;
+import com.github.javaparser.printer.configuration.DefaultPrinterConfiguration;
+import com.github.javaparser.printer.configuration.PrinterConfiguration;
+import com.oliveryasuna.commons.language.exception.UnsupportedInstantiationException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Writes generated classes as source, without building their compilation
+ * units.
+ * <p>
+ * The package, the imports and the declaration of the class are printed from
+ * the parts of the output, and each member is printed on its own and written
+ * before the next one is printed. So only one member is held as text at a
+ * time, rather than the whole file. The output is the same as that of
+ * {@link com.github.javaparser.ast.Node#toString()} on
+ * {@link OutputBuilder#build()}, which stays the fallback.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class SourceEmitter {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * The configuration of {@link com.github.javaparser.ast.Node#toString()}.
+   */
+  private static final PrinterConfiguration CONFIGURATION = new DefaultPrinterConfiguration();
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Writes a generated class.
+   *
+   * @param output The output of the generator.
+   * @param writer The writer. It is neither flushed nor closed.
+   */
+  public static void emit(final OutputBuilder output, final Writer writer) throws IOException {
+    writer.write(new PartPrinter(false).printHeader(output));
+
+    for(final BodyDeclaration<?> member : output.buildMembers()) {
+      writer.write(new PartPrinter(true).printMember(member));
+    }
+
+    writer.write(new PartPrinter(false).printFooter());
+  }
+
+  /**
+   * Gets the path of a generated class, relative to the source root.
+   *
+   * @param output The output of the generator.
+   *
+   * @return The path.
+   */
+  public static String path(final OutputBuilder output) {
+    return output.getPackageName().replace('.', '/') + "/" + output.getClassName() + ".java";
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private SourceEmitter() {
+    super();
+
+    throw new UnsupportedInstantiationException();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Prints a part of a generated class as the printer of its compilation unit
+   * does.
+   * <p>
+   * Each printer prints one part.
+   */
+  private static final class PartPrinter extends DefaultPrettyPrinterVisitor {
+
+    // Constructors
+    //--------------------------------------------------
+
+    /**
+     * @param member Whether the part is a member, which is indented.
+     */
+    private PartPrinter(final boolean member) {
+      super(CONFIGURATION);
+
+      if(member) {
+        printer.indent();
+      }
+    }
+
+    // Methods
+    //--------------------------------------------------
+
+    /**
+     * Prints the package, the imports and the declaration of a class, up to
+     * its opening brace.
+     *
+     * @param output The output of the generator.
+     *
+     * @return The source.
+     */
+    private String printHeader(final OutputBuilder output) {
+      printer.print("package ");
+      printer.print(output.getPackageName());
+      printer.println(";");
+      printer.println();
+
+      printImports(output.getImports(), null);
+
+      printComment(Optional.of(new JavadocComment(output.getClassJavadoc())), null);
+      printModifiers(output.getClassModifiers());
+      printer.print(output.isInterface() ? "interface " : "class ");
+      printer.print(output.getClassName());
+      printTypeParameters(output.getTypeParameters(), null);
+      printTypes(" extends ", output.getExtendedTypes());
+      printTypes(" implements ", output.getImplementedTypes());
+      printer.println(" {");
+
+      return printer.toString();
+    }
+
+    /**
+     * Prints a member, as {@code printMembers} does.
+     *
+     * @param member The member.
+     *
+     * @return The source of the member, surrounded by line breaks.
+     */
+    private String printMember(final BodyDeclaration<?> member) {
+      printer.println();
+      member.accept(this, null);
+      printer.println();
+
+      return printer.toString();
+    }
+
+    /**
+     * Prints the closing brace of a class, and the end of its compilation
+     * unit.
+     *
+     * @return The source.
+     */
+    private String printFooter() {
+      printer.println("}");
+
+      return printer.toString();
+    }
+
+    // Helpers
+    //
+
+    private void printTypes(final String keyword, final NodeList<ClassOrInterfaceType> types) {
+      if(types.isEmpty()) {
+        return;
+      }
+
+      printer.print(keyword);
+
+      for(final Iterator<ClassOrInterfaceType> iterator = types.iterator(); iterator.hasNext(); ) {
+        iterator.next().accept(this, null);
+
+        if(iterator.hasNext()) {
+          printer.print(", ");
+        }
+      }
+    }
+
+  }
+
+}
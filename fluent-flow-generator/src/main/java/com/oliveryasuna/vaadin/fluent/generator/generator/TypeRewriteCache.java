@@ -0,0 +1,125 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.type.Type;
+import com.oliveryasuna.vaadin.fluent.generator.utils.NodeUtils;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers how generators rewrote the types of a source class, so that every
+ * generator of the class rewrites each distinct type only once.
+ * <p>
+ * A rewrite is keyed by the source class, the kind of rewrite and the type,
+ * which is compared structurally. Along with the rewritten type, the imports
+ * that the rewrite added are remembered and added again on every hit.
+ * <p>
+ * The cache is shared by all generators and worker threads of a run. Entries of
+ * a source class should be evicted once all its generators have run.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class TypeRewriteCache {
+
+  // Constructors
+  //--------------------------------------------------
+
+  public TypeRewriteCache() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final ConcurrentMap<String, ConcurrentMap<Key, Rewrite>> rewrites = new ConcurrentHashMap<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Rewrites a type, or takes the remembered rewrite.
+   *
+   * @param kind          The kind of rewrite. Rewrites of different kinds
+   *                      are remembered separately.
+   * @param type          The type to rewrite.
+   * @param outputBuilder The output builder of the source class. Imports that
+   *                      the rewriter adds to it are remembered.
+   * @param rewriter      Rewrites the type.
+   *
+   * @return The rewritten type, owned by the caller.
+   */
+  @SuppressWarnings("unchecked")
+  public <TYPE extends Type> TYPE rewrite(final String kind, final Type type, final OutputBuilder outputBuilder, final Supplier<TYPE> rewriter) {
+    final ConcurrentMap<Key, Rewrite> sourceClassRewrites = rewrites.computeIfAbsent(outputBuilder.getSourceClass().getName(), key -> new ConcurrentHashMap<>());
+    final Rewrite rewrite = sourceClassRewrites.get(new Key(kind, type));
+
+    if(rewrite != null) {
+      rewrite.imports().forEach(import_ -> outputBuilder.addImport(NodeUtils.copy(import_)));
+
+      return (TYPE)NodeUtils.copy(rewrite.type());
+    }
+
+    final NodeList<ImportDeclaration> imports = outputBuilder.getImports();
+    final int importCount = imports.size();
+    final TYPE rewrittenType = rewriter.get();
+
+    // Copies, so that the cache shares no node with the output.
+
+    sourceClassRewrites.putIfAbsent(
+        new Key(kind, NodeUtils.copy(type)),
+        new Rewrite(
+            NodeUtils.copy(rewrittenType),
+            imports.subList(importCount, imports.size()).stream()
+                .map(NodeUtils::copy)
+                .toList()
+        )
+    );
+
+    return rewrittenType;
+  }
+
+  /**
+   * Forgets the rewrites of a source class.
+   *
+   * @param sourceClass The source class.
+   */
+  public void evict(final Class<?> sourceClass) {
+    rewrites.remove(sourceClass.getName());
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Types are compared structurally, as JavaParser nodes are.
+   */
+  private record Key(String kind, Type type) {
+  }
+
+  private record Rewrite(Type type, List<ImportDeclaration> imports) {
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * A rule that rewrites a type of a source class to the type to write in the
+ * generated class.
+ * <p>
+ * A rule applies to types of one simple name, regardless of their scope, for
+ * which its condition holds.
+ *
+ * @param simpleName The simple name of the types that the rule applies to.
+ * @param condition  Tests the structure of the type and the source class.
+ * @param target     Creates the rewritten type from the type.
+ * @param imports    The names of the classes to import when the rule applies.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public record TypeRewriteRule(
+    String simpleName,
+    BiPredicate<ClassOrInterfaceType, Class<?>> condition,
+    Function<ClassOrInterfaceType, ClassOrInterfaceType> target,
+    List<String> imports
+) {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Creates a rule.
+   *
+   * @param simpleName The simple name of the types that the rule applies to.
+   * @param condition  Tests the structure of the type and the source class.
+   * @param target     Creates the rewritten type from the type.
+   * @param imports    The names of the classes to import when the rule
+   *                   applies.
+   *
+   * @return The rule.
+   */
+  public static TypeRewriteRule of(
+      final String simpleName,
+      final BiPredicate<ClassOrInterfaceType, Class<?>> condition,
+      final Function<ClassOrInterfaceType, ClassOrInterfaceType> target,
+      final String... imports
+  ) {
+    return new TypeRewriteRule(simpleName, condition, target, List.of(imports));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  public TypeRewriteRule {
+    imports = List.copyOf(imports);
+  }
+
+}
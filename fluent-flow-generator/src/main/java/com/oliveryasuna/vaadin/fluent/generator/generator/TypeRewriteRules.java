@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Rules that rewrite types, compiled into a table keyed by simple name.
+ * <p>
+ * A type without rules for its simple name costs one hash lookup. Rules of the
+ * same simple name are tried in the order that they were declared in.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class TypeRewriteRules {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Compiles rules.
+   *
+   * @param rules The rules.
+   *
+   * @return The compiled rules.
+   */
+  public static TypeRewriteRules of(final TypeRewriteRule... rules) {
+    return new TypeRewriteRules(Arrays.asList(rules));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  public TypeRewriteRules(final List<TypeRewriteRule> rules) {
+    super();
+
+    this.rulesBySimpleName = rules.stream()
+        .collect(Collectors.collectingAndThen(
+            Collectors.groupingBy(TypeRewriteRule::simpleName, Collectors.toUnmodifiableList()),
+            Map::copyOf
+        ));
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Map<String, List<TypeRewriteRule>> rulesBySimpleName;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Rewrites a type with the first rule that applies to it.
+   * <p>
+   * The imports of the rule are added to the output builder.
+   *
+   * @param type          The type.
+   * @param outputBuilder The output builder of the source class.
+   *
+   * @return The rewritten type, or {@code null} if no rule applies.
+   */
+  public ClassOrInterfaceType rewrite(final ClassOrInterfaceType type, final OutputBuilder outputBuilder) {
+    final List<TypeRewriteRule> rules = rulesBySimpleName.get(type.getNameAsString());
+
+    if(rules == null) {
+      return null;
+    }
+
+    final Class<?> sourceClass = outputBuilder.getSourceClass();
+
+    for(final TypeRewriteRule rule : rules) {
+      if(rule.condition().test(type, sourceClass)) {
+        rule.imports()
+            .forEach(importName -> outputBuilder.addImport(new ImportDeclaration(importName, false, false)));
+
+        return rule.target().apply(type);
+      }
+    }
+
+    return null;
+  }
+
+}
@@ -32,13 +32,12 @@ import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.TypeParameter;
 import com.oliveryasuna.vaadin.fluent.generator.Config;
 import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
 import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
 import com.oliveryasuna.vaadin.fluent.generator.utils.NodeUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.time.LocalDate;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -47,8 +46,8 @@ public final class ClassBaseGenerator extends Generator {
   // Constructors
   //--------------------------------------------------
 
-  public ClassBaseGenerator(final Set<Class<?>> generatedClasses) {
-    super("class→base", generatedClasses);
+  public ClassBaseGenerator(final GeneratorEnvironment environment) {
+    super("class→base", environment);
   }
 
   // Methods
@@ -96,8 +95,8 @@ public final class ClassBaseGenerator extends Generator {
         @author Oliver Yasuna"""
         .formatted(
             sourceClass.getNameAsString(),
-            LocalDate.now().format(DATE_TIME_FORMATTER),
-            Config.getVaadinVersion(),
+            formatGenerationDate(),
+            getVaadinVersion(),
             getWrappedTypeParameterName(),
             getSubclassTypeParameterName(),
             Optional.ofNullable(generateWrappedTypeParametersJavadoc(sourceClass))
@@ -137,7 +136,7 @@ public final class ClassBaseGenerator extends Generator {
       final ClassOrInterfaceType sourceClassExtendedType = sourceClassExtendedTypes.get(0);
       final String sourceClassExtendedTypeSimpleName = sourceClassExtendedType.getNameAsString();
 
-      if(hasGeneratedClass(sourceClassExtendedTypeSimpleName)) {
+      if(hasGeneratedClass(sourceClassExtendedType, outputBuilder)) {
         // Extend the fluent variant of the extended type.
 
         final String generatedExtendedTypeSimpleName = generateBaseClassSimpleName(sourceClassExtendedTypeSimpleName);
@@ -156,7 +155,7 @@ public final class ClassBaseGenerator extends Generator {
         // Add the import for it.
 
         outputBuilder.addImport(new ImportDeclaration(
-            generatePackageName(outputBuilder.getSourceClass().getSuperclass().getPackageName()) + "." + generatedExtendedTypeSimpleName,
+            getGeneratedClassPackageName(sourceClassExtendedType, outputBuilder) + "." + generatedExtendedTypeSimpleName,
             false,
             false
         ));
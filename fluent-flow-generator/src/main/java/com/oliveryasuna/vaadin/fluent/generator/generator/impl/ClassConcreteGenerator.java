@@ -27,15 +27,13 @@ import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.TypeParameter;
-import com.oliveryasuna.vaadin.fluent.generator.Config;
 import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
 import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
 import com.oliveryasuna.vaadin.fluent.generator.utils.NodeUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.time.LocalDate;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -44,8 +42,8 @@ public final class ClassConcreteGenerator extends Generator {
   // Constructors
   //--------------------------------------------------
 
-  public ClassConcreteGenerator(final Set<Class<?>> generatedClasses) {
-    super("class→concrete", generatedClasses);
+  public ClassConcreteGenerator(final GeneratorEnvironment environment) {
+    super("class→concrete", environment);
   }
 
   // Methods
@@ -96,8 +94,8 @@ public final class ClassConcreteGenerator extends Generator {
         @author Oliver Yasuna"""
         .formatted(
             sourceClass.getNameAsString(),
-            LocalDate.now().format(DATE_TIME_FORMATTER),
-            Config.getVaadinVersion(),
+            formatGenerationDate(),
+            getVaadinVersion(),
             Optional.ofNullable(generateWrappedTypeParametersJavadoc(sourceClass))
                 .filter(Predicate.not(String::isEmpty))
                 .map(value -> value + "\n")
@@ -28,12 +28,11 @@ import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.TypeParameter;
 import com.oliveryasuna.vaadin.fluent.generator.Config;
 import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
 import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
 import com.oliveryasuna.vaadin.fluent.generator.utils.NodeUtils;
 
-import java.time.LocalDate;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -43,8 +42,8 @@ public final class ClassInterfaceGenerator extends Generator {
   // Constructors
   //--------------------------------------------------
 
-  public ClassInterfaceGenerator(final Set<Class<?>> generatedClasses) {
-    super("class→interface", generatedClasses);
+  public ClassInterfaceGenerator(final GeneratorEnvironment environment) {
+    super("class→interface", environment);
   }
 
   // Methods
@@ -91,8 +90,8 @@ public final class ClassInterfaceGenerator extends Generator {
         @author Oliver Yasuna"""
         .formatted(
             sourceClass.getNameAsString(),
-            LocalDate.now().format(DATE_TIME_FORMATTER),
-            Config.getVaadinVersion(),
+            formatGenerationDate(),
+            getVaadinVersion(),
             getWrappedTypeParameterName(),
             getSubclassTypeParameterName(),
             Optional.ofNullable(generateWrappedTypeParametersJavadoc(sourceClass))
@@ -128,7 +127,7 @@ public final class ClassInterfaceGenerator extends Generator {
       final String sourceClassExtendedTypeSimpleName = sourceClassExtendedType.getNameAsString();
 
       // We only need to implement generated interfaces.
-      if(!hasGeneratedClass(sourceClassExtendedTypeSimpleName)) {
+      if(!hasGeneratedClass(sourceClassExtendedType, outputBuilder)) {
         continue;
       }
 
@@ -139,7 +138,7 @@ public final class ClassInterfaceGenerator extends Generator {
       // Add import.
 
       outputBuilder.addImport(new ImportDeclaration(
-          getGeneratedClassPackageName(sourceClassExtendedTypeSimpleName) + "." + generatedInterfaceSimpleName,
+          getGeneratedClassPackageName(sourceClassExtendedType, outputBuilder) + "." + generatedInterfaceSimpleName,
           false,
           false
       ));
@@ -150,8 +149,8 @@ public final class ClassInterfaceGenerator extends Generator {
           .setName(generatedInterfaceSimpleName)
           .setTypeArguments(NodeUtils.of(
               generateFluentTypeArguments(sourceClass),
-              sourceClassExtendedType.getTypeArguments()
-                  .orElse(null)
+              NodeUtils.copyAll(sourceClassExtendedType.getTypeArguments()
+                  .orElse(null))
           )));
     }
 
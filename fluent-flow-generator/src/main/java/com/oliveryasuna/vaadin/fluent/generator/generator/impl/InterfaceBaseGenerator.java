@@ -31,13 +31,12 @@ import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.TypeParameter;
 import com.oliveryasuna.vaadin.fluent.generator.Config;
 import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
 import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
 import com.oliveryasuna.vaadin.fluent.generator.utils.NodeUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.time.LocalDate;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -46,8 +45,8 @@ public final class InterfaceBaseGenerator extends Generator {
   // Constructors
   //--------------------------------------------------
 
-  public InterfaceBaseGenerator(final Set<Class<?>> generatedClasses) {
-    super("interface→base", generatedClasses);
+  public InterfaceBaseGenerator(final GeneratorEnvironment environment) {
+    super("interface→base", environment);
   }
 
   // Methods
@@ -95,8 +94,8 @@ public final class InterfaceBaseGenerator extends Generator {
         @author Oliver Yasuna"""
         .formatted(
             sourceClass.getNameAsString(),
-            LocalDate.now().format(DATE_TIME_FORMATTER),
-            Config.getVaadinVersion(),
+            formatGenerationDate(),
+            getVaadinVersion(),
             getWrappedTypeParameterName(),
             getSubclassTypeParameterName(),
             Optional.ofNullable(generateWrappedTypeParametersJavadoc(sourceClass))
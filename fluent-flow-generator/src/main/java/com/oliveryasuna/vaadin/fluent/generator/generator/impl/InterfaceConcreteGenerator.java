@@ -27,15 +27,13 @@ import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
 import com.github.javaparser.ast.type.TypeParameter;
-import com.oliveryasuna.vaadin.fluent.generator.Config;
 import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
 import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
 import com.oliveryasuna.vaadin.fluent.generator.utils.NodeUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.time.LocalDate;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 
 public final class InterfaceConcreteGenerator extends Generator {
@@ -43,8 +41,8 @@ public final class InterfaceConcreteGenerator extends Generator {
   // Constructors
   //--------------------------------------------------
 
-  public InterfaceConcreteGenerator(final Set<Class<?>> generatedClasses) {
-    super("interface→concrete", generatedClasses);
+  public InterfaceConcreteGenerator(final GeneratorEnvironment environment) {
+    super("interface→concrete", environment);
   }
 
   // Methods
@@ -98,8 +96,8 @@ public final class InterfaceConcreteGenerator extends Generator {
         @author Oliver Yasuna"""
         .formatted(
             sourceClass.getNameAsString(),
-            LocalDate.now().format(DATE_TIME_FORMATTER),
-            Config.getVaadinVersion(),
+            formatGenerationDate(),
+            getVaadinVersion(),
             Optional.ofNullable(generateWrappedTypeParametersJavadoc(sourceClass))
                 .filter(Predicate.not(String::isEmpty))
                 .map(value -> value + "\n")
@@ -32,12 +32,12 @@ import com.github.javaparser.ast.type.TypeParameter;
 import com.github.javaparser.ast.type.VoidType;
 import com.oliveryasuna.vaadin.fluent.generator.Config;
 import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
 import com.oliveryasuna.vaadin.fluent.generator.generator.OutputBuilder;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.ClassHeader;
 import com.oliveryasuna.vaadin.fluent.generator.utils.NodeUtils;
 
-import java.time.LocalDate;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.Predicate;
 
 // TODO: This class is not up-to-date with the coding standards I followed in
@@ -48,8 +48,8 @@ public final class InterfaceInterfaceGenerator extends Generator {
   // Constructors
   //--------------------------------------------------
 
-  public InterfaceInterfaceGenerator(final Set<Class<?>> generatedClasses) {
-    super("interface→interface", generatedClasses);
+  public InterfaceInterfaceGenerator(final GeneratorEnvironment environment) {
+    super("interface→interface", environment);
   }
 
   // Methods
@@ -96,8 +96,8 @@ public final class InterfaceInterfaceGenerator extends Generator {
         @author Oliver Yasuna"""
         .formatted(
             sourceClass.getNameAsString(),
-            LocalDate.now().format(DATE_TIME_FORMATTER),
-            Config.getVaadinVersion(),
+            formatGenerationDate(),
+            getVaadinVersion(),
             getWrappedTypeParameterName(),
             getSubclassTypeParameterName(),
             Optional.ofNullable(generateWrappedTypeParametersJavadoc(sourceClass))
@@ -165,7 +165,7 @@ public final class InterfaceInterfaceGenerator extends Generator {
       final String sourceClassExtendedTypeSimpleName = sourceClassExtendedType.getNameAsString();
 
       // We only need to implement generated interfaces.
-      if(!hasGeneratedClass(sourceClassExtendedTypeSimpleName)) {
+      if(!hasGeneratedClass(sourceClassExtendedType, outputBuilder)) {
         continue;
       }
 
@@ -176,7 +176,7 @@ public final class InterfaceInterfaceGenerator extends Generator {
       // Add import.
 
       outputBuilder.addImport(new ImportDeclaration(
-          getGeneratedClassPackageName(sourceClassExtendedTypeSimpleName) + "." + generatedInterfaceSimpleName,
+          getGeneratedClassPackageName(sourceClassExtendedType, outputBuilder) + "." + generatedInterfaceSimpleName,
           false,
           false
       ));
@@ -187,8 +187,8 @@ public final class InterfaceInterfaceGenerator extends Generator {
           .setName(generatedInterfaceSimpleName)
           .setTypeArguments(NodeUtils.of(
               generateFluentTypeArguments(sourceClass),
-              sourceClassExtendedType.getTypeArguments()
-                  .orElse(null)
+              NodeUtils.copyAll(sourceClassExtendedType.getTypeArguments()
+                  .orElse(null))
           )));
     }
 
@@ -243,10 +243,10 @@ public final class InterfaceInterfaceGenerator extends Generator {
 
       final String potentialSourceMethodParameterFullTypeName = outputBuilder.getSourceClass().getPackageName() + "." + sourceMethodParameterTypeName;
 
-      try {
-        final Class<?> sourceMethodParameterClass = Class.forName(potentialSourceMethodParameterFullTypeName);
+      final ClassHeader sourceMethodParameterClass = getTypeIndex().find(potentialSourceMethodParameterFullTypeName);
 
-        if(!java.lang.reflect.Modifier.isPublic(sourceMethodParameterClass.getModifiers())) {
+      if(sourceMethodParameterClass != null) {
+        if(!sourceMethodParameterClass.isPublic()) {
           outputBuilder.addGenerationError("Parameter type is not accessible: " + sourceMethodParameterTypeName);
 
           return false;
@@ -255,7 +255,6 @@ public final class InterfaceInterfaceGenerator extends Generator {
         if(sourceMethodParameterClass.isEnum()) {
           outputBuilder.addImport(new ImportDeclaration(potentialSourceMethodParameterFullTypeName, false, false));
         }
-      } catch(final ClassNotFoundException ignored) {
       }
 
       // Add to the argument list.
@@ -0,0 +1,722 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.oliveryasuna.vaadin.fluent.generator.Config;
+import com.oliveryasuna.vaadin.fluent.generator.Options;
+import com.oliveryasuna.vaadin.fluent.generator.apimodel.ApiModelCache;
+import com.oliveryasuna.vaadin.fluent.generator.apimodel.ApiModelParser;
+import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorResult;
+import com.oliveryasuna.vaadin.fluent.generator.generator.SourceEmitter;
+import com.oliveryasuna.vaadin.fluent.generator.jfr.ParseEvent;
+import com.oliveryasuna.vaadin.fluent.generator.jfr.SourceResolveEvent;
+import com.oliveryasuna.vaadin.fluent.generator.jfr.WriteEvent;
+import com.oliveryasuna.vaadin.fluent.generator.source.SourceRepository;
+import com.oliveryasuna.vaadin.fluent.generator.utils.HashUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Generates fluent classes in stages connected by bounded queues.
+ * <p>
+ * Each {@link Phase} has its own workers, so reading sources and writing
+ * files overlap with parsing, generating and printing. Only a bounded number
+ * of items wait between two stages, which bounds the number of compilation
+ * units held in memory. In memory-bounded runs (see
+ * {@link Options#isMemoryBounded()}), each phase holds at most one source
+ * class at a time, and a compilation unit is released as soon as its file is
+ * printed.
+ * <p>
+ * Unless disabled (see {@link Options#isStreaming()}), generated classes are
+ * not built into compilation units, but streamed into their files by the
+ * write phase, so that printing takes no time of its own.
+ * <p>
+ * A manifest in the output directory records what each run generated. Source
+ * classes whose source is unchanged since the last run are skipped, and files
+ * generated from source classes that no longer exist are deleted.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+public final class GenerationPipeline {
+
+  // Constructors
+  //--------------------------------------------------
+
+  public GenerationPipeline(final Options options) {
+    super();
+
+    this.options = options;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Options options;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Generates the fluent classes of source classes.
+   *
+   * @param sourceClasses      The source classes.
+   * @param environment        The environment of the generators.
+   * @param generatorsSelector Selects the generators to run for a source class.
+   *
+   * @return The summary of the run.
+   */
+  public Summary run(
+      final Collection<Class<?>> sourceClasses,
+      final GeneratorEnvironment environment,
+      final Function<Class<?>, List<Generator>> generatorsSelector
+  ) throws IOException, InterruptedException {
+    final long startNanos = System.nanoTime();
+    final File manifestFile = options.resolveManifestFile();
+    final Map<String, String> fingerprints = fingerprints(sourceClasses, environment, options);
+
+    final Manifest previousManifest = Manifest.read(manifestFile);
+    final boolean reuse = options.isIncremental() && previousManifest.matches(fingerprints);
+
+    if(options.isIncremental() && !reuse) {
+      LOGGER.info("Manifest is missing or outdated; generating all source classes.");
+    }
+
+    final OutputSink sink = new OutputSink(options.getOutputDirectory());
+    final ApiModelCache apiModelCache = (options.isCache() ? new ApiModelCache(options.getCacheDirectory(), fingerprints.get("code")) : null);
+    final Run run = new Run(previousManifest, reuse, new Manifest(fingerprints), sink, new ApiModelParser(apiModelCache));
+
+    // Every source jar is opened once per run and closed when it ends.
+
+    try(final SourceRepository sourceRepository = new SourceRepository()) {
+      run.execute(sourceClasses, generatorsSelector, sourceRepository);
+    }
+
+    run.deleteStaleOutputs();
+
+    run.getManifest().write(manifestFile);
+
+    final File reportFile = options.getReportFile();
+
+    if(reportFile != null) {
+      try {
+        run.getReport().write(reportFile, System.nanoTime() - startNanos, options.getReportTopCount());
+
+        LOGGER.info("Wrote report to \"{}\".", reportFile);
+      } catch(final IOException e) {
+        LOGGER.warn("Failed to write report to \"{}\".", reportFile, e);
+      }
+    }
+
+    final Summary summary = new Summary(
+        run.submitted,
+        run.skipped.get(),
+        sink.getCount(OutputSink.Outcome.CREATED),
+        sink.getCount(OutputSink.Outcome.CHANGED),
+        sink.getCount(OutputSink.Outcome.UNCHANGED),
+        sink.getCount(OutputSink.Outcome.DELETED),
+        run.failures.get()
+    );
+
+    LOGGER.info(
+        "Generated {} source classes ({} skipped): {} files created, {} changed, {} unchanged, {} deleted; {} failures.",
+        summary.sourceClasses(),
+        summary.skippedSourceClasses(),
+        summary.createdFiles(),
+        summary.changedFiles(),
+        summary.unchangedFiles(),
+        summary.deletedFiles(),
+        summary.failures()
+    );
+
+    return summary;
+  }
+
+  /**
+   * Checks whether the files recorded by the last run still exist.
+   *
+   * @param options The options.
+   *
+   * @return {@code true} if there is a manifest and none of the files it
+   *     records is missing.
+   */
+  public static boolean hasOutputs(final Options options) {
+    final File manifestFile = options.resolveManifestFile();
+
+    return manifestFile.isFile() && Manifest.read(manifestFile).hasOutputs(options.getOutputDirectory());
+  }
+
+  /**
+   * Computes the fingerprints that all manifest entries depend on.
+   * <p>
+   * Generated code depends on the generator version, the generator code, the
+   * Vaadin version stamped into its Javadoc and the set of source classes,
+   * since generators resolve types against it. In reproducible runs it also
+   * depends on the fixed generation date; otherwise the date is deliberately
+   * ignored, so that unchanged classes keep their earlier date.
+   *
+   * @param sourceClasses The source classes.
+   * @param environment   The environment of the generators.
+   * @param options       The options.
+   *
+   * @return The fingerprints.
+   */
+  private static Map<String, String> fingerprints(
+      final Collection<Class<?>> sourceClasses,
+      final GeneratorEnvironment environment,
+      final Options options
+  ) throws IOException {
+    final Map<String, String> fingerprints = new TreeMap<>();
+
+    fingerprints.put("version", Config.getVersion());
+    fingerprints.put("code", HashUtils.hashCodeSource(Generator.class));
+    fingerprints.put("vaadinVersion", String.valueOf(environment.getVaadinVersion()));
+    fingerprints.put("classes", HashUtils.hash(sourceClasses.stream()
+        .map(Class::getName)
+        .sorted()
+        .collect(Collectors.joining("\n"))));
+
+    if(options.isReproducible()) {
+      fingerprints.put("date", options.resolveGenerationDate().toString());
+    }
+
+    return fingerprints;
+  }
+
+  // Helpers
+  //
+
+  private static String formatMessages(final List<String> messages) {
+    return messages.stream()
+        .map(value -> "* " + value)
+        .collect(Collectors.joining("\n"));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * The outcome of a run.
+   *
+   * @param sourceClasses        The number of source classes submitted.
+   * @param skippedSourceClasses The number of source classes skipped because
+   *                             they were unchanged.
+   * @param createdFiles         The number of files created.
+   * @param changedFiles         The number of files whose content changed.
+   * @param unchangedFiles       The number of files generated with the content
+   *                             they already had, and left untouched.
+   * @param deletedFiles         The number of stale files deleted.
+   * @param failures             The number of failed steps.
+   */
+  public record Summary(
+      int sourceClasses,
+      int skippedSourceClasses,
+      int createdFiles,
+      int changedFiles,
+      int unchangedFiles,
+      int deletedFiles,
+      int failures
+  ) {
+
+    /**
+     * Returns the number of files that were created or changed.
+     *
+     * @return The number of files written.
+     */
+    public int writtenFiles() {
+      return createdFiles + changedFiles;
+    }
+
+  }
+
+  /**
+   * The state of one run.
+   */
+  private final class Run {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private Run(
+        final Manifest previousManifest,
+        final boolean reuse,
+        final Manifest manifest,
+        final OutputSink sink,
+        final ApiModelParser apiModelParser
+    ) {
+      super();
+
+      this.previousManifest = previousManifest;
+      this.reuse = reuse;
+      this.manifest = manifest;
+      this.sink = sink;
+      this.apiModelParser = apiModelParser;
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private final Manifest previousManifest;
+
+    /**
+     * Whether entries of the previous manifest may be used to skip source
+     * classes.
+     */
+    private final boolean reuse;
+
+    private final Manifest manifest;
+
+    private final OutputSink sink;
+
+    private final ApiModelParser apiModelParser;
+
+    private final ConcurrentMap<Class<?>, String> sourceHashes = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Set<String>> outputs = new ConcurrentHashMap<>();
+
+    private final Set<Class<?>> failedClasses = ConcurrentHashMap.newKeySet();
+
+    private int submitted;
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private final RunReport report = new RunReport();
+
+    // Methods
+    //--------------------------------------------------
+
+    private void execute(
+        final Collection<Class<?>> sourceClasses,
+        final Function<Class<?>, List<Generator>> generatorsSelector,
+        final SourceRepository sourceRepository
+    ) throws InterruptedException {
+      final int capacity = options.resolveQueueCapacity();
+
+      // Writing measures itself, as streamed classes are printed while they
+      // are written.
+
+      final Stage<Printed, Void> writeStage = new Stage<>(
+          Phase.WRITE, options.resolveWorkers(Phase.WRITE), capacity,
+          (item, output) -> write(item), null, this::fail
+      );
+      final Stage<Generated, Printed> printStage = new Stage<>(
+          Phase.PRINT, options.resolveWorkers(Phase.PRINT), capacity,
+          (options.isStreaming() ? this::print : measured(Phase.PRINT, this::print)), writeStage, this::fail
+      );
+      final Stage<Parsed, Generated> generateStage = new Stage<>(
+          Phase.GENERATE, options.resolveWorkers(Phase.GENERATE), capacity,
+          this::generate, printStage, this::fail
+      );
+      final Stage<Located, Parsed> parseStage = new Stage<>(
+          Phase.PARSE, options.resolveWorkers(Phase.PARSE), capacity,
+          measured(Phase.PARSE, (item, output) -> parse(item, output, sourceRepository)), generateStage, this::fail
+      );
+      final Stage<Task, Located> locateStage = new Stage<>(
+          Phase.LOCATE, options.resolveWorkers(Phase.LOCATE), capacity,
+          measured(Phase.LOCATE, (item, output) -> locate(item, output, sourceRepository)), parseStage, this::fail
+      );
+
+      final List<Stage<?, ?>> stages = List.of(locateStage, parseStage, generateStage, printStage, writeStage);
+
+      stages.forEach(Stage::start);
+
+      for(final Class<?> sourceClass : sourceClasses) {
+        final List<Generator> generators = generatorsSelector.apply(sourceClass);
+
+        if(generators.isEmpty()) {
+          continue;
+        }
+
+        locateStage.submit(new Task(sourceClass, generators));
+
+        submitted++;
+      }
+
+      locateStage.close();
+
+      for(final Stage<?, ?> stage : stages) {
+        stage.await();
+      }
+
+      recordEntries();
+    }
+
+    /**
+     * Measures a stage function, and records the measurement in the report.
+     * <p>
+     * Outputs are passed on only after the measurement stops, so that waiting
+     * for the next stage is not measured.
+     *
+     * @param phase    The phase.
+     * @param function The stage function.
+     *
+     * @return The measured stage function.
+     */
+    private <I extends Item, O> Stage.Function<I, O> measured(final Phase phase, final Stage.Function<I, O> function) {
+      return (item, output) -> {
+        final List<O> outputs = new ArrayList<>(1);
+        final Measurement measurement = Measurement.start();
+
+        try {
+          function.apply(item, outputs::add);
+        } finally {
+          report.record(
+              item.sourceClass(),
+              (item.generator() != null ? item.generator().getName() : null),
+              phase,
+              measurement.stop()
+          );
+        }
+
+        outputs.forEach(output);
+      };
+    }
+
+    private void fail(final Item item) {
+      failures.incrementAndGet();
+      failedClasses.add(item.sourceClass());
+    }
+
+    // Stages
+    //
+
+    private void locate(final Task task, final Consumer<Located> output, final SourceRepository sourceRepository) {
+      final Class<?> sourceClass = task.sourceClass();
+
+      final String source;
+      final SourceResolveEvent event = new SourceResolveEvent(sourceClass);
+
+      event.begin();
+
+      try {
+        final byte[] bytes = sourceRepository.readSource(sourceClass);
+
+        event.setSize(bytes.length);
+
+        source = new String(bytes, StandardCharsets.UTF_8);
+      } catch(final IOException e) {
+        LOGGER.error("Failed to resolve source for \"{}\".", sourceClass.getName(), e);
+
+        fail(task);
+
+        return;
+      } finally {
+        event.commit();
+      }
+
+      final String sourceHash = HashUtils.hash(source);
+      final Manifest.Entry previousEntry = previousManifest.getEntry(sourceClass.getName());
+
+      if(reuse && previousEntry != null && previousEntry.isUpToDate(sourceHash, options.getOutputDirectory())) {
+        LOGGER.info("Skipping unchanged \"{}\".", sourceClass.getName());
+
+        manifest.putEntry(sourceClass.getName(), previousEntry);
+        skipped.incrementAndGet();
+
+        return;
+      }
+
+      LOGGER.info("Generating classes for \"{}\".", sourceClass.getName());
+
+      sourceHashes.put(sourceClass, sourceHash);
+
+      output.accept(new Located(sourceClass, task.generators(), source));
+    }
+
+    private void parse(final Located located, final Consumer<Parsed> output, final SourceRepository sourceRepository) {
+      final ParseEvent event = new ParseEvent(located.sourceClass());
+
+      event.begin();
+
+      try {
+        parse(located, output, sourceRepository, event);
+      } finally {
+        event.commit();
+      }
+    }
+
+    private void parse(final Located located, final Consumer<Parsed> output, final SourceRepository sourceRepository, final ParseEvent event) {
+      final Class<?> sourceClass = located.sourceClass();
+
+      final ApiModelParser.Result result;
+
+      try {
+        result = apiModelParser.parse(sourceClass, located.source(), sourceRepository);
+      } catch(final ParseProblemException e) {
+        LOGGER.error("Failed to parse source for \"{}\".", sourceClass.getName(), e);
+
+        fail(located);
+
+        return;
+      }
+
+      event.setCached(result.cached());
+
+      output.accept(new Parsed(sourceClass, located.generators(), result.sourceFile()));
+    }
+
+    private void generate(final Parsed parsed, final Consumer<Generated> output) {
+      final Class<?> sourceClass = parsed.sourceClass();
+
+      // Parsed once; every generator visits the same, read-only tree.
+
+      try {
+        for(final Generator generator : parsed.generators()) {
+          final Measurement measurement = Measurement.start();
+          final GeneratorResult result = generator.generate(parsed.sourceFile(), sourceClass);
+
+          report.record(sourceClass, generator.getName(), Phase.GENERATE, measurement.stop());
+
+          if(result.hasErrors()) {
+            LOGGER.error(
+                "[{}] Failed to generate class for \"{}\":\n{}",
+                generator.getName(),
+                sourceClass.getName(),
+                formatMessages(result.getErrors())
+            );
+
+            fail(parsed);
+
+            continue;
+          }
+
+          if(result.hasWarnings()) {
+            LOGGER.warn(
+                "[{}] Generated class for \"{}\" with warnings:\n{}",
+                generator.getName(),
+                sourceClass.getName(),
+                formatMessages(result.getWarnings())
+            );
+          }
+
+          output.accept(new Generated(sourceClass, generator, result));
+        }
+      } finally {
+        // No generator needs the rewrites of the source class anymore.
+
+        parsed.generators().stream()
+            .map(Generator::getEnvironment)
+            .distinct()
+            .forEach(environment -> environment.getTypeRewriteCache().evict(sourceClass));
+      }
+    }
+
+    private void print(final Generated generated, final Consumer<Printed> output) {
+      final GeneratorResult result = generated.result();
+      final String path = SourceEmitter.path(result.getOutput());
+
+      if(options.isStreaming()) {
+        // Printed while it is written, and measured there.
+
+        output.accept(new Printed(generated.sourceClass(), generated.generator(), path, null, result));
+
+        return;
+      }
+
+      output.accept(new Printed(generated.sourceClass(), generated.generator(), path, result.getCompilationUnit().toString(), null));
+    }
+
+    private void write(final Printed printed) {
+      final String generatorName = printed.generator().getName();
+      final String sourceClassName = printed.sourceClass().getName();
+
+      final OutputSink.Outcome outcome;
+      final WriteEvent event = new WriteEvent(printed.sourceClass(), generatorName, printed.path());
+      final Measurement measurement = Measurement.start();
+      final List<Measurement> printMeasurements = new ArrayList<>(2);
+
+      event.begin();
+
+      try {
+        outcome = (printed.content() != null
+            ? sink.write(printed.path(), printed.content())
+            : sink.write(printed.path(), writer -> emit(printed, writer, printMeasurements)));
+
+        event.setOutcome(outcome.name());
+      } catch(final IOException e) {
+        LOGGER.error("[{}] Failed to write generated class for \"{}\".", generatorName, sourceClassName, e);
+
+        fail(printed);
+
+        return;
+      } finally {
+        event.commit();
+
+        // Printing while writing counts as printing.
+
+        measurement.stop();
+
+        for(final Measurement printMeasurement : printMeasurements) {
+          report.record(printed.sourceClass(), generatorName, Phase.PRINT, printMeasurement);
+          measurement.exclude(printMeasurement);
+        }
+
+        report.record(printed.sourceClass(), generatorName, Phase.WRITE, measurement);
+      }
+
+      outputs.computeIfAbsent(printed.sourceClass(), key -> ConcurrentHashMap.newKeySet()).add(printed.path());
+
+      if(outcome == OutputSink.Outcome.UNCHANGED) {
+        LOGGER.info("[{}] Generated class for \"{}\" is unchanged.", generatorName, sourceClassName);
+      } else {
+        LOGGER.info("[{}] Generated class for \"{}\".", generatorName, sourceClassName);
+      }
+    }
+
+    private void emit(final Printed printed, final Writer writer, final List<Measurement> printMeasurements) throws IOException {
+      final Measurement measurement = Measurement.start();
+
+      try {
+        printed.result().emit(writer);
+      } finally {
+        printMeasurements.add(measurement.stop());
+      }
+    }
+
+    // Manifest
+    //
+
+    /**
+     * Records the source classes that were generated in this run.
+     * <p>
+     * A failed source class is recorded without a hash, so that it is
+     * generated again by the next run, but keeps its previous outputs, so
+     * that they are still deleted once the source class disappears.
+     */
+    private void recordEntries() {
+      final Set<Class<?>> sourceClasses = new HashSet<>(sourceHashes.keySet());
+
+      sourceClasses.addAll(failedClasses);
+
+      for(final Class<?> sourceClass : sourceClasses) {
+        final SortedSet<String> entryOutputs = new TreeSet<>(outputs.getOrDefault(sourceClass, Set.of()));
+
+        if(failedClasses.contains(sourceClass)) {
+          final Manifest.Entry previousEntry = previousManifest.getEntry(sourceClass.getName());
+
+          if(previousEntry != null) {
+            entryOutputs.addAll(previousEntry.outputs());
+          }
+
+          manifest.putEntry(sourceClass.getName(), new Manifest.Entry(null, entryOutputs));
+        } else {
+          manifest.putEntry(sourceClass.getName(), new Manifest.Entry(sourceHashes.get(sourceClass), entryOutputs));
+        }
+      }
+    }
+
+    /**
+     * Deletes files that the previous run generated, but this run did not.
+     */
+    private void deleteStaleOutputs() {
+      final Set<String> currentOutputs = new HashSet<>();
+
+      manifest.getEntries().values().forEach(entry -> currentOutputs.addAll(entry.outputs()));
+
+      final SortedSet<String> staleOutputs = new TreeSet<>();
+
+      previousManifest.getEntries().values().forEach(entry -> staleOutputs.addAll(entry.outputs()));
+      staleOutputs.removeAll(currentOutputs);
+
+      for(final String staleOutput : staleOutputs) {
+        try {
+          if(sink.delete(staleOutput)) {
+            LOGGER.info("Deleted stale \"{}\".", staleOutput);
+          }
+        } catch(final IOException e) {
+          LOGGER.warn("Failed to delete stale \"{}\".", staleOutput, e);
+        }
+      }
+    }
+
+    // Getters/setters
+    //--------------------------------------------------
+
+    private Manifest getManifest() {
+      return manifest;
+    }
+
+    private RunReport getReport() {
+      return report;
+    }
+
+  }
+
+  /**
+   * An item that flows through the stages.
+   */
+  private interface Item {
+
+    Class<?> sourceClass();
+
+    /**
+     * Returns the generator this item is for.
+     *
+     * @return The generator, or {@code null} if the item is for all
+     *     generators of its source class.
+     */
+    default Generator generator() {
+      return null;
+    }
+
+  }
+
+  private record Task(Class<?> sourceClass, List<Generator> generators) implements Item {
+  }
+
+  private record Located(Class<?> sourceClass, List<Generator> generators, String source) implements Item {
+  }
+
+  private record Parsed(Class<?> sourceClass, List<Generator> generators, CompilationUnit sourceFile) implements Item {
+  }
+
+  private record Generated(Class<?> sourceClass, Generator generator, GeneratorResult result) implements Item {
+  }
+
+  /**
+   * A printed class.
+   *
+   * @param path    The path of the file, relative to the output directory.
+   * @param content The source, or {@code null} if it is streamed from the
+   *                result while written.
+   * @param result  The result to stream the source from, or {@code null} if it
+   *                was printed.
+   */
+  private record Printed(Class<?> sourceClass, Generator generator, String path, String content, GeneratorResult result) implements Item {
+  }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records what a run generated, so that the next run can skip unchanged
+ * source classes.
+ * <p>
+ * A manifest holds a set of global fingerprints and, per source class, the
+ * hash of its source and the files generated from it. An entry is only valid
+ * if the global fingerprints of the manifest match those of the current run.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+final class Manifest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String HEADER = "# Generated by fluent-flow. Do not edit.";
+
+  private static final String FINGERPRINT_PREFIX = "fingerprint.";
+
+  private static final String SOURCE_PREFIX = "source.";
+
+  private static final String HASH_SUFFIX = ".hash";
+
+  private static final String OUTPUTS_SUFFIX = ".outputs";
+
+  private static final String OUTPUT_SEPARATOR = ",";
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Reads a manifest.
+   *
+   * @param file The file.
+   *
+   * @return The manifest, or an empty manifest if the file does not exist or
+   *     cannot be read.
+   */
+  static Manifest read(final File file) {
+    final Manifest manifest = new Manifest(Map.of());
+
+    if(!file.isFile()) {
+      return manifest;
+    }
+
+    final Properties properties = new Properties();
+
+    try(final Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    } catch(final IOException e) {
+      LOGGER.warn("Failed to read manifest \"{}\"; generating everything.", file, e);
+
+      return manifest;
+    }
+
+    for(final String key : properties.stringPropertyNames()) {
+      final String value = properties.getProperty(key);
+
+      if(key.startsWith(FINGERPRINT_PREFIX)) {
+        manifest.fingerprints.put(key.substring(FINGERPRINT_PREFIX.length()), value);
+      } else if(key.startsWith(SOURCE_PREFIX) && key.endsWith(HASH_SUFFIX)) {
+        final String sourceClassName = key.substring(SOURCE_PREFIX.length(), key.length() - HASH_SUFFIX.length());
+        final String outputs = properties.getProperty(SOURCE_PREFIX + sourceClassName + OUTPUTS_SUFFIX, "");
+
+        manifest.entries.put(sourceClassName, new Entry(
+            value.isEmpty() ? null : value,
+            outputs.isEmpty() ? new TreeSet<>() : new TreeSet<>(Arrays.asList(outputs.split(OUTPUT_SEPARATOR)))
+        ));
+      }
+    }
+
+    return manifest;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  Manifest(final Map<String, String> fingerprints) {
+    super();
+
+    this.fingerprints = new TreeMap<>(fingerprints);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final SortedMap<String, String> fingerprints;
+
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Writes this manifest.
+   * <p>
+   * Keys are sorted, so that the file only changes if its content does.
+   *
+   * @param file The file.
+   */
+  void write(final File file) throws IOException {
+    final File folder = file.getAbsoluteFile().getParentFile();
+
+    if(folder != null) {
+      folder.mkdirs();
+    }
+
+    try(final PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+      writer.print(HEADER + "\n");
+
+      fingerprints.forEach((key, value) -> writer.print(FINGERPRINT_PREFIX + key + "=" + value + "\n"));
+
+      new TreeMap<>(entries).forEach((sourceClassName, entry) -> {
+        writer.print(SOURCE_PREFIX + sourceClassName + HASH_SUFFIX + "=" + Objects.requireNonNullElse(entry.sourceHash(), "") + "\n");
+        writer.print(SOURCE_PREFIX + sourceClassName + OUTPUTS_SUFFIX + "=" + String.join(OUTPUT_SEPARATOR, entry.outputs()) + "\n");
+      });
+
+      if(writer.checkError()) {
+        throw new IOException("Failed to write manifest \"" + file + "\".");
+      }
+    }
+  }
+
+  /**
+   * Checks whether the entries of this manifest were recorded with the given
+   * fingerprints.
+   *
+   * @param fingerprints The fingerprints of the current run.
+   *
+   * @return {@code true} if the fingerprints match.
+   */
+  boolean matches(final Map<String, String> fingerprints) {
+    return this.fingerprints.equals(new TreeMap<>(fingerprints));
+  }
+
+  /**
+   * Checks whether every file recorded in this manifest still exists.
+   *
+   * @param outputDirectory The output directory.
+   *
+   * @return {@code true} if no recorded file is missing.
+   */
+  boolean hasOutputs(final File outputDirectory) {
+    return entries.values().stream()
+        .flatMap(entry -> entry.outputs().stream())
+        .allMatch(output -> new File(outputDirectory, output).isFile());
+  }
+
+  Entry getEntry(final String sourceClassName) {
+    return entries.get(sourceClassName);
+  }
+
+  void putEntry(final String sourceClassName, final Entry entry) {
+    entries.put(sourceClassName, entry);
+  }
+
+  Map<String, Entry> getEntries() {
+    return Collections.unmodifiableMap(entries);
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * What was generated from one source class.
+   *
+   * @param sourceHash The hash of the source, or {@code null} if generation
+   *                   failed and the class must be generated again.
+   * @param outputs    The generated files, relative to the output directory.
+   */
+  record Entry(String sourceHash, SortedSet<String> outputs) {
+
+    boolean isUpToDate(final String sourceHash, final File outputDirectory) {
+      return this.sourceHash != null
+          && this.sourceHash.equals(sourceHash)
+          && outputs.stream().allMatch(output -> new File(outputDirectory, output).isFile());
+    }
+
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the time and the memory allocated by the current thread between
+ * its start and {@link #stop()}.
+ * <p>
+ * Allocation is measured with the allocation counter of the thread, where the
+ * JVM supports it; otherwise it is reported as {@code -1}.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+final class Measurement {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = resolveThreadMxBean();
+
+  // Static methods
+  //--------------------------------------------------
+
+  static Measurement start() {
+    return new Measurement(System.nanoTime(), allocatedBytes());
+  }
+
+  /**
+   * Creates a stopped measurement with the given values.
+   *
+   * @param nanos The time.
+   * @param bytes The memory allocated, or {@code -1} if unmeasurable.
+   *
+   * @return The measurement.
+   */
+  static Measurement of(final long nanos, final long bytes) {
+    final Measurement measurement = new Measurement(0, 0);
+
+    measurement.nanos = nanos;
+    measurement.bytes = bytes;
+
+    return measurement;
+  }
+
+  private static long allocatedBytes() {
+    return (THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1);
+  }
+
+  private static com.sun.management.ThreadMXBean resolveThreadMxBean() {
+    if(!(ManagementFactory.getThreadMXBean() instanceof final com.sun.management.ThreadMXBean threadMxBean)) {
+      return null;
+    }
+
+    try {
+      if(!threadMxBean.isThreadAllocatedMemorySupported()) {
+        return null;
+      }
+
+      if(!threadMxBean.isThreadAllocatedMemoryEnabled()) {
+        threadMxBean.setThreadAllocatedMemoryEnabled(true);
+      }
+
+      return threadMxBean;
+    } catch(final UnsupportedOperationException | SecurityException e) {
+      return null;
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private Measurement(final long startNanos, final long startAllocatedBytes) {
+    super();
+
+    this.startNanos = startNanos;
+    this.startAllocatedBytes = startAllocatedBytes;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final long startNanos;
+
+  private final long startAllocatedBytes;
+
+  private long nanos;
+
+  private long bytes;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Stops the measurement.
+   * <p>
+   * Must be called on the thread that started it.
+   *
+   * @return This measurement.
+   */
+  Measurement stop() {
+    nanos = System.nanoTime() - startNanos;
+    bytes = (startAllocatedBytes < 0 ? -1 : allocatedBytes() - startAllocatedBytes);
+
+    return this;
+  }
+
+  /**
+   * Leaves out a measurement that was taken within this one.
+   *
+   * @param nested The stopped, nested measurement.
+   *
+   * @return This measurement.
+   */
+  Measurement exclude(final Measurement nested) {
+    nanos -= nested.nanos;
+    bytes = (bytes < 0 || nested.bytes < 0 ? -1 : bytes - nested.bytes);
+
+    return this;
+  }
+
+  // Getters/setters
+  //--------------------------------------------------
+
+  long getNanos() {
+    return nanos;
+  }
+
+  long getBytes() {
+    return bytes;
+  }
+
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes generated files, leaving files whose content did not change
+ * untouched.
+ * <p>
+ * Keeping unchanged files, and their modification times, as they are lets
+ * build tools skip recompiling them. Files are written to a temporary file
+ * next to them, and moved into place once complete, so that a failed write
+ * leaves the previous file, if any, rather than a partial one.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+final class OutputSink {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Writes a file through a temporary file in the same directory, which
+   * replaces it once written.
+   *
+   * @param file    The file.
+   * @param content Writes the content.
+   */
+  private static void replace(final Path file, final Content content) throws IOException {
+    Files.createDirectories(file.getParent());
+
+    // Not Files.createTempFile, which would restrict the permissions of the
+    // file it replaces. Each file is written by one worker at a time.
+
+    final Path temporaryFile = file.resolveSibling("." + file.getFileName() + ".tmp");
+
+    try {
+      try(final Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+        content.writeTo(writer);
+      }
+
+      Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  OutputSink(final File outputDirectory) {
+    super();
+
+    this.outputDirectory = outputDirectory;
+
+    for(final Outcome outcome : Outcome.values()) {
+      counts.put(outcome, new AtomicInteger());
+    }
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final File outputDirectory;
+
+  private final Map<Outcome, AtomicInteger> counts = new EnumMap<>(Outcome.class);
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Writes a file, unless it already has the given content.
+   *
+   * @param path    The path of the file, relative to the output directory.
+   * @param content The content.
+   *
+   * @return The outcome.
+   */
+  Outcome write(final String path, final String content) throws IOException {
+    final Path file = resolve(path);
+    final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+
+    final Outcome outcome;
+
+    if(!Files.isRegularFile(file)) {
+      outcome = Outcome.CREATED;
+    } else if(Files.size(file) == bytes.length && Arrays.equals(Files.readAllBytes(file), bytes)) {
+      outcome = Outcome.UNCHANGED;
+    } else {
+      outcome = Outcome.CHANGED;
+    }
+
+    if(outcome != Outcome.UNCHANGED) {
+      replace(file, writer -> writer.write(content));
+    }
+
+    counts.get(outcome).incrementAndGet();
+
+    return outcome;
+  }
+
+  /**
+   * Writes a file by streaming its content, unless it already has that
+   * content.
+   * <p>
+   * If the file exists, the content is first streamed against it, without
+   * writing anything. Only if the two differ is the content streamed again,
+   * into the file. So the content is never held in memory as a whole, and
+   * unchanged files, the common case, are only read.
+   *
+   * @param path    The path of the file, relative to the output directory.
+   * @param content Writes the content. It may be called twice.
+   *
+   * @return The outcome.
+   */
+  Outcome write(final String path, final Content content) throws IOException {
+    final Path file = resolve(path);
+
+    final Outcome outcome;
+
+    if(!Files.isRegularFile(file)) {
+      outcome = Outcome.CREATED;
+    } else {
+      // Undecodable bytes are replaced, rather than failing, so that they are
+      // only a difference.
+
+      try(final ComparingWriter comparingWriter = new ComparingWriter(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+        content.writeTo(comparingWriter);
+
+        outcome = (comparingWriter.matches() ? Outcome.UNCHANGED : Outcome.CHANGED);
+      }
+    }
+
+    if(outcome != Outcome.UNCHANGED) {
+      replace(file, content);
+    }
+
+    counts.get(outcome).incrementAndGet();
+
+    return outcome;
+  }
+
+  /**
+   * Deletes a file, if it exists.
+   *
+   * @param path The path of the file, relative to the output directory.
+   *
+   * @return {@code true} if the file was deleted.
+   */
+  boolean delete(final String path) throws IOException {
+    if(!Files.deleteIfExists(resolve(path))) {
+      return false;
+    }
+
+    counts.get(Outcome.DELETED).incrementAndGet();
+
+    return true;
+  }
+
+  int getCount(final Outcome outcome) {
+    return counts.get(outcome).get();
+  }
+
+  private Path resolve(final String path) {
+    return new File(outputDirectory, path).toPath();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Writes the content of a file.
+   */
+  @FunctionalInterface
+  interface Content {
+
+    void writeTo(Writer writer) throws IOException;
+
+  }
+
+  /**
+   * Compares what is written to it with the content of a reader, up to the
+   * first difference.
+   */
+  private static final class ComparingWriter extends Writer {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private ComparingWriter(final Reader expected) {
+      super();
+
+      this.expected = new BufferedReader(expected);
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private final Reader expected;
+
+    private char[] buffer = new char[0];
+
+    private boolean different;
+
+    // Methods
+    //--------------------------------------------------
+
+    @Override
+    public void write(final char[] chars, final int offset, final int length) throws IOException {
+      if(different) {
+        return;
+      }
+
+      if(buffer.length < length) {
+        buffer = new char[length];
+      }
+
+      int read = 0;
+
+      while(read < length) {
+        final int count = expected.read(buffer, read, length - read);
+
+        if(count < 0) {
+          different = true;
+
+          return;
+        }
+
+        read += count;
+      }
+
+      different = !Arrays.equals(buffer, 0, length, chars, offset, offset + length);
+    }
+
+    /**
+     * Checks whether everything written so far matched, and was all of the
+     * expected content.
+     *
+     * @return {@code true} if both are equal.
+     */
+    private boolean matches() throws IOException {
+      return (!different && expected.read() < 0);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+      expected.close();
+    }
+
+  }
+
+  /**
+   * What happened to a file.
+   */
+  enum Outcome {
+
+    CREATED,
+
+    CHANGED,
+
+    UNCHANGED,
+
+    DELETED
+
+  }
+
+}
@@ -16,34 +16,58 @@
  * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-package com.oliveryasuna.vaadin.fluent.generator.utils;
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
 
-import com.oliveryasuna.commons.language.exception.UnsupportedInstantiationException;
+/**
+ * Phases of generating the files for one source class.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public enum Phase {
 
-public final class ReflectionUtils {
+  /**
+   * Reads the source file from the sources JAR.
+   */
+  LOCATE("locate"),
 
-  // Static methods
-  //--------------------------------------------------
+  /**
+   * Parses the source file.
+   */
+  PARSE("parse"),
 
-  public static Class<?> resolveClass(String className) throws ClassNotFoundException {
-    while(className.contains(".")) {
-      try {
-        return Class.forName(className);
-      } catch(final ClassNotFoundException e) {
-        className = className.substring(0, className.lastIndexOf('.')) + "$" + className.substring(className.lastIndexOf('.') + 1);
-      }
-    }
+  /**
+   * Runs the generators over the parsed source file.
+   */
+  GENERATE("generate"),
 
-    throw new ClassNotFoundException();
-  }
+  /**
+   * Prints the generated compilation units.
+   */
+  PRINT("print"),
+
+  /**
+   * Writes the printed files.
+   */
+  WRITE("write");
 
   // Constructors
   //--------------------------------------------------
 
-  private ReflectionUtils() {
-    super();
+  Phase(final String id) {
+    this.id = id;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final String id;
+
+  // Getters/setters
+  //--------------------------------------------------
 
-    throw new UnsupportedInstantiationException();
+  public String getId() {
+    return id;
   }
 
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import com.oliveryasuna.vaadin.fluent.generator.Config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects the time spent and the memory allocated per phase, for each source
+ * class and each generator, and writes them as a JSON report.
+ * <p>
+ * The report holds the totals of the run and the source classes that took the
+ * longest, in this shape:
+ * <pre>{@code
+ * {
+ *   "version": "...",
+ *   "total": {"wallNanos": 0, "sourceClasses": 0, "phases": {"locate": {"nanos": 0, "allocatedBytes": 0}, ...}},
+ *   "slowest": [
+ *     {"class": "...", "nanos": 0, "allocatedBytes": 0, "phases": {...}, "generators": {"class→base": {"generate": {...}, ...}}}
+ *   ]
+ * }
+ * }</pre>
+ * An allocation of {@code -1} means that the JVM cannot measure it.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+final class RunReport {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final Phase[] PHASES = Phase.values();
+
+  // Constructors
+  //--------------------------------------------------
+
+  RunReport() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final ConcurrentMap<String, ClassMetrics> classes = new ConcurrentHashMap<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Records a measurement.
+   *
+   * @param sourceClass   The source class.
+   * @param generatorName The name of the generator, or {@code null} if the
+   *                      phase is shared by all generators of the class.
+   * @param phase         The phase.
+   * @param measurement   The stopped measurement.
+   */
+  void record(final Class<?> sourceClass, final String generatorName, final Phase phase, final Measurement measurement) {
+    final ClassMetrics classMetrics = classes.computeIfAbsent(sourceClass.getName(), key -> new ClassMetrics());
+
+    classMetrics.total.add(phase, measurement);
+
+    if(generatorName != null) {
+      classMetrics.generators.computeIfAbsent(generatorName, key -> new PhaseMetrics())
+          .add(phase, measurement);
+    }
+  }
+
+  /**
+   * Writes the report.
+   *
+   * @param file      The file.
+   * @param wallNanos The wall-clock time of the run.
+   * @param topCount  The number of slowest source classes to include.
+   */
+  void write(final File file, final long wallNanos, final int topCount) throws IOException {
+    final PhaseMetrics total = new PhaseMetrics();
+
+    classes.values().forEach(classMetrics -> total.addAll(classMetrics.total));
+
+    final StringBuilder json = new StringBuilder();
+
+    json.append("{\n  \"version\": ").append(quote(Config.getVersion()));
+    json.append(",\n  \"total\": {\"wallNanos\": ").append(wallNanos)
+        .append(", \"sourceClasses\": ").append(classes.size())
+        .append(", \"phases\": ");
+    total.appendJson(json);
+    json.append("},\n  \"slowest\": [");
+
+    final List<Map.Entry<String, ClassMetrics>> slowest = classes.entrySet().stream()
+        .sorted(Comparator.<Map.Entry<String, ClassMetrics>>comparingLong(entry -> entry.getValue().total.sumNanos())
+            .reversed()
+            .thenComparing(Map.Entry::getKey))
+        .limit(Math.max(0, topCount))
+        .toList();
+
+    for(int i = 0; i < slowest.size(); i++) {
+      final String className = slowest.get(i).getKey();
+      final ClassMetrics classMetrics = slowest.get(i).getValue();
+
+      json.append(i == 0 ? "\n" : ",\n");
+      json.append("    {\"class\": ").append(quote(className))
+          .append(", \"nanos\": ").append(classMetrics.total.sumNanos())
+          .append(", \"allocatedBytes\": ").append(classMetrics.total.sumBytes())
+          .append(", \"phases\": ");
+      classMetrics.total.appendJson(json);
+      json.append(", \"generators\": {");
+
+      final SortedMap<String, PhaseMetrics> generators = new TreeMap<>(classMetrics.generators);
+      boolean first = true;
+
+      for(final Map.Entry<String, PhaseMetrics> generator : generators.entrySet()) {
+        json.append(first ? "" : ", ").append(quote(generator.getKey())).append(": ");
+        generator.getValue().appendJson(json);
+
+        first = false;
+      }
+
+      json.append("}}");
+    }
+
+    json.append(slowest.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+
+    final File parent = file.getAbsoluteFile().getParentFile();
+
+    if(parent != null) {
+      Files.createDirectories(parent.toPath());
+    }
+
+    Files.writeString(file.toPath(), json, StandardCharsets.UTF_8);
+  }
+
+  // Helpers
+  //
+
+  private static String quote(final String value) {
+    final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+
+    for(int i = 0; i < value.length(); i++) {
+      final char c = value.charAt(i);
+
+      switch(c) {
+        case '"' -> quoted.append("\\\"");
+        case '\\' -> quoted.append("\\\\");
+        case '\n' -> quoted.append("\\n");
+        case '\r' -> quoted.append("\\r");
+        case '\t' -> quoted.append("\\t");
+        default -> {
+          if(c < 0x20) {
+            quoted.append(String.format("\\u%04x", (int)c));
+          } else {
+            quoted.append(c);
+          }
+        }
+      }
+    }
+
+    return quoted.append('"').toString();
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class ClassMetrics {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private ClassMetrics() {
+      super();
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private final PhaseMetrics total = new PhaseMetrics();
+
+    private final ConcurrentMap<String, PhaseMetrics> generators = new ConcurrentHashMap<>();
+
+  }
+
+  /**
+   * Time and allocation per phase.
+   * <p>
+   * Phases that were never measured are left out of the JSON.
+   */
+  private static final class PhaseMetrics {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private PhaseMetrics() {
+      super();
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private final AtomicLongArray counts = new AtomicLongArray(PHASES.length);
+
+    private final AtomicLongArray nanos = new AtomicLongArray(PHASES.length);
+
+    private final AtomicLongArray bytes = new AtomicLongArray(PHASES.length);
+
+    // Methods
+    //--------------------------------------------------
+
+    private void add(final Phase phase, final Measurement measurement) {
+      add(phase.ordinal(), 1, measurement.getNanos(), measurement.getBytes());
+    }
+
+    private void addAll(final PhaseMetrics other) {
+      for(int i = 0; i < PHASES.length; i++) {
+        add(i, other.counts.get(i), other.nanos.get(i), other.bytes.get(i));
+      }
+    }
+
+    private void add(final int index, final long count, final long nanos, final long bytes) {
+      if(count == 0) {
+        return;
+      }
+
+      counts.addAndGet(index, count);
+      this.nanos.addAndGet(index, nanos);
+
+      // Once unmeasurable, always unmeasurable.
+      this.bytes.getAndUpdate(index, current -> (current < 0 || bytes < 0 ? -1 : current + bytes));
+    }
+
+    private long sumNanos() {
+      long sum = 0;
+
+      for(int i = 0; i < PHASES.length; i++) {
+        sum += nanos.get(i);
+      }
+
+      return sum;
+    }
+
+    private long sumBytes() {
+      long sum = 0;
+
+      for(int i = 0; i < PHASES.length; i++) {
+        if(bytes.get(i) < 0) {
+          return -1;
+        }
+
+        sum += bytes.get(i);
+      }
+
+      return sum;
+    }
+
+    private void appendJson(final StringBuilder json) {
+      json.append('{');
+
+      boolean first = true;
+
+      for(int i = 0; i < PHASES.length; i++) {
+        if(counts.get(i) == 0) {
+          continue;
+        }
+
+        json.append(first ? "" : ", ")
+            .append(quote(PHASES[i].getId()))
+            .append(": {\"nanos\": ").append(nanos.get(i))
+            .append(", \"allocatedBytes\": ").append(bytes.get(i))
+            .append('}');
+
+        first = false;
+      }
+
+      json.append('}');
+    }
+
+  }
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A pipeline stage: a bounded input queue drained by a fixed number of worker
+ * threads.
+ * <p>
+ * Producers block while the queue is full, which throttles faster upstream
+ * stages to the pace of slower downstream ones.
+ *
+ * @param <I> The type of the input items.
+ * @param <O> The type of the output items.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+final class Stage<I, O> {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * Signals a worker that no more items will arrive.
+   */
+  private static final Object END = new Object();
+
+  // Constructors
+  //--------------------------------------------------
+
+  Stage(
+      final Phase phase,
+      final int workers,
+      final int capacity,
+      final Function<I, O> function,
+      final Stage<O, ?> next,
+      final Consumer<? super I> failureHandler
+  ) {
+    super();
+
+    this.phase = phase;
+    this.workers = Math.max(1, workers);
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.function = function;
+    this.next = next;
+    this.failureHandler = failureHandler;
+    this.remainingWorkers = new AtomicInteger(this.workers);
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Phase phase;
+
+  private final int workers;
+
+  private final BlockingQueue<Object> queue;
+
+  private final Function<I, O> function;
+
+  private final Stage<O, ?> next;
+
+  /**
+   * Called with the item whose processing threw, whether an exception or an
+   * error.
+   */
+  private final Consumer<? super I> failureHandler;
+
+  private final AtomicInteger remainingWorkers;
+
+  private final List<Thread> threads = new ArrayList<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  void start() {
+    for(int i = 0; i < workers; i++) {
+      final Thread thread = new Thread(this::work, "fluent-flow-" + phase.getId() + "-" + i);
+
+      threads.add(thread);
+      thread.start();
+    }
+  }
+
+  void submit(final I item) throws InterruptedException {
+    queue.put(item);
+  }
+
+  /**
+   * Signals that no more items will be submitted.
+   */
+  void close() throws InterruptedException {
+    for(int i = 0; i < workers; i++) {
+      queue.put(END);
+    }
+  }
+
+  void await() throws InterruptedException {
+    for(final Thread thread : threads) {
+      thread.join();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void work() {
+    try {
+      while(true) {
+        final Object item = queue.take();
+
+        if(item == END) {
+          break;
+        }
+
+        process((I)item);
+      }
+    } catch(final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      // The last worker to finish closes the next stage.
+
+      if(remainingWorkers.decrementAndGet() == 0 && next != null) {
+        try {
+          next.close();
+        } catch(final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  private void process(final I item) throws InterruptedException {
+    final List<O> outputs = new ArrayList<>();
+
+    try {
+      function.apply(item, outputs::add);
+    } catch(final InterruptedException e) {
+      throw e;
+    } catch(final Throwable e) {
+      // Errors, too, such as a StackOverflowError on a deep tree: a worker
+      // that died would leave producers blocked on a full queue.
+
+      LOGGER.error("[{}] Unexpected failure.", phase.getId(), e);
+
+      failureHandler.accept(item);
+
+      return;
+    }
+
+    if(next != null) {
+      for(final O output : outputs) {
+        next.submit(output);
+      }
+    }
+  }
+
+  // Getters/setters
+  //--------------------------------------------------
+
+  Phase getPhase() {
+    return phase;
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * The work of a stage.
+   *
+   * @param <I> The type of the input items.
+   * @param <O> The type of the output items.
+   */
+  @FunctionalInterface
+  interface Function<I, O> {
+
+    /**
+     * Processes one item.
+     *
+     * @param input  The item.
+     * @param output Receives zero or more items for the next stage.
+     */
+    void apply(I input, Consumer<O> output) throws Exception;
+
+  }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.platform;
+
+import com.oliveryasuna.vaadin.fluent.generator.Config;
+import com.oliveryasuna.vaadin.fluent.generator.Options;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The Vaadin classes that fluent classes are generated for.
+ * <p>
+ * A platform is either the classpath of the generator itself, or a set of jars
+ * loaded into an isolated class loader, whose parent is the platform class
+ * loader. The latter lets one build of the generator target any Vaadin
+ * version. Either way, target classes are only ever loaded without being
+ * initialized, so no Vaadin static initializer runs during generation.
+ * <p>
+ * The Vaadin version is detected from the jars of the platform.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+public final class TargetPlatform implements Closeable {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String CLASS_LOADER_NAME = "fluent-flow-target";
+
+  private static final String VAADIN_CORE_JAR_PREFIX = "vaadin-core-";
+
+  private static final String VAADIN_CORE_POM_PROPERTIES = "META-INF/maven/com.vaadin/vaadin-core/pom.properties";
+
+  private static final String VAADIN_CORE_VERSIONS = "vaadin-core-versions.json";
+
+  private static final Pattern PLATFORM_VERSION_PATTERN = Pattern.compile("\"platform\"\\s*:\\s*\"([^\"]+)\"");
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Creates the platform of a run.
+   *
+   * @param options The options.
+   *
+   * @return The platform of {@link Options#getTargetClassPath()}, or that of
+   *     the generator if it is not set.
+   */
+  public static TargetPlatform of(final Options options) {
+    final List<File> targetClassPath = options.getTargetClassPath();
+
+    return (targetClassPath != null ? isolated(targetClassPath) : ofClassLoader(TargetPlatform.class.getClassLoader()));
+  }
+
+  /**
+   * Creates the platform that a class loader sees.
+   * <p>
+   * The class loader is not closed with the platform.
+   *
+   * @param classLoader The class loader.
+   *
+   * @return The platform.
+   *
+   * @see TypeIndex#classPathOf(ClassLoader)
+   */
+  public static TargetPlatform ofClassLoader(final ClassLoader classLoader) {
+    return new TargetPlatform(classLoader, TypeIndex.classPathOf(classLoader), false);
+  }
+
+  /**
+   * Creates the platform of a set of jars, loaded into an isolated class
+   * loader.
+   * <p>
+   * The class loader is closed with the platform.
+   *
+   * @param classPath The jars and class directories.
+   *
+   * @return The platform.
+   */
+  public static TargetPlatform isolated(final Collection<File> classPath) {
+    final URL[] urls = classPath.stream()
+        .map(entry -> {
+          try {
+            return entry.toURI().toURL();
+          } catch(final MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid classpath entry: " + entry, e);
+          }
+        })
+        .toArray(URL[]::new);
+
+    return new TargetPlatform(new URLClassLoader(CLASS_LOADER_NAME, urls, ClassLoader.getPlatformClassLoader()), List.copyOf(classPath), true);
+  }
+
+  /**
+   * Detects the Vaadin version of a classpath.
+   * <p>
+   * The version is read from {@code vaadin-core}: from its Maven metadata, or
+   * else from its list of versions. Jars named like {@code vaadin-core} are
+   * looked in first.
+   *
+   * @param classPath The jars and class directories.
+   *
+   * @return The version, or {@code null} if there is no {@code vaadin-core}.
+   */
+  public static String detectVaadinVersion(final List<File> classPath) {
+    final List<File> entries = classPath.stream()
+        .sorted(Comparator.comparing(entry -> !entry.getName().startsWith(VAADIN_CORE_JAR_PREFIX)))
+        .toList();
+
+    for(final File entry : entries) {
+      try {
+        final String version = (entry.isDirectory() ? detectVaadinVersion(entry.toPath()) : (entry.isFile() ? detectVaadinVersion(entry) : null));
+
+        if(version != null) {
+          return version;
+        }
+      } catch(final IOException e) {
+        LOGGER.debug("Failed to read classpath entry: {}", entry, e);
+      }
+    }
+
+    return null;
+  }
+
+  private static String detectVaadinVersion(final File jar) throws IOException {
+    try(final ZipFile zipFile = new ZipFile(jar)) {
+      ZipEntry entry = zipFile.getEntry(VAADIN_CORE_POM_PROPERTIES);
+
+      if(entry != null) {
+        try(final InputStream inputStream = zipFile.getInputStream(entry)) {
+          return readPomVersion(inputStream);
+        }
+      }
+
+      entry = zipFile.getEntry(VAADIN_CORE_VERSIONS);
+
+      if(entry != null) {
+        try(final InputStream inputStream = zipFile.getInputStream(entry)) {
+          return readPlatformVersion(inputStream);
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private static String detectVaadinVersion(final Path directory) throws IOException {
+    Path file = directory.resolve(VAADIN_CORE_POM_PROPERTIES);
+
+    if(Files.isRegularFile(file)) {
+      try(final InputStream inputStream = Files.newInputStream(file)) {
+        return readPomVersion(inputStream);
+      }
+    }
+
+    file = directory.resolve(VAADIN_CORE_VERSIONS);
+
+    if(Files.isRegularFile(file)) {
+      try(final InputStream inputStream = Files.newInputStream(file)) {
+        return readPlatformVersion(inputStream);
+      }
+    }
+
+    return null;
+  }
+
+  private static String readPomVersion(final InputStream inputStream) throws IOException {
+    final Properties properties = new Properties();
+
+    properties.load(inputStream);
+
+    return properties.getProperty("version");
+  }
+
+  private static String readPlatformVersion(final InputStream inputStream) throws IOException {
+    final Matcher matcher = PLATFORM_VERSION_PATTERN.matcher(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+
+    return (matcher.find() ? matcher.group(1) : null);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private TargetPlatform(final ClassLoader classLoader, final List<File> classPath, final boolean closeClassLoader) {
+    super();
+
+    this.classLoader = classLoader;
+    this.classPath = classPath;
+    this.closeClassLoader = closeClassLoader;
+
+    final String detectedVaadinVersion = detectVaadinVersion(classPath);
+
+    if(detectedVaadinVersion != null) {
+      this.vaadinVersion = detectedVaadinVersion;
+    } else {
+      this.vaadinVersion = Config.getVaadinVersion();
+
+      LOGGER.warn("Could not detect the Vaadin version of the target classpath; assuming {}.", vaadinVersion);
+    }
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final ClassLoader classLoader;
+
+  private final List<File> classPath;
+
+  private final boolean closeClassLoader;
+
+  private final String vaadinVersion;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Override
+  public void close() throws IOException {
+    if(closeClassLoader) {
+      ((URLClassLoader)classLoader).close();
+    }
+  }
+
+  // Getters/setters
+  //--------------------------------------------------
+
+  public ClassLoader getClassLoader() {
+    return classLoader;
+  }
+
+  public List<File> getClassPath() {
+    return classPath;
+  }
+
+  public String getVaadinVersion() {
+    return vaadinVersion;
+  }
+
+}
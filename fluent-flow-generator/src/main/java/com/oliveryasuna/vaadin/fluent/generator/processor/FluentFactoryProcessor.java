@@ -0,0 +1,388 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.processor;
+
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.CompilationUnit;
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.Options;
+import com.oliveryasuna.vaadin.fluent.generator.apimodel.ApiModelCache;
+import com.oliveryasuna.vaadin.fluent.generator.apimodel.ApiModelParser;
+import com.oliveryasuna.vaadin.fluent.generator.generator.Generator;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorResult;
+import com.oliveryasuna.vaadin.fluent.generator.platform.TargetPlatform;
+import com.oliveryasuna.vaadin.fluent.generator.selection.ClassSelector;
+import com.oliveryasuna.vaadin.fluent.generator.source.SourceRepository;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Generates the fluent factories requested by {@link FluentFactories}.
+ * <p>
+ * The requested classes are closed over their superclasses and interfaces, so
+ * that every generated factory extends or implements the factories of its
+ * supertypes, as in the complete addon. Each factory is generated once per
+ * compilation, in the round that first requests it.
+ * <p>
+ * The processor is not registered as a service, so it has to be enabled
+ * explicitly, such as with {@code -processor}.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@SupportedAnnotationTypes("com.oliveryasuna.vaadin.fluent.generator.processor.FluentFactories")
+public final class FluentFactoryProcessor extends AbstractProcessor {
+
+  // Constructors
+  //--------------------------------------------------
+
+  public FluentFactoryProcessor() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  /**
+   * Selects the supertypes of the requested classes, with the default
+   * exclusions.
+   */
+  private final ClassSelector classSelector = new ClassSelector();
+
+  /**
+   * The classes generated in earlier rounds, by name.
+   */
+  private final Map<String, Class<?>> generatedClasses = new HashMap<>();
+
+  /**
+   * The classes that the processor sees, created in the first round that
+   * generates.
+   */
+  private TargetPlatform platform;
+
+  /**
+   * The index of {@link #platform}.
+   */
+  private TypeIndex typeIndex;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+    if(annotations.isEmpty()) {
+      return false;
+    }
+
+    final Map<Class<?>, Element> requestedClasses = new LinkedHashMap<>();
+
+    for(final TypeElement annotation : annotations) {
+      for(final Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+        for(final String className : getRequestedClassNames(element, annotation)) {
+          final Class<?> clazz = loadClass(className, element);
+
+          if(clazz != null) {
+            requestedClasses.putIfAbsent(clazz, element);
+          }
+        }
+      }
+    }
+
+    final SortedMap<String, Class<?>> classes = new TreeMap<>();
+
+    classSelector.close(requestedClasses.keySet()).forEach(clazz -> classes.put(clazz.getName(), clazz));
+    classes.keySet().removeAll(generatedClasses.keySet());
+
+    if(!classes.isEmpty()) {
+      generate(classes, requestedClasses);
+    }
+
+    return true;
+  }
+
+  private void generate(final SortedMap<String, Class<?>> classes, final Map<Class<?>, Element> requestedClasses) {
+    // The environment holds every class of this compilation, so that a
+    // factory extends the factories generated in earlier rounds, too.
+
+    final SortedSet<Class<?>> environmentClasses = new TreeSet<>(Comparator.comparing(Class::getName));
+
+    environmentClasses.addAll(classes.values());
+    environmentClasses.addAll(generatedClasses.values());
+
+    final Element[] originatingElements = requestedClasses.values().stream()
+        .distinct()
+        .toArray(Element[]::new);
+    final TypeIndex typeIndex = getTypeIndex(originatingElements[0]);
+
+    if(typeIndex == null) {
+      return;
+    }
+
+    final Options options;
+    final LocalDate generationDate;
+
+    try {
+      options = Options.fromSystemProperties();
+      generationDate = options.resolveGenerationDate();
+    } catch(final RuntimeException e) {
+      error("Invalid options: " + e.getMessage(), originatingElements[0]);
+
+      return;
+    }
+
+    final GeneratorEnvironment environment = new GeneratorEnvironment(
+        environmentClasses,
+        generationDate,
+        typeIndex,
+        getPlatform().getVaadinVersion()
+    );
+    final Function<Class<?>, List<Generator>> generatorsSelector = App.createGeneratorsSelector(environment);
+    final ApiModelParser apiModelParser = new ApiModelParser(createApiModelCache(options));
+
+    try(final SourceRepository sourceRepository = new SourceRepository()) {
+      for(final Class<?> sourceClass : classes.values()) {
+        generatedClasses.put(sourceClass.getName(), sourceClass);
+
+        final List<Generator> generators = generatorsSelector.apply(sourceClass);
+
+        if(generators.isEmpty()) {
+          continue;
+        }
+
+        final Element element = getOriginatingElement(sourceClass, requestedClasses);
+        final CompilationUnit sourceFile = parse(sourceClass, apiModelParser, sourceRepository, element);
+
+        if(sourceFile == null) {
+          continue;
+        }
+
+        for(final Generator generator : generators) {
+          final GeneratorResult result;
+
+          // A generator that fails is reported on the requesting element,
+          // rather than aborting the compilation.
+
+          try {
+            result = generator.generate(sourceFile, sourceClass);
+          } catch(final RuntimeException e) {
+            error(String.format("[%s] Failed to generate class for \"%s\": %s", generator.getName(), sourceClass.getName(), e), element);
+
+            continue;
+          }
+
+          if(result.hasErrors()) {
+            error(String.format("[%s] Failed to generate class for \"%s\": %s", generator.getName(), sourceClass.getName(), result.getErrors()), element);
+
+            continue;
+          }
+
+          write(result, options.isStreaming(), originatingElements, element);
+        }
+
+        environment.getTypeRewriteCache().evict(sourceClass);
+      }
+    } catch(final IOException e) {
+      warning("Failed to close source jars: " + e.getMessage());
+    }
+  }
+
+  private CompilationUnit parse(
+      final Class<?> sourceClass,
+      final ApiModelParser apiModelParser,
+      final SourceRepository sourceRepository,
+      final Element element
+  ) {
+    // Same parse, and so the same model, as the complete addon is generated
+    // from.
+
+    try {
+      return apiModelParser.parse(sourceClass, new String(sourceRepository.readSource(sourceClass), StandardCharsets.UTF_8), sourceRepository)
+          .sourceFile();
+    } catch(final IOException e) {
+      error(String.format("Failed to resolve source for \"%s\": %s", sourceClass.getName(), e.getMessage()), element);
+    } catch(final ParseProblemException e) {
+      error(String.format("Failed to parse source for \"%s\": %s", sourceClass.getName(), e.getMessage()), element);
+    } catch(final RuntimeException e) {
+      error(String.format("Failed to read the model of \"%s\": %s", sourceClass.getName(), e), element);
+    }
+
+    return null;
+  }
+
+  private void write(final GeneratorResult result, final boolean streaming, final Element[] originatingElements, final Element element) {
+    final String className = result.getOutput().getPackageName() + "." + result.getOutput().getClassName();
+
+    try {
+      final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(className, originatingElements);
+
+      try(final Writer writer = new BufferedWriter(sourceFile.openWriter())) {
+        if(streaming) {
+          result.emit(writer);
+        } else {
+          writer.write(result.getCompilationUnit().toString());
+        }
+      }
+    } catch(final IOException e) {
+      error(String.format("Failed to write \"%s\": %s", className, e.getMessage()), element);
+    }
+  }
+
+  // Helpers
+  //
+
+  private TargetPlatform getPlatform() {
+    if(platform == null) {
+      platform = TargetPlatform.ofClassLoader(FluentFactoryProcessor.class.getClassLoader());
+    }
+
+    return platform;
+  }
+
+  private TypeIndex getTypeIndex(final Element element) {
+    if(typeIndex == null) {
+      try {
+        typeIndex = new TypeIndex(getPlatform().getClassLoader(), getPlatform().getClassPath());
+      } catch(final IOException e) {
+        error("Failed to index the classpath: " + e.getMessage(), element);
+      }
+    }
+
+    return typeIndex;
+  }
+
+  private ApiModelCache createApiModelCache(final Options options) {
+    if(!options.isCache()) {
+      return null;
+    }
+
+    try {
+      return new ApiModelCache(options.getCacheDirectory());
+    } catch(final IOException e) {
+      warning("Not caching parsed models: " + e.getMessage());
+
+      return null;
+    }
+  }
+
+  /**
+   * Finds the element that requested a class, directly or as a supertype of a
+   * requested class.
+   *
+   * @param sourceClass      The class.
+   * @param requestedClasses The requested classes, with the elements that
+   *                         requested them.
+   *
+   * @return The element, or {@code null} if none requested the class.
+   */
+  private static Element getOriginatingElement(final Class<?> sourceClass, final Map<Class<?>, Element> requestedClasses) {
+    final Element element = requestedClasses.get(sourceClass);
+
+    if(element != null) {
+      return element;
+    }
+
+    return requestedClasses.entrySet().stream()
+        .filter(requestedClass -> sourceClass.isAssignableFrom(requestedClass.getKey()))
+        .map(Map.Entry::getValue)
+        .findFirst()
+        .orElse(null);
+  }
+
+  private List<String> getRequestedClassNames(final Element element, final TypeElement annotation) {
+    final List<String> classNames = new ArrayList<>();
+
+    for(final AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+      if(!annotationMirror.getAnnotationType().asElement().equals(annotation)) {
+        continue;
+      }
+
+      // Classes are read as type mirrors, since they need not be loadable by
+      // the compiler.
+
+      annotationMirror.getElementValues().forEach((name, value) -> {
+        if(!name.getSimpleName().contentEquals("value")) {
+          return;
+        }
+
+        for(final Object item : (List<?>)value.getValue()) {
+          final TypeMirror typeMirror = (TypeMirror)((AnnotationValue)item).getValue();
+
+          if(typeMirror instanceof final DeclaredType declaredType) {
+            classNames.add(processingEnv.getElementUtils()
+                .getBinaryName((TypeElement)declaredType.asElement())
+                .toString());
+          } else {
+            error("Not a class: " + typeMirror, element);
+          }
+        }
+      });
+    }
+
+    return classNames;
+  }
+
+  private Class<?> loadClass(final String className, final Element element) {
+    try {
+      final Class<?> clazz = Class.forName(className, false, FluentFactoryProcessor.class.getClassLoader());
+
+      if(!classSelector.isEligible(clazz)) {
+        error("Fluent factories are not generated for " + className + ".", element);
+
+        return null;
+      }
+
+      return clazz;
+    } catch(final ClassNotFoundException | LinkageError e) {
+      error("Class is not on the annotation processor path: " + className, element);
+
+      return null;
+    }
+  }
+
+  private void error(final String message, final Element element) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  private void warning(final String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message);
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.selection;
+
+import java.util.regex.Pattern;
+
+/**
+ * A pattern that matches fully qualified class names.
+ * <p>
+ * {@code *} matches any characters except {@code .}, and {@code **} matches
+ * any characters. For example, {@code com.vaadin.flow.component.button.*}
+ * matches the classes of one package, {@code com.vaadin.flow.component.grid.**}
+ * also those of its subpackages, and {@code com.vaadin.flow.component.grid**}
+ * also those of sibling packages whose name starts with {@code grid}.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+record ClassPattern(String pattern, Pattern regex) {
+
+  // Static methods
+  //--------------------------------------------------
+
+  static ClassPattern compile(final String pattern) {
+    final String trimmedPattern = pattern.trim();
+
+    if(trimmedPattern.isEmpty()) {
+      throw new IllegalArgumentException("Empty class pattern.");
+    }
+
+    final StringBuilder regex = new StringBuilder();
+
+    int literalStart = 0;
+
+    for(int i = 0; i < trimmedPattern.length(); i++) {
+      if(trimmedPattern.charAt(i) != '*') {
+        continue;
+      }
+
+      regex.append(Pattern.quote(trimmedPattern.substring(literalStart, i)));
+
+      if(i + 1 < trimmedPattern.length() && trimmedPattern.charAt(i + 1) == '*') {
+        regex.append(".*");
+
+        i++;
+      } else {
+        regex.append("[^.]*");
+      }
+
+      literalStart = i + 1;
+    }
+
+    regex.append(Pattern.quote(trimmedPattern.substring(literalStart)));
+
+    return new ClassPattern(trimmedPattern, Pattern.compile(regex.toString()));
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  boolean matches(final String className) {
+    return regex.matcher(className).matches();
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+
+}
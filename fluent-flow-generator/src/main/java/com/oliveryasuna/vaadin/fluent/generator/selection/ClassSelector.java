@@ -0,0 +1,251 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.selection;
+
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.ClassHeader;
+
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Selects the classes to generate fluent classes for, by include and exclude
+ * rules.
+ * <p>
+ * A class is selected if it matches an include rule and no exclude rule. The
+ * selection is then closed over supertypes: the fluent class of a class
+ * extends the fluent classes of its superclass and interfaces, so those are
+ * selected too, unless they are excluded or cannot be generated at all. An
+ * excluded supertype only costs the fluent methods it would have
+ * contributed; generated classes fall back to the fluent base class in its
+ * place, and still compile.
+ * <p>
+ * Rules are {@linkplain ClassPattern class patterns}.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class ClassSelector {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * The package whose classes, including those of subpackages, fluent classes
+   * can be generated for.
+   */
+  public static final String SOURCE_PACKAGE = "com.vaadin.flow.component";
+
+  public static final List<String> DEFAULT_INCLUDES = List.of(SOURCE_PACKAGE + ".**");
+
+  // TODO: I need to fix these.
+  public static final List<String> DEFAULT_EXCLUDES = List.of(
+      "com.vaadin.flow.component.grid**",
+      "com.vaadin.flow.component.treegrid**",
+      "com.vaadin.flow.component.combobox**",
+      "com.vaadin.flow.component.internal**",
+      "com.vaadin.flow.component.littemplate**",
+      "com.vaadin.flow.component.upload**"
+  );
+
+  private static final Comparator<Class<?>> CLASS_NAME_COMPARATOR = Comparator.comparing(Class::getName);
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Returns whether fluent classes can be generated for a class at all,
+   * regardless of rules.
+   *
+   * @param clazz The class.
+   *
+   * @return {@code true} if the class is a public, top-level class or
+   *     interface of {@link #SOURCE_PACKAGE}.
+   */
+  public static boolean isCandidate(final Class<?> clazz) {
+    final String packageName = clazz.getPackageName();
+
+    return (packageName.equals(SOURCE_PACKAGE) || packageName.startsWith(SOURCE_PACKAGE + "."))
+        && !clazz.isAnnotation()
+        && !clazz.isMemberClass()
+        && !clazz.isLocalClass()
+        && !clazz.isAnonymousClass()
+        && Modifier.isPublic(clazz.getModifiers());
+  }
+
+  /**
+   * Returns whether fluent classes can be generated for a class at all, from
+   * the header of its class file.
+   *
+   * @param header The header of the class.
+   *
+   * @return {@code true} if the class is a public, top-level class or
+   *     interface of {@link #SOURCE_PACKAGE}.
+   *
+   * @see #isCandidate(Class)
+   */
+  public static boolean isCandidate(final ClassHeader header) {
+    final String packageName = header.packageName();
+
+    return (packageName.equals(SOURCE_PACKAGE) || packageName.startsWith(SOURCE_PACKAGE + "."))
+        && !header.isAnnotation()
+        && !header.isMemberClass()
+        && !header.isLocalClass()
+        && !header.isAnonymousClass()
+        && header.isPublic();
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  /**
+   * Creates a selector with the default rules.
+   */
+  public ClassSelector() {
+    this(DEFAULT_INCLUDES, DEFAULT_EXCLUDES);
+  }
+
+  /**
+   * Creates a selector.
+   *
+   * @param includes The include rules.
+   * @param excludes The exclude rules.
+   */
+  public ClassSelector(final Collection<String> includes, final Collection<String> excludes) {
+    super();
+
+    this.includes = includes.stream().map(ClassPattern::compile).toList();
+    this.excludes = excludes.stream().map(ClassPattern::compile).toList();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final List<ClassPattern> includes;
+
+  private final List<ClassPattern> excludes;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Selects classes among candidates, and closes the selection over
+   * supertypes.
+   *
+   * @param candidates The candidates.
+   *
+   * @return The selected classes, sorted by name.
+   */
+  public SortedSet<Class<?>> select(final Collection<Class<?>> candidates) {
+    return close(candidates.stream()
+        .filter(this::isIncluded)
+        .toList());
+  }
+
+  /**
+   * Closes classes over their supertypes.
+   * <p>
+   * The classes themselves are kept only if they are eligible.
+   *
+   * @param classes The classes.
+   *
+   * @return The classes and their eligible supertypes, sorted by name.
+   */
+  public SortedSet<Class<?>> close(final Collection<Class<?>> classes) {
+    final SortedSet<Class<?>> closure = new TreeSet<>(CLASS_NAME_COMPARATOR);
+    final Deque<Class<?>> pending = new ArrayDeque<>(classes);
+
+    while(!pending.isEmpty()) {
+      final Class<?> clazz = pending.pop();
+
+      if(!isEligible(clazz) || !closure.add(clazz)) {
+        continue;
+      }
+
+      if(clazz.getSuperclass() != null) {
+        pending.push(clazz.getSuperclass());
+      }
+
+      for(final Class<?> interfaceClass : clazz.getInterfaces()) {
+        pending.push(interfaceClass);
+      }
+    }
+
+    return closure;
+  }
+
+  /**
+   * Returns whether a class is selected by the rules.
+   *
+   * @param clazz The class.
+   *
+   * @return {@code true} if the class is eligible and matches an include rule.
+   */
+  public boolean isIncluded(final Class<?> clazz) {
+    return isEligible(clazz) && matchesAny(includes, clazz.getName());
+  }
+
+  /**
+   * Returns whether a class is selected by the rules, from the header of its
+   * class file.
+   * <p>
+   * This lets a class finder skip loading classes that would not be selected.
+   *
+   * @param header The header of the class.
+   *
+   * @return {@code true} if the class is eligible and matches an include rule.
+   */
+  public boolean isIncluded(final ClassHeader header) {
+    return isCandidate(header) && !matchesAny(excludes, header.name()) && matchesAny(includes, header.name());
+  }
+
+  /**
+   * Returns whether a class may be generated, either because it is included
+   * or as a supertype of an included class.
+   *
+   * @param clazz The class.
+   *
+   * @return {@code true} if the class is a candidate and matches no exclude
+   *     rule.
+   */
+  public boolean isEligible(final Class<?> clazz) {
+    return isCandidate(clazz) && !matchesAny(excludes, clazz.getName());
+  }
+
+  private static boolean matchesAny(final List<ClassPattern> patterns, final String className) {
+    for(final ClassPattern pattern : patterns) {
+      if(pattern.matches(className)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  // Getters/setters
+  //--------------------------------------------------
+
+  public List<String> getIncludes() {
+    return includes.stream().map(ClassPattern::pattern).toList();
+  }
+
+  public List<String> getExcludes() {
+    return excludes.stream().map(ClassPattern::pattern).toList();
+  }
+
+}
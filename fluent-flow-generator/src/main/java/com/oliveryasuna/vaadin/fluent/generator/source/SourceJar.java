@@ -0,0 +1,135 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.source;
+
+import com.oliveryasuna.vaadin.fluent.generator.utils.HashUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A jar, opened once and shared by all readers.
+ * <p>
+ * The central directory is read once, when the jar is opened, and entries are
+ * looked up in its index. A jar may be read by several threads at once.
+ * Closing the jar releases the file at once, so that it is not kept locked
+ * until the next garbage collection.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+final class SourceJar implements Closeable {
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Opens and indexes a jar.
+   *
+   * @param path The path of the jar.
+   *
+   * @return The jar.
+   */
+  static SourceJar open(final Path path) throws IOException {
+    return new SourceJar(path, new ZipFile(path.toFile()));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private SourceJar(final Path path, final ZipFile zipFile) {
+    super();
+
+    this.path = path;
+    this.zipFile = zipFile;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Path path;
+
+  private final ZipFile zipFile;
+
+  private volatile String checksum;
+
+  // Methods
+  //--------------------------------------------------
+
+  boolean contains(final String name) {
+    return (zipFile.getEntry(name) != null);
+  }
+
+  /**
+   * Reads an entry.
+   *
+   * @param name The name of the entry.
+   *
+   * @return The content of the entry, or {@code null} if there is no such
+   *     entry.
+   *
+   * @throws IllegalStateException If the jar is closed.
+   */
+  byte[] read(final String name) throws IOException {
+    final ZipEntry entry = zipFile.getEntry(name);
+
+    if(entry == null) {
+      return null;
+    }
+
+    try(final InputStream inputStream = zipFile.getInputStream(entry)) {
+      return inputStream.readAllBytes();
+    }
+  }
+
+  /**
+   * Computes the checksum of this jar.
+   * <p>
+   * The checksum is computed on first use and then kept.
+   *
+   * @return The SHA-256 checksum, in hexadecimal.
+   */
+  String checksum() throws IOException {
+    String checksum = this.checksum;
+
+    if(checksum == null) {
+      checksum = HashUtils.hash(path);
+      this.checksum = checksum;
+    }
+
+    return checksum;
+  }
+
+  @Override
+  public void close() throws IOException {
+    zipFile.close();
+  }
+
+  // Getters/setters
+  //--------------------------------------------------
+
+  Path getPath() {
+    return path;
+  }
+
+}
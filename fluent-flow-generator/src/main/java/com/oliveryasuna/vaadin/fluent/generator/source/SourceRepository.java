@@ -0,0 +1,200 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.source;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serves the sources of classes from the {@code -sources.jar} next to the jar
+ * that each class was loaded from.
+ * <p>
+ * Each source jar is opened and indexed once, on first use, and then shared
+ * by all readers. Closing the repository closes every jar it opened.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public final class SourceRepository implements Closeable {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String SOURCES_SUFFIX = "-sources.jar";
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Resolves the source jar of a class.
+   *
+   * @param clazz The class.
+   *
+   * @return The path of the source jar.
+   */
+  public static Path resolveSourceJar(final Class<?> clazz) throws IOException {
+    final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+
+    if(codeSource == null || codeSource.getLocation() == null) {
+      throw new FileNotFoundException("Cannot locate the jar of " + clazz.getName() + ".");
+    }
+
+    final Path classJar;
+
+    try {
+      classJar = Path.of(codeSource.getLocation().toURI());
+    } catch(final URISyntaxException e) {
+      throw new FileNotFoundException("Cannot locate the jar of " + clazz.getName() + ".");
+    }
+
+    final String classJarName = classJar.getFileName().toString();
+
+    if(!classJarName.endsWith(".jar")) {
+      throw new FileNotFoundException("Not loaded from a jar: " + clazz.getName());
+    }
+
+    return classJar.resolveSibling(classJarName.substring(0, classJarName.length() - ".jar".length()) + SOURCES_SUFFIX);
+  }
+
+  /**
+   * Resolves the name of the source file of a class within its source jar.
+   *
+   * @param clazz The class.
+   *
+   * @return The entry name.
+   */
+  public static String resolveSourceEntryName(final Class<?> clazz) {
+    return clazz.getName().replace('.', '/') + ".java";
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  public SourceRepository() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final ConcurrentMap<Path, SourceJar> jars = new ConcurrentHashMap<>();
+
+  private volatile boolean closed;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Reads the source of a class.
+   *
+   * @param clazz The class.
+   *
+   * @return The source, as bytes.
+   *
+   * @throws FileNotFoundException If there is no source jar, or it does not
+   *                               contain the source of the class.
+   */
+  public byte[] readSource(final Class<?> clazz) throws IOException {
+    final String entryName = resolveSourceEntryName(clazz);
+    final SourceJar jar = getJar(resolveSourceJar(clazz));
+    final byte[] source = jar.read(entryName);
+
+    if(source == null) {
+      throw new FileNotFoundException("No entry \"" + entryName + "\" in " + jar.getPath() + ".");
+    }
+
+    return source;
+  }
+
+  /**
+   * Opens the source of a class.
+   *
+   * @param clazz The class.
+   *
+   * @return A stream of the source.
+   *
+   * @see #readSource(Class)
+   */
+  public InputStream openSource(final Class<?> clazz) throws IOException {
+    return new ByteArrayInputStream(readSource(clazz));
+  }
+
+  /**
+   * Computes the checksum of the source jar of a class.
+   *
+   * @param clazz The class.
+   *
+   * @return The SHA-256 checksum of the source jar, in hexadecimal.
+   */
+  public String getSourceJarChecksum(final Class<?> clazz) throws IOException {
+    return getJar(resolveSourceJar(clazz)).checksum();
+  }
+
+  private SourceJar getJar(final Path path) throws IOException {
+    if(closed) {
+      throw new IllegalStateException("Source repository is closed.");
+    }
+
+    final SourceJar jar;
+
+    try {
+      jar = jars.computeIfAbsent(path, key -> {
+        try {
+          return SourceJar.open(key);
+        } catch(final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch(final UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    return jar;
+  }
+
+  @Override
+  public void close() throws IOException {
+    closed = true;
+
+    IOException exception = null;
+
+    for(final SourceJar jar : jars.values()) {
+      try {
+        jar.close();
+      } catch(final IOException e) {
+        if(exception == null) {
+          exception = e;
+        } else {
+          exception.addSuppressed(e);
+        }
+      }
+    }
+
+    jars.clear();
+
+    if(exception != null) {
+      throw exception;
+    }
+  }
+
+}
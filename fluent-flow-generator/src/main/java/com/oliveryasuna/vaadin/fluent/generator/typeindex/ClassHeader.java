@@ -0,0 +1,272 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.typeindex;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a class file says about its class, read without loading it.
+ * <p>
+ * Only the constant pool, the header and the {@code InnerClasses} attribute
+ * are read; fields and methods are skipped.
+ *
+ * @param name               The binary name, such as {@code a.b.Outer$Inner}.
+ * @param accessFlags        The access flags of the class file.
+ * @param modifiers          The modifiers, as {@link Class#getModifiers()}
+ *                           returns them; for a nested class, those of its
+ *                           declaration.
+ * @param superName          The binary name of the superclass, as the class
+ *                           file names it: {@code java.lang.Object} for
+ *                           interfaces, and {@code null} only for
+ *                           {@code java.lang.Object} itself.
+ * @param interfaceNames     The binary names of the direct superinterfaces.
+ * @param nested             Whether the class is declared in another class or
+ *                           in a method.
+ * @param declaringClassName The binary name of the class that declares the
+ *                           class as a member, or {@code null} if the class
+ *                           is not a member class.
+ * @param simpleName         The simple name of a nested class, or
+ *                           {@code null} if it is anonymous or not nested.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+public record ClassHeader(
+    String name,
+    int accessFlags,
+    int modifiers,
+    String superName,
+    List<String> interfaceNames,
+    boolean nested,
+    String declaringClassName,
+    String simpleName
+) {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final int MAGIC = 0xCAFEBABE;
+
+  private static final int ACC_SUPER = 0x0020;
+
+  private static final int ACC_ANNOTATION = 0x2000;
+
+  private static final int ACC_ENUM = 0x4000;
+
+  private static final String ENUM_CLASS_NAME = "java.lang.Enum";
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Reads the header of a class file.
+   *
+   * @param inputStream The class file. Not closed.
+   *
+   * @return The header.
+   *
+   * @throws IOException If the stream is not a class file.
+   */
+  public static ClassHeader read(final InputStream inputStream) throws IOException {
+    return parse(inputStream.readAllBytes());
+  }
+
+  /**
+   * Parses the header of a class file.
+   *
+   * @param bytes The class file.
+   *
+   * @return The header.
+   *
+   * @throws IOException If the bytes are not a class file.
+   */
+  public static ClassHeader parse(final byte[] bytes) throws IOException {
+    final DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+
+    if(input.readInt() != MAGIC) {
+      throw new IOException("Not a class file.");
+    }
+
+    // Minor and major version.
+    input.skipNBytes(4);
+
+    // Constant pool. Only `Utf8` and `Class` entries are needed; the others are
+    // skipped.
+
+    final int constantPoolCount = input.readUnsignedShort();
+    final String[] utf8s = new String[constantPoolCount];
+    final int[] classNameIndices = new int[constantPoolCount];
+
+    for(int i = 1; i < constantPoolCount; i++) {
+      final int tag = input.readUnsignedByte();
+
+      switch(tag) {
+        case 1 -> utf8s[i] = input.readUTF();
+        case 7 -> classNameIndices[i] = input.readUnsignedShort();
+        case 8, 16, 19, 20 -> input.skipNBytes(2);
+        case 15 -> input.skipNBytes(3);
+        case 3, 4, 9, 10, 11, 12, 17, 18 -> input.skipNBytes(4);
+        case 5, 6 -> {
+          // Longs and doubles take two entries.
+          input.skipNBytes(8);
+          i++;
+        }
+        default -> throw new IOException("Unknown constant pool tag: " + tag);
+      }
+    }
+
+    final int accessFlags = input.readUnsignedShort();
+    final String name = className(utf8s, classNameIndices, input.readUnsignedShort());
+    final String superName = className(utf8s, classNameIndices, input.readUnsignedShort());
+
+    final int interfaceCount = input.readUnsignedShort();
+    final List<String> interfaceNames = new ArrayList<>(interfaceCount);
+
+    for(int i = 0; i < interfaceCount; i++) {
+      interfaceNames.add(className(utf8s, classNameIndices, input.readUnsignedShort()));
+    }
+
+    // Fields and methods.
+
+    for(int member = 0; member < 2; member++) {
+      final int memberCount = input.readUnsignedShort();
+
+      for(int i = 0; i < memberCount; i++) {
+        // Access flags, name and descriptor.
+        input.skipNBytes(6);
+
+        skipAttributes(input);
+      }
+    }
+
+    // The `InnerClasses` attribute. A nested class lists itself, with the
+    // modifiers of its declaration.
+
+    int modifiers = accessFlags & ~ACC_SUPER;
+    boolean nested = false;
+    String declaringClassName = null;
+    String simpleName = null;
+
+    final int attributeCount = input.readUnsignedShort();
+
+    for(int i = 0; i < attributeCount; i++) {
+      final String attributeName = utf8s[input.readUnsignedShort()];
+      final int attributeLength = input.readInt();
+
+      if(!"InnerClasses".equals(attributeName)) {
+        input.skipNBytes(attributeLength);
+
+        continue;
+      }
+
+      final int innerClassCount = input.readUnsignedShort();
+
+      for(int j = 0; j < innerClassCount; j++) {
+        final String innerClassName = className(utf8s, classNameIndices, input.readUnsignedShort());
+        final String outerClassName = className(utf8s, classNameIndices, input.readUnsignedShort());
+        final int innerNameIndex = input.readUnsignedShort();
+        final int innerAccessFlags = input.readUnsignedShort();
+
+        if(name.equals(innerClassName)) {
+          modifiers = innerAccessFlags & ~ACC_SUPER;
+          nested = true;
+          declaringClassName = outerClassName;
+          simpleName = (innerNameIndex != 0 ? utf8s[innerNameIndex] : null);
+        }
+      }
+    }
+
+    return new ClassHeader(name, accessFlags, modifiers, superName, List.copyOf(interfaceNames), nested, declaringClassName, simpleName);
+  }
+
+  private static String className(final String[] utf8s, final int[] classNameIndices, final int classIndex) {
+    if(classIndex == 0) {
+      return null;
+    }
+
+    return utf8s[classNameIndices[classIndex]].replace('/', '.');
+  }
+
+  private static void skipAttributes(final DataInputStream input) throws IOException {
+    final int attributeCount = input.readUnsignedShort();
+
+    for(int i = 0; i < attributeCount; i++) {
+      // Name.
+      input.skipNBytes(2);
+
+      input.skipNBytes(Integer.toUnsignedLong(input.readInt()));
+    }
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Returns the name of the package of the class.
+   *
+   * @return The package name, or an empty string for the unnamed package.
+   */
+  public String packageName() {
+    final int lastDot = name.lastIndexOf('.');
+
+    return (lastDot != -1 ? name.substring(0, lastDot) : "");
+  }
+
+  public boolean isPublic() {
+    return Modifier.isPublic(modifiers);
+  }
+
+  public boolean isInterface() {
+    return Modifier.isInterface(modifiers);
+  }
+
+  public boolean isAnnotation() {
+    return ((accessFlags & ACC_ANNOTATION) != 0);
+  }
+
+  /**
+   * Returns whether the class is an enum, as {@link Class#isEnum()} does.
+   * <p>
+   * The classes of enum constants with a body are not enums themselves.
+   *
+   * @return {@code true} if the class is an enum.
+   */
+  public boolean isEnum() {
+    return ((modifiers & ACC_ENUM) != 0) && ENUM_CLASS_NAME.equals(superName);
+  }
+
+  public boolean isMemberClass() {
+    return (declaringClassName != null);
+  }
+
+  public boolean isLocalClass() {
+    return nested && declaringClassName == null && simpleName != null;
+  }
+
+  public boolean isAnonymousClass() {
+    return nested && simpleName == null;
+  }
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.typeindex;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * An index of the classes on a classpath, built from class files, so that
+ * generators can look types up without loading them.
+ * <p>
+ * The names of all classes are indexed when the index is created, from the
+ * directories of the jars and the class directories. The header of a class is
+ * read from its class file the first time it is looked up, and kept. Lookups
+ * never load or initialize a class, and never throw for a missing one.
+ * <p>
+ * Classes of the platform are not indexed. Generators only look up types of
+ * the source classes, which are never platform classes.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+public final class TypeIndex {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String CLASS_FILE_EXTENSION = ".class";
+
+  /**
+   * Stands for a class whose class file could not be read, since concurrent
+   * maps take no {@code null} values.
+   */
+  private static final Optional<ClassHeader> UNREADABLE = Optional.empty();
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Creates an index of the classes that a class loader sees.
+   *
+   * @param classLoader The class loader.
+   *
+   * @return The index.
+   *
+   * @see #classPathOf(ClassLoader)
+   */
+  public static TypeIndex of(final ClassLoader classLoader) throws IOException {
+    return new TypeIndex(classLoader, classPathOf(classLoader));
+  }
+
+  /**
+   * Gets the classpath that a class loader sees.
+   * <p>
+   * The classpath is that of the class loader and its parents: the URLs of
+   * {@link URLClassLoader}s, and {@code java.class.path} for the system class
+   * loader. If {@code java.class.path} is a single jar, the {@code Class-Path}
+   * of its manifest is followed.
+   *
+   * @param classLoader The class loader.
+   *
+   * @return The jars and class directories, in lookup order.
+   */
+  public static List<File> classPathOf(final ClassLoader classLoader) {
+    final Set<File> classPath = new LinkedHashSet<>();
+
+    for(ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+      if(loader instanceof final URLClassLoader urlClassLoader) {
+        for(final URL url : urlClassLoader.getURLs()) {
+          if(!"file".equals(url.getProtocol())) {
+            continue;
+          }
+
+          try {
+            classPath.add(new File(url.toURI()));
+          } catch(final URISyntaxException | IllegalArgumentException e) {
+            LOGGER.debug("Not indexing classpath entry: {}", url, e);
+          }
+        }
+      }
+
+      if(loader == ClassLoader.getSystemClassLoader()) {
+        final List<File> systemClassPath = Arrays.stream(System.getProperty("java.class.path", "").split(File.pathSeparator))
+            .filter(entry -> !entry.isEmpty())
+            .map(File::new)
+            .toList();
+
+        // Launchers that shorten long classpaths, such as test runners, put a
+        // single jar on it that lists the classpath in its manifest.
+        if(systemClassPath.size() == 1 && systemClassPath.get(0).isFile()) {
+          addManifestClassPath(systemClassPath.get(0), classPath);
+        } else {
+          classPath.addAll(systemClassPath);
+        }
+      }
+    }
+
+    return List.copyOf(classPath);
+  }
+
+  private static void addManifestClassPath(final File jar, final Set<File> classPath) {
+    if(!classPath.add(jar) || !jar.isFile()) {
+      return;
+    }
+
+    final String manifestClassPath;
+
+    try(final JarFile jarFile = new JarFile(jar)) {
+      final Manifest manifest = jarFile.getManifest();
+
+      manifestClassPath = (manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null);
+    } catch(final IOException e) {
+      LOGGER.debug("Not reading the manifest of classpath entry: {}", jar, e);
+
+      return;
+    }
+
+    if(manifestClassPath == null) {
+      return;
+    }
+
+    for(final String entry : manifestClassPath.trim().split("\\s+")) {
+      if(entry.isEmpty()) {
+        continue;
+      }
+
+      try {
+        final URI uri = jar.toURI().resolve(entry);
+
+        if("file".equals(uri.getScheme())) {
+          addManifestClassPath(new File(uri), classPath);
+        }
+      } catch(final IllegalArgumentException e) {
+        LOGGER.debug("Not indexing classpath entry: {}", entry, e);
+      }
+    }
+  }
+
+  private static void indexJar(final File jar, final Set<String> classNames) throws IOException {
+    try(final ZipFile zipFile = new ZipFile(jar)) {
+      final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+
+      while(entries.hasMoreElements()) {
+        indexEntry(entries.nextElement().getName(), classNames);
+      }
+    }
+  }
+
+  private static void indexDirectory(final Path directory, final Set<String> classNames) throws IOException {
+    try(final Stream<Path> files = Files.walk(directory)) {
+      files
+          .filter(Files::isRegularFile)
+          .forEach(file -> indexEntry(directory.relativize(file).toString().replace(File.separatorChar, '/'), classNames));
+    }
+  }
+
+  private static void indexEntry(final String entryName, final Set<String> classNames) {
+    // Versioned entries of multi-release jars have an unversioned twin.
+
+    if(!entryName.endsWith(CLASS_FILE_EXTENSION) || entryName.startsWith("META-INF/") || entryName.endsWith("module-info.class")) {
+      return;
+    }
+
+    classNames.add(entryName.substring(0, entryName.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  /**
+   * Creates an index of the classes on a classpath.
+   *
+   * @param classLoader The class loader to read class files with. Should see
+   *                    the same classes as the classpath.
+   * @param classPath   The jars and class directories.
+   */
+  public TypeIndex(final ClassLoader classLoader, final Collection<File> classPath) throws IOException {
+    super();
+
+    this.classLoader = classLoader;
+
+    final Set<String> classNames = new HashSet<>();
+
+    for(final File entry : classPath) {
+      if(entry.isDirectory()) {
+        indexDirectory(entry.toPath(), classNames);
+      } else if(entry.isFile()) {
+        indexJar(entry, classNames);
+      }
+    }
+
+    this.classNames = Set.copyOf(classNames);
+
+    LOGGER.debug("Indexed {} classes of {} classpath entries.", this.classNames.size(), classPath.size());
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final ClassLoader classLoader;
+
+  /**
+   * The binary names of the indexed classes.
+   */
+  private final Set<String> classNames;
+
+  private final ConcurrentMap<String, Optional<ClassHeader>> headers = new ConcurrentHashMap<>();
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Returns whether a class is indexed.
+   *
+   * @param className The binary name of the class.
+   *
+   * @return {@code true} if the class is indexed.
+   */
+  public boolean contains(final String className) {
+    return classNames.contains(className);
+  }
+
+  /**
+   * Finds the header of a class.
+   *
+   * @param className The binary name of the class.
+   *
+   * @return The header, or {@code null} if the class is not indexed or its
+   *     class file cannot be read.
+   */
+  public ClassHeader find(final String className) {
+    if(!contains(className)) {
+      return null;
+    }
+
+    return headers.computeIfAbsent(className, this::readHeader).orElse(null);
+  }
+
+  /**
+   * Finds the header of a class by a name in which nested classes may be
+   * separated by dots, such as {@code a.b.Outer.Inner}.
+   * <p>
+   * Trailing dots are replaced by {@code $} one by one, until a class is
+   * found.
+   *
+   * @param className The name of the class.
+   *
+   * @return The header, or {@code null} if no variant of the name is indexed.
+   */
+  public ClassHeader resolve(String className) {
+    while(className.contains(".")) {
+      final ClassHeader header = find(className);
+
+      if(header != null) {
+        return header;
+      }
+
+      final int lastDot = className.lastIndexOf('.');
+
+      className = className.substring(0, lastDot) + "$" + className.substring(lastDot + 1);
+    }
+
+    return null;
+  }
+
+  public int size() {
+    return classNames.size();
+  }
+
+  private Optional<ClassHeader> readHeader(final String className) {
+    try(final InputStream inputStream = classLoader.getResourceAsStream(className.replace('.', '/') + CLASS_FILE_EXTENSION)) {
+      if(inputStream == null) {
+        return UNREADABLE;
+      }
+
+      return Optional.of(ClassHeader.read(inputStream));
+    } catch(final IOException e) {
+      LOGGER.warn("Failed to read the class file of \"{}\".", className, e);
+
+      return UNREADABLE;
+    }
+  }
+
+}
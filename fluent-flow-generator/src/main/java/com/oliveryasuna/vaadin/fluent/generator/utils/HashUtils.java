@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.utils;
+
+import com.oliveryasuna.commons.language.exception.UnsupportedInstantiationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public final class HashUtils {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String ALGORITHM = "SHA-256";
+
+  // Static methods
+  //--------------------------------------------------
+
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch(final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  public static String toHex(final MessageDigest digest) {
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  public static String hash(final byte[] bytes) {
+    final MessageDigest digest = newDigest();
+
+    digest.update(bytes);
+
+    return toHex(digest);
+  }
+
+  public static String hash(final String string) {
+    return hash(string.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static String hash(final Path file) throws IOException {
+    final MessageDigest digest = newDigest();
+
+    update(digest, file);
+
+    return toHex(digest);
+  }
+
+  /**
+   * Hashes the code that a class was loaded from.
+   * <p>
+   * If the class was loaded from a jar, the jar is hashed. If it was loaded
+   * from a directory, every file in that directory is hashed together with its
+   * relative path.
+   *
+   * @param clazz The class.
+   *
+   * @return The hash.
+   */
+  public static String hashCodeSource(final Class<?> clazz) throws IOException {
+    final Path location;
+
+    try {
+      location = Path.of(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+    } catch(final URISyntaxException e) {
+      throw new IOException(e);
+    }
+
+    final MessageDigest digest = newDigest();
+
+    if(Files.isDirectory(location)) {
+      final List<Path> files;
+
+      try(final Stream<Path> stream = Files.walk(location)) {
+        files = stream.filter(Files::isRegularFile)
+            .sorted()
+            .collect(Collectors.toList());
+      }
+
+      for(final Path file : files) {
+        digest.update(location.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+        update(digest, file);
+      }
+    } else {
+      update(digest, location);
+    }
+
+    return toHex(digest);
+  }
+
+  private static void update(final MessageDigest digest, final Path file) throws IOException {
+    final byte[] buffer = new byte[8192];
+
+    try(final InputStream input = Files.newInputStream(file)) {
+      int read;
+
+      while((read = input.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private HashUtils() {
+    super();
+
+    throw new UnsupportedInstantiationException();
+  }
+
+}
@@ -85,6 +85,24 @@ public final class NodeUtils {
     return (NODE)node.clone();
   }
 
+  /**
+   * Prepares a node to be added to a new tree.
+   * <p>
+   * A node without a parent belongs to no tree yet, and is taken as is. A node
+   * with a parent is copied, so that its tree is left intact.
+   *
+   * @param node The node.
+   *
+   * @return The node itself, if it has no parent; otherwise a copy of it.
+   */
+  public static <NODE extends Node> NODE adopt(final NODE node) {
+    if(node == null || node.getParentNode().isEmpty()) {
+      return node;
+    }
+
+    return copy(node);
+  }
+
   public static <TYPE extends Type> NodeList<TYPE> typeArgumentsFromTypeParameters(final NodeList<TypeParameter> typeParameters) {
     return (NodeList<TYPE>)copyAll(typeParameters).stream()
         .map(NodeUtils::typeArgumentFromTypeParameter)
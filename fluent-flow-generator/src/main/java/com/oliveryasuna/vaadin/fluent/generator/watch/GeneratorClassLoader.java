@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.watch;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+
+/**
+ * Loads the generator from its classes directory, ahead of the parent class
+ * loader.
+ * <p>
+ * Everything else, including Vaadin, JavaParser and this package, comes from
+ * the parent, so those classes stay loaded and warmed up across reloads.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+final class GeneratorClassLoader extends URLClassLoader {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String GENERATOR_PACKAGE_PREFIX = "com.oliveryasuna.vaadin.fluent.generator.";
+
+  private static final String WATCH_PACKAGE_PREFIX = GeneratorClassLoader.class.getPackageName() + ".";
+
+  // Static initializers
+  //--------------------------------------------------
+
+  static {
+    registerAsParallelCapable();
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  GeneratorClassLoader(final Path classesDirectory, final ClassLoader parent) throws MalformedURLException {
+    super(new URL[] {classesDirectory.toUri().toURL()}, parent);
+  }
+
+  // Methods
+  //--------------------------------------------------
+
+  @Override
+  protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+    if(!name.startsWith(GENERATOR_PACKAGE_PREFIX) || name.startsWith(WATCH_PACKAGE_PREFIX)) {
+      return super.loadClass(name, resolve);
+    }
+
+    synchronized(getClassLoadingLock(name)) {
+      Class<?> clazz = findLoadedClass(name);
+
+      if(clazz == null) {
+        try {
+          clazz = findClass(name);
+        } catch(final ClassNotFoundException e) {
+          clazz = super.loadClass(name, false);
+        }
+      }
+
+      if(resolve) {
+        resolveClass(clazz);
+      }
+
+      return clazz;
+    }
+  }
+
+  @Override
+  public URL getResource(final String name) {
+    // Resources such as `config.properties` belong to the generator, too.
+
+    final URL resource = findResource(name);
+
+    return (resource != null ? resource : super.getResource(name));
+  }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.watch;
+
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.Options;
+import com.oliveryasuna.vaadin.fluent.generator.source.SourceRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.file.*;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the generator resident and regenerates whenever its inputs change.
+ * <p>
+ * Watches the directories of the source jars, the generator's classes
+ * directory (when it runs from one rather than from a jar) and any
+ * additional {@link Options#getWatchPaths() watch paths}. Source classes are
+ * found once, so a change only pays for generation, and the manifest limits
+ * that to the affected classes.
+ * <p>
+ * When the generator's own classes change, they are loaded again in a fresh
+ * {@link GeneratorClassLoader}; Vaadin and JavaParser stay loaded. Changes to
+ * the compiled Vaadin jars themselves require a restart, since their classes
+ * cannot be unloaded.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Slf4j
+public final class WatchMode {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * How long the file system must be quiet before a change is acted upon.
+   */
+  private static final long QUIET_PERIOD_MILLIS = 200;
+
+  // Constructors
+  //--------------------------------------------------
+
+  public WatchMode(final Options options, final SortedSet<Class<?>> classes) {
+    super();
+
+    this.options = options;
+    this.classes = classes;
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  private final Options options;
+
+  private final SortedSet<Class<?>> classes;
+
+  /**
+   * The classes directory of the generator, or {@code null} if it runs from a
+   * jar.
+   */
+  private Path classesDirectory;
+
+  private GeneratorClassLoader classLoader;
+
+  // Methods
+  //--------------------------------------------------
+
+  /**
+   * Generates, then regenerates on every change until interrupted.
+   */
+  public void run() throws IOException, InterruptedException {
+    classesDirectory = resolveClassesDirectory();
+
+    try(final WatchService watchService = FileSystems.getDefault().newWatchService()) {
+      final Set<Path> directories = new TreeSet<>();
+
+      for(final Class<?> clazz : classes) {
+        try {
+          directories.add(SourceRepository.resolveSourceJar(clazz).getParent());
+        } catch(final IOException ignored) {
+          // Not loaded from a jar; nothing to watch.
+        }
+      }
+
+      for(final Path watchPath : options.getWatchPaths()) {
+        directories.add(Files.isDirectory(watchPath) ? watchPath : watchPath.toAbsolutePath().getParent());
+      }
+
+      for(final Path directory : directories) {
+        register(watchService, directory);
+      }
+
+      if(classesDirectory != null) {
+        registerTree(watchService, classesDirectory);
+      }
+
+      LOGGER.info("Watching {} directories for changes.", directories.size() + (classesDirectory != null ? 1 : 0));
+
+      generate();
+
+      while(!Thread.currentThread().isInterrupted()) {
+        WatchKey key = watchService.take();
+        boolean changed = false;
+
+        // Collect events until the file system is quiet, so that a build
+        // writing many files triggers one run.
+
+        while(key != null) {
+          changed |= handleEvents(watchService, key);
+
+          key.reset();
+          key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        if(changed) {
+          generate();
+        }
+      }
+    } finally {
+      closeClassLoader();
+    }
+  }
+
+  private boolean handleEvents(final WatchService watchService, final WatchKey key) throws IOException {
+    final Path directory = (Path)key.watchable();
+
+    boolean changed = false;
+
+    for(final WatchEvent<?> event : key.pollEvents()) {
+      if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+        changed = true;
+        closeClassLoader();
+
+        continue;
+      }
+
+      final Path path = directory.resolve((Path)event.context());
+      final boolean code = (classesDirectory != null && path.startsWith(classesDirectory));
+
+      if(code) {
+        if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+          registerTree(watchService, path);
+        }
+
+        // Reload the generator on the next run.
+        closeClassLoader();
+      } else if(!isRelevant(path)) {
+        continue;
+      }
+
+      LOGGER.info("Changed: {}", path);
+
+      changed = true;
+    }
+
+    return changed;
+  }
+
+  private boolean isRelevant(final Path path) {
+    final String fileName = path.getFileName().toString();
+
+    return fileName.endsWith(".jar") || options.getWatchPaths().stream().anyMatch(path::startsWith);
+  }
+
+  private void generate() {
+    final long start = System.nanoTime();
+
+    try {
+      final int failures = invokeGenerate();
+
+      LOGGER.info("Generated in {} ms with {} failures.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failures);
+    } catch(final Exception e) {
+      LOGGER.error("Generation failed.", e);
+    }
+  }
+
+  private int invokeGenerate() throws Exception {
+    if(classesDirectory == null) {
+      return App.generate(classes);
+    }
+
+    if(classLoader == null) {
+      classLoader = new GeneratorClassLoader(classesDirectory, App.class.getClassLoader());
+    }
+
+    final Method generate = classLoader.loadClass(App.class.getName()).getMethod("generate", SortedSet.class);
+
+    try {
+      return (int)generate.invoke(null, classes);
+    } catch(final InvocationTargetException e) {
+      if(e.getCause() instanceof final Exception cause) {
+        throw cause;
+      }
+
+      throw e;
+    }
+  }
+
+  private void closeClassLoader() throws IOException {
+    if(classLoader != null) {
+      classLoader.close();
+      classLoader = null;
+    }
+  }
+
+  // Helpers
+  //
+
+  private static Path resolveClassesDirectory() {
+    final CodeSource codeSource = App.class.getProtectionDomain().getCodeSource();
+
+    if(codeSource == null || codeSource.getLocation() == null) {
+      return null;
+    }
+
+    final Path location;
+
+    try {
+      location = Path.of(codeSource.getLocation().toURI());
+    } catch(final URISyntaxException e) {
+      return null;
+    }
+
+    return (Files.isDirectory(location) ? location : null);
+  }
+
+  private static void register(final WatchService watchService, final Path directory) throws IOException {
+    if(!Files.isDirectory(directory)) {
+      LOGGER.warn("Not watching missing directory \"{}\".", directory);
+
+      return;
+    }
+
+    directory.register(
+        watchService,
+        StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY,
+        StandardWatchEventKinds.ENTRY_DELETE
+    );
+  }
+
+  private static void registerTree(final WatchService watchService, final Path root) throws IOException {
+    try(final Stream<Path> stream = Files.walk(root)) {
+      for(final Path directory : (Iterable<Path>)stream.filter(Files::isDirectory)::iterator) {
+        register(watchService, directory);
+      }
+    }
+  }
+
+}
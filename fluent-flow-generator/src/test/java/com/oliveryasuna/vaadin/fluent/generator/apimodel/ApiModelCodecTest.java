@@ -0,0 +1,136 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.apimodel;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+final class ApiModelCodecTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * Real sources: those of the generator itself.
+   */
+  private static final Path SOURCE_ROOT = Path.of("src", "main", "java");
+
+  /**
+   * As the pipeline parses, at the language level of the generator sources.
+   */
+  private static final ParserConfiguration PARSER_CONFIGURATION = new ParserConfiguration()
+      .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+      .setStoreTokens(false)
+      .setAttributeComments(false);
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static List<Path> sourceFiles() throws IOException {
+    try(final Stream<Path> files = Files.walk(SOURCE_ROOT)) {
+      return files.filter(file -> file.toString().endsWith(".java"))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static CompilationUnit parse(final Path file) throws IOException {
+    final ParseResult<CompilationUnit> result = new JavaParser(PARSER_CONFIGURATION).parse(Files.readString(file));
+
+    Assertions.assertTrue(result.isSuccessful(), "Failed to parse " + file + ": " + result.getProblems());
+
+    return result.getResult().orElseThrow();
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private ApiModelCodecTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void roundTripsRealSources() throws IOException {
+    int encoded = 0;
+
+    for(final Path file : sourceFiles()) {
+      final CompilationUnit sourceFile = parse(file);
+
+      if(!ApiModel.prune(sourceFile)) {
+        continue;
+      }
+
+      final CompilationUnit decoded = ApiModelCodec.decode(ApiModelCodec.encode(sourceFile));
+
+      Assertions.assertEquals(sourceFile, decoded, file.toString());
+      Assertions.assertEquals(sourceFile.toString(), decoded.toString(), file.toString());
+
+      encoded++;
+    }
+
+    Assertions.assertTrue(encoded > 50, "Only " + encoded + " sources were encoded.");
+  }
+
+  @Test
+  void rejectsCorruptModels() throws IOException {
+    final CompilationUnit sourceFile = parse(SOURCE_ROOT.resolve("com/oliveryasuna/vaadin/fluent/generator/generator/Generator.java"));
+
+    ApiModel.prune(sourceFile);
+
+    final byte[] bytes = ApiModelCodec.encode(sourceFile);
+
+    Assertions.assertThrows(IOException.class, () -> ApiModelCodec.decode(new byte[0]));
+    Assertions.assertThrows(IOException.class, () -> ApiModelCodec.decode(Arrays.copyOf(bytes, bytes.length / 2)));
+
+    // Another format version.
+    bytes[7]++;
+
+    Assertions.assertThrows(IOException.class, () -> ApiModelCodec.decode(bytes));
+  }
+
+  @Test
+  void cacheIsKeyedByCodeHash(@TempDir final File directory) throws IOException {
+    final CompilationUnit sourceFile = parse(SOURCE_ROOT.resolve("com/oliveryasuna/vaadin/fluent/generator/generator/OutputBuilder.java"));
+
+    ApiModel.prune(sourceFile);
+
+    new ApiModelCache(directory, "code-1").store("jar", "a.B", ApiModelCodec.encode(sourceFile));
+
+    Assertions.assertEquals(sourceFile, new ApiModelCache(directory, "code-1").load("jar", "a.B"));
+    Assertions.assertNull(new ApiModelCache(directory, "code-2").load("jar", "a.B"));
+    Assertions.assertNull(new ApiModelCache(directory, "code-1").load("other-jar", "a.B"));
+  }
+
+}
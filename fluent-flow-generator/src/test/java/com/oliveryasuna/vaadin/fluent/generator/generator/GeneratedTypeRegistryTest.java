@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+final class GeneratedTypeRegistryTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  /**
+   * Two classes that share a simple name, as some Vaadin classes do.
+   */
+  private static final GeneratedTypeRegistry REGISTRY = GeneratedTypeRegistry.of(List.of(
+      java.util.Date.class,
+      java.sql.Date.class
+  ));
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static String resolve(final String type, final String source) {
+    final CompilationUnit sourceFile = StaticJavaParser.parse(source + "\nclass Source {}\n");
+
+    return REGISTRY.resolve(StaticJavaParser.parseClassOrInterfaceType(type), sourceFile);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private GeneratedTypeRegistryTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void findsClassesBySimpleName() {
+    Assertions.assertEquals(List.of("java.sql.Date", "java.util.Date"), REGISTRY.findClassNames("Date"));
+    Assertions.assertTrue(REGISTRY.contains("Date"));
+    Assertions.assertTrue(REGISTRY.containsClassName("java.sql.Date"));
+    Assertions.assertFalse(REGISTRY.contains("Time"));
+  }
+
+  @Test
+  void singleTypeImportsComeFirst() {
+    Assertions.assertEquals("java.util.Date", resolve("Date", "package java.sql; import java.util.Date; import java.sql.*;"));
+  }
+
+  @Test
+  void samePackageComesBeforeOnDemandImports() {
+    Assertions.assertEquals("java.sql.Date", resolve("Date", "package java.sql; import java.util.*;"));
+  }
+
+  @Test
+  void onDemandImportsComeLast() {
+    Assertions.assertEquals("java.util.Date", resolve("Date", "package a; import java.util.*;"));
+    Assertions.assertEquals("java.sql.Date", resolve("Date", "package a; import java.lang.*; import java.sql.*;"));
+  }
+
+  @Test
+  void qualifiedTypesAreLookedUpAsIs() {
+    Assertions.assertEquals("java.sql.Date", resolve("java.sql.Date", "package java.util; import java.util.Date;"));
+    Assertions.assertNull(resolve("a.Date", "package java.util;"));
+  }
+
+  @Test
+  void importsOfOtherClassesHideTheRegisteredOnes() {
+    // As for the compiler, a single-type import shadows the package and the
+    // on-demand imports.
+    Assertions.assertNull(resolve("Date", "package java.sql; import a.Date; import java.util.*;"));
+  }
+
+  @Test
+  void staticImportsAreIgnored() {
+    Assertions.assertEquals("java.util.Date", resolve("Date", "package a; import static b.Date; import java.util.*;"));
+  }
+
+  @Test
+  void unresolvableTypesAreNotGuessed() {
+    // The first class of the name is not a fallback.
+    Assertions.assertNull(resolve("Date", "package a;"));
+    Assertions.assertNull(resolve("Time", "package java.sql;"));
+  }
+
+}
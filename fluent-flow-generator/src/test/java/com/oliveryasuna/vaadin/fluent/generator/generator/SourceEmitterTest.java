@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.apimodel.ApiModel;
+import com.oliveryasuna.vaadin.fluent.generator.apimodel.ApiModelParser;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+import com.vaadin.flow.component.emittertest.Gadget;
+import com.vaadin.flow.component.emittertest.Widget;
+import com.vaadin.flow.component.selectiontest.Base;
+import com.vaadin.flow.component.selectiontest.Leaf;
+import com.vaadin.flow.component.selectiontest.Marker;
+import com.vaadin.flow.component.selectiontest.Middle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+final class SourceEmitterTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final Path SOURCE_ROOT = Path.of("src", "test", "java");
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static GeneratorEnvironment environment() throws IOException {
+    return new GeneratorEnvironment(
+        Set.of(Base.class, Middle.class, Leaf.class, Marker.class, Gadget.class, Widget.class),
+        LocalDate.of(2023, 1, 1),
+        TypeIndex.of(SourceEmitterTest.class.getClassLoader()),
+        "24.0.0"
+    );
+  }
+
+  private static CompilationUnit parse(final Class<?> sourceClass) throws IOException {
+    final CompilationUnit sourceFile = ApiModelParser.parseSource(Files.readString(SOURCE_ROOT.resolve(sourceClass.getName().replace('.', '/') + ".java")));
+
+    ApiModel.prune(sourceFile);
+
+    return sourceFile;
+  }
+
+  /**
+   * Generates a source class with each of its generators, and checks that
+   * both ways of writing each result agree.
+   *
+   * @return The generated sources.
+   */
+  private static List<String> assertEmitsAsPrinted(final Class<?> sourceClass) throws IOException {
+    final CompilationUnit sourceFile = parse(sourceClass);
+    final List<Generator> generators = App.createGeneratorsSelector(environment()).apply(sourceClass);
+
+    Assertions.assertEquals(3, generators.size());
+
+    return generators.stream()
+        .map(generator -> {
+          final GeneratorResult result = generator.generate(sourceFile, sourceClass);
+
+          Assertions.assertTrue(result.hasOutput(), () -> generator.getName() + ": " + result.getErrors());
+
+          final StringWriter writer = new StringWriter();
+
+          try {
+            result.emit(writer);
+          } catch(final IOException e) {
+            throw new AssertionError(e);
+          }
+
+          final String printed = result.getCompilationUnit().toString();
+
+          Assertions.assertEquals(printed, writer.toString(), generator.getName());
+
+          return printed;
+        })
+        .toList();
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private SourceEmitterTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void emitsInterfacesAsPrinted() throws IOException {
+    final List<String> sources = assertEmitsAsPrinted(Gadget.class);
+
+    Assertions.assertTrue(sources.stream().anyMatch(source -> source.contains("interface ")));
+    Assertions.assertTrue(sources.stream().anyMatch(source -> source.contains("class ")));
+  }
+
+  @Test
+  void emitsClassesWithTypeParametersAndSupertypesAsPrinted() throws IOException {
+    final List<String> sources = assertEmitsAsPrinted(Widget.class);
+
+    Assertions.assertTrue(sources.stream().anyMatch(source -> source.contains(" extends ") && source.contains(", ")));
+    Assertions.assertTrue(sources.stream().anyMatch(source -> source.contains(" implements ")));
+  }
+
+  @Test
+  void emitsClassesWithoutMembersAsPrinted() throws IOException {
+    final List<String> sources = assertEmitsAsPrinted(Marker.class);
+
+    // The fluent interface of a marker interface is an empty body.
+
+    Assertions.assertTrue(sources.stream().anyMatch(source -> source.matches("(?s).*\\{\\R}\\R")));
+
+    assertEmitsAsPrinted(Leaf.class);
+  }
+
+}
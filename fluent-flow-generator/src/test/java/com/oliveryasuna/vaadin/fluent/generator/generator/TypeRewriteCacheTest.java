@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.type.Type;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class TypeRewriteCacheTest {
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static OutputBuilder outputBuilder(final Class<?> sourceClass) {
+    return new OutputBuilder(sourceClass, new CompilationUnit());
+  }
+
+  private static List<String> imports(final OutputBuilder outputBuilder) {
+    return outputBuilder.getImports().stream()
+        .map(ImportDeclaration::getNameAsString)
+        .toList();
+  }
+
+  /**
+   * Rewrites {@code Alignment} to {@code FlexComponent.Alignment}, importing
+   * {@code FlexComponent}, and counts its calls.
+   */
+  private static Type rewrite(final TypeRewriteCache cache, final String kind, final OutputBuilder outputBuilder, final AtomicInteger calls) {
+    return cache.rewrite(kind, StaticJavaParser.parseClassOrInterfaceType("Alignment"), outputBuilder, () -> {
+      calls.incrementAndGet();
+
+      outputBuilder.addImport(new ImportDeclaration("com.vaadin.flow.component.orderedlayout.FlexComponent", false, false));
+
+      return StaticJavaParser.parseClassOrInterfaceType("FlexComponent.Alignment");
+    });
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private TypeRewriteCacheTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void hitReturnsAnEqualButDistinctType() {
+    final TypeRewriteCache cache = new TypeRewriteCache();
+    final AtomicInteger calls = new AtomicInteger();
+
+    final Type first = rewrite(cache, "resolve", outputBuilder(String.class), calls);
+    final Type second = rewrite(cache, "resolve", outputBuilder(String.class), calls);
+
+    Assertions.assertEquals(1, calls.get());
+    Assertions.assertEquals("FlexComponent.Alignment", second.asString());
+    Assertions.assertEquals(first, second);
+    Assertions.assertNotSame(first, second);
+    Assertions.assertTrue(second.getParentNode().isEmpty());
+  }
+
+  @Test
+  void hitReplaysTheImportsOfTheRewrite() {
+    final TypeRewriteCache cache = new TypeRewriteCache();
+    final AtomicInteger calls = new AtomicInteger();
+
+    // Imports added before the rewrite are not part of it.
+
+    final OutputBuilder first = outputBuilder(String.class)
+        .addImport(new ImportDeclaration("java.util.List", false, false));
+
+    rewrite(cache, "resolve", first, calls);
+
+    final OutputBuilder second = outputBuilder(String.class);
+
+    rewrite(cache, "resolve", second, calls);
+
+    Assertions.assertEquals(1, calls.get());
+    Assertions.assertEquals(List.of("java.util.List", "com.vaadin.flow.component.orderedlayout.FlexComponent"), imports(first));
+    Assertions.assertEquals(List.of("com.vaadin.flow.component.orderedlayout.FlexComponent"), imports(second));
+    Assertions.assertNotSame(first.getImports().get(1), second.getImports().get(0));
+  }
+
+  @Test
+  void kindsAndSourceClassesAreRememberedSeparately() {
+    final TypeRewriteCache cache = new TypeRewriteCache();
+    final AtomicInteger calls = new AtomicInteger();
+
+    rewrite(cache, "resolve", outputBuilder(String.class), calls);
+    rewrite(cache, "return", outputBuilder(String.class), calls);
+    rewrite(cache, "resolve", outputBuilder(Integer.class), calls);
+
+    Assertions.assertEquals(3, calls.get());
+  }
+
+  @Test
+  void evictForgetsTheSourceClass() {
+    final TypeRewriteCache cache = new TypeRewriteCache();
+    final AtomicInteger calls = new AtomicInteger();
+
+    rewrite(cache, "resolve", outputBuilder(String.class), calls);
+    rewrite(cache, "resolve", outputBuilder(Integer.class), calls);
+
+    cache.evict(String.class);
+
+    final OutputBuilder outputBuilder = outputBuilder(String.class);
+
+    rewrite(cache, "resolve", outputBuilder, calls);
+    rewrite(cache, "resolve", outputBuilder(Integer.class), calls);
+
+    Assertions.assertEquals(3, calls.get());
+    Assertions.assertEquals(List.of("com.vaadin.flow.component.orderedlayout.FlexComponent"), imports(outputBuilder));
+  }
+
+  @Test
+  void importsAreOnlyAppended() {
+    // The cache captures the imports of a rewrite as those appended while it
+    // ran.
+
+    final OutputBuilder outputBuilder = outputBuilder(String.class)
+        .addImport(new ImportDeclaration("java.util.Map", false, false))
+        .addImport(new ImportDeclaration("java.util.List", false, false))
+        .addImport(new ImportDeclaration("java.util.Map", false, false));
+
+    Assertions.assertEquals(List.of("java.util.Map", "java.util.List", "java.util.Map"), imports(outputBuilder));
+  }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.generator;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+final class TypeRewriteRulesTest {
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static String rewrite(final TypeRewriteRules rules, final String type, final OutputBuilder outputBuilder) {
+    final ClassOrInterfaceType rewrittenType = rules.rewrite(StaticJavaParser.parseClassOrInterfaceType(type), outputBuilder);
+
+    return (rewrittenType != null ? rewrittenType.asString() : null);
+  }
+
+  private static String rewrite(final String type, final OutputBuilder outputBuilder) {
+    return rewrite(Generator.DEFAULT_TYPE_REWRITE_RULES, type, outputBuilder);
+  }
+
+  private static OutputBuilder outputBuilder(final Class<?> sourceClass) {
+    return new OutputBuilder(sourceClass, new CompilationUnit());
+  }
+
+  private static List<String> imports(final OutputBuilder outputBuilder) {
+    return outputBuilder.getImports().stream()
+        .map(ImportDeclaration::getNameAsString)
+        .toList();
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private TypeRewriteRulesTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void flexLayoutsUseTheNestedTypesOfFlexComponent() {
+    final OutputBuilder verticalLayout = outputBuilder(VerticalLayout.class);
+
+    Assertions.assertEquals("FlexComponent.Alignment", rewrite("Alignment", verticalLayout));
+    Assertions.assertEquals(List.of("com.vaadin.flow.component.orderedlayout.FlexComponent"), imports(verticalLayout));
+
+    final OutputBuilder horizontalLayout = outputBuilder(HorizontalLayout.class);
+
+    Assertions.assertEquals("FlexComponent.JustifyContentMode", rewrite("JustifyContentMode", horizontalLayout));
+    Assertions.assertEquals(List.of("com.vaadin.flow.component.orderedlayout.FlexComponent"), imports(horizontalLayout));
+  }
+
+  @Test
+  void otherClassesKeepAlignment() {
+    final OutputBuilder outputBuilder = outputBuilder(TypeRewriteRulesTest.class);
+
+    Assertions.assertNull(rewrite("Alignment", outputBuilder));
+    Assertions.assertNull(rewrite("JustifyContentMode", outputBuilder));
+    Assertions.assertEquals(List.of(), imports(outputBuilder));
+  }
+
+  @Test
+  void iconFactoryIsQualified() {
+    final OutputBuilder outputBuilder = outputBuilder(TypeRewriteRulesTest.class);
+
+    Assertions.assertEquals("com.vaadin.flow.component.icon.IconFactory", rewrite("IconFactory", outputBuilder));
+    Assertions.assertEquals(List.of(), imports(outputBuilder));
+  }
+
+  @Test
+  void webComponentExporterFactoryIsNotRewritten() {
+    Assertions.assertNull(rewrite("WebComponentExporterFactory<C>", outputBuilder(TypeRewriteRulesTest.class)));
+  }
+
+  @Test
+  void valueChangeListenersUseNestedTypes() {
+    final OutputBuilder outputBuilder = outputBuilder(TypeRewriteRulesTest.class);
+
+    Assertions.assertEquals(
+        "HasValue.ValueChangeListener<? super AbstractField.ComponentValueChangeEvent<TextField, String>>",
+        rewrite("ValueChangeListener<? super ComponentValueChangeEvent<TextField, String>>", outputBuilder)
+    );
+    Assertions.assertEquals(
+        List.of("com.vaadin.flow.component.HasValue", "com.vaadin.flow.component.AbstractField"),
+        imports(outputBuilder)
+    );
+    Assertions.assertEquals(
+        "HasValue.ValueChangeListener<AbstractField.ComponentValueChangeEvent<C, List<V>>>",
+        rewrite("ValueChangeListener<ComponentValueChangeEvent<C, List<V>>>", outputBuilder(TypeRewriteRulesTest.class))
+    );
+  }
+
+  @Test
+  void otherValueChangeListenersAreKept() {
+    final OutputBuilder outputBuilder = outputBuilder(TypeRewriteRulesTest.class);
+
+    Assertions.assertNull(rewrite("HasValue.ValueChangeListener<? super ComponentValueChangeEvent<C, V>>", outputBuilder));
+    Assertions.assertNull(rewrite("ValueChangeListener<? super ValueChangeEvent<V>>", outputBuilder));
+    Assertions.assertNull(rewrite("ValueChangeListener", outputBuilder));
+    Assertions.assertEquals(List.of(), imports(outputBuilder));
+  }
+
+  @Test
+  void typesWithoutRulesAreKept() {
+    Assertions.assertNull(rewrite("Button", outputBuilder(TypeRewriteRulesTest.class)));
+  }
+
+  @Test
+  void rulesOfOneNameAreTriedInOrder() {
+    final TypeRewriteRules rules = TypeRewriteRules.of(
+        TypeRewriteRule.of("A", (type, sourceClass) -> false, type -> new ClassOrInterfaceType().setName("First")),
+        TypeRewriteRule.of("A", (type, sourceClass) -> true, type -> new ClassOrInterfaceType().setName("Second"), "b.B"),
+        TypeRewriteRule.of("A", (type, sourceClass) -> true, type -> new ClassOrInterfaceType().setName("Third"), "c.C")
+    );
+    final OutputBuilder outputBuilder = outputBuilder(TypeRewriteRulesTest.class);
+
+    Assertions.assertEquals("Second", rewrite(rules, "A", outputBuilder));
+    Assertions.assertEquals(List.of("b.B"), imports(outputBuilder));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class VerticalLayout {
+
+  }
+
+  private static final class HorizontalLayout {
+
+  }
+
+}
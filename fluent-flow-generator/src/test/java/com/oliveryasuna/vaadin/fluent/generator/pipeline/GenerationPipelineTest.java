@@ -0,0 +1,279 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.Options;
+import com.oliveryasuna.vaadin.fluent.generator.generator.GeneratorEnvironment;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+final class GenerationPipelineTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final Path SOURCE_ROOT = Path.of("src", "test", "java");
+
+  private static final String FIXTURE_PACKAGE = "com.vaadin.flow.component.selectiontest";
+
+  private static final List<String> FIXTURE_CLASSES = List.of("Base", "Middle", "Leaf", "Marker");
+
+  private static final String LEAF_FACTORY = "com/oliveryasuna/vaadin/fluent/" + FIXTURE_PACKAGE.replace('.', '/') + "/LeafFactory.java";
+
+  private static final Map<String, String> FINGERPRINTS = Map.of(
+      "version", "2.0.0",
+      "code", "c0de",
+      "vaadinVersion", "24.0.0",
+      "classes", "c1a55e5",
+      "date", "2023-01-01"
+  );
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Packs the fixtures into a jar, with their sources in the source jar next
+   * to it, as the pipeline reads sources from there.
+   *
+   * @param changedClass The simple name of a fixture whose source is changed,
+   *                     or {@code null}.
+   */
+  private static void writeFixtureJars(final Path directory, final String changedClass) throws IOException {
+    try(final JarOutputStream classes = new JarOutputStream(new FileOutputStream(directory.resolve("fixtures.jar").toFile()));
+        final JarOutputStream sources = new JarOutputStream(new FileOutputStream(directory.resolve("fixtures-sources.jar").toFile()))) {
+      for(final String simpleName : FIXTURE_CLASSES) {
+        final String path = FIXTURE_PACKAGE.replace('.', '/') + "/" + simpleName;
+
+        try(final InputStream inputStream = GenerationPipelineTest.class.getResourceAsStream("/" + path + ".class")) {
+          classes.putNextEntry(new JarEntry(path + ".class"));
+          inputStream.transferTo(classes);
+        }
+
+        final String source = Files.readString(SOURCE_ROOT.resolve(path + ".java"));
+
+        sources.putNextEntry(new JarEntry(path + ".java"));
+        sources.write((simpleName.equals(changedClass) ? source + "\n// Changed.\n" : source).getBytes(StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  private static Options options(final Path directory) {
+    final Options options = new Options();
+
+    options.setOutputDirectory(directory.resolve("out").toFile());
+    options.setCache(false);
+
+    return options;
+  }
+
+  /**
+   * Runs the pipeline over fixtures loaded from the fixture jar.
+   *
+   * @param simpleNames The simple names of the source classes.
+   */
+  private static GenerationPipeline.Summary run(
+      final Path directory,
+      final Options options,
+      final String vaadinVersion,
+      final List<String> simpleNames
+  ) throws Exception {
+    try(final URLClassLoader loader = new URLClassLoader(new URL[] {directory.resolve("fixtures.jar").toUri().toURL()}, ClassLoader.getPlatformClassLoader())) {
+      final Set<Class<?>> sourceClasses = new LinkedHashSet<>();
+
+      for(final String simpleName : simpleNames) {
+        sourceClasses.add(loader.loadClass(FIXTURE_PACKAGE + "." + simpleName));
+      }
+
+      final GeneratorEnvironment environment = new GeneratorEnvironment(
+          sourceClasses,
+          options.resolveGenerationDate(),
+          TypeIndex.of(loader),
+          vaadinVersion
+      );
+
+      final GenerationPipeline.Summary summary = new GenerationPipeline(options).run(sourceClasses, environment, App.createGeneratorsSelector(environment));
+
+      Assertions.assertEquals(0, summary.failures());
+
+      return summary;
+    }
+  }
+
+  private static GenerationPipeline.Summary run(final Path directory, final Options options, final String... simpleNames) throws Exception {
+    return run(directory, options, "24.0.0", List.of(simpleNames));
+  }
+
+  private static GenerationPipeline.Summary runAll(final Path directory, final Options options) throws Exception {
+    return run(directory, options, "24.0.0", FIXTURE_CLASSES);
+  }
+
+  private static Map<String, String> fingerprintsWith(final String key, final String value) {
+    final Map<String, String> fingerprints = new HashMap<>(FINGERPRINTS);
+
+    fingerprints.put(key, value);
+
+    return fingerprints;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private GenerationPipelineTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void unchangedSourceClassesAreSkipped(@TempDir final Path directory) throws Exception {
+    final Options options = options(directory);
+
+    writeFixtureJars(directory, null);
+
+    Assertions.assertEquals(12, runAll(directory, options).createdFiles());
+
+    final GenerationPipeline.Summary summary = runAll(directory, options);
+
+    Assertions.assertEquals(4, summary.skippedSourceClasses());
+    Assertions.assertEquals(0, summary.writtenFiles());
+    Assertions.assertEquals(0, summary.unchangedFiles());
+  }
+
+  @Test
+  void changedSourcesAreGeneratedAgain(@TempDir final Path directory) throws Exception {
+    final Options options = options(directory);
+
+    writeFixtureJars(directory, null);
+    runAll(directory, options);
+    writeFixtureJars(directory, "Leaf");
+
+    final GenerationPipeline.Summary summary = runAll(directory, options);
+
+    Assertions.assertEquals(3, summary.skippedSourceClasses());
+    Assertions.assertEquals(3, summary.unchangedFiles());
+  }
+
+  @Test
+  void changedVaadinVersionGeneratesEverything(@TempDir final Path directory) throws Exception {
+    final Options options = options(directory);
+
+    writeFixtureJars(directory, null);
+    runAll(directory, options);
+
+    final GenerationPipeline.Summary summary = run(directory, options, "24.1.0", FIXTURE_CLASSES);
+
+    // The version is stamped into the Javadoc of every file.
+
+    Assertions.assertEquals(0, summary.skippedSourceClasses());
+    Assertions.assertEquals(12, summary.changedFiles());
+  }
+
+  @Test
+  void changedGenerationDateGeneratesEverythingInReproducibleRuns(@TempDir final Path directory) throws Exception {
+    final Options options = options(directory);
+
+    options.setReproducible(true);
+    options.setSourceDateEpoch(LocalDate.of(2023, 1, 1).toEpochDay() * 86_400);
+
+    writeFixtureJars(directory, null);
+    runAll(directory, options);
+
+    Assertions.assertEquals(4, runAll(directory, options).skippedSourceClasses());
+
+    options.setSourceDateEpoch(LocalDate.of(2023, 1, 2).toEpochDay() * 86_400);
+
+    Assertions.assertEquals(0, runAll(directory, options).skippedSourceClasses());
+  }
+
+  @Test
+  void deletedOutputsAreGeneratedAgain(@TempDir final Path directory) throws Exception {
+    final Options options = options(directory);
+
+    writeFixtureJars(directory, null);
+    runAll(directory, options);
+
+    final File leafFactory = new File(options.getOutputDirectory(), LEAF_FACTORY);
+
+    Assertions.assertTrue(leafFactory.delete());
+    Assertions.assertFalse(GenerationPipeline.hasOutputs(options));
+
+    final GenerationPipeline.Summary summary = runAll(directory, options);
+
+    Assertions.assertEquals(3, summary.skippedSourceClasses());
+    Assertions.assertEquals(1, summary.createdFiles());
+    Assertions.assertEquals(2, summary.unchangedFiles());
+    Assertions.assertTrue(leafFactory.isFile());
+    Assertions.assertTrue(GenerationPipeline.hasOutputs(options));
+  }
+
+  @Test
+  void outputsOfRemovedSourceClassesAreDeleted(@TempDir final Path directory) throws Exception {
+    final Options options = options(directory);
+
+    writeFixtureJars(directory, null);
+    runAll(directory, options);
+
+    final GenerationPipeline.Summary summary = run(directory, options, "Base", "Middle", "Marker");
+
+    Assertions.assertEquals(3, summary.deletedFiles());
+    Assertions.assertFalse(new File(options.getOutputDirectory(), LEAF_FACTORY).exists());
+    Assertions.assertNull(Manifest.read(options.resolveManifestFile()).getEntry(FIXTURE_PACKAGE + ".Leaf"));
+  }
+
+  @Test
+  void manifestsMatchOnlyTheirOwnFingerprints(@TempDir final Path directory) throws IOException {
+    final File file = directory.resolve("manifest").toFile();
+    final Manifest manifest = new Manifest(FINGERPRINTS);
+
+    manifest.putEntry("a.Failed", new Manifest.Entry(null, new TreeSet<>(Set.of("a/AFactory.java"))));
+    manifest.putEntry("a.Generated", new Manifest.Entry("5ca1ab1e", new TreeSet<>(Set.of("a/BFactory.java", "a/IBFactory.java"))));
+    manifest.write(file);
+
+    final Manifest read = Manifest.read(file);
+
+    Assertions.assertTrue(read.matches(FINGERPRINTS));
+    Assertions.assertEquals(manifest.getEntries(), read.getEntries());
+
+    for(final String key : FINGERPRINTS.keySet()) {
+      Assertions.assertFalse(read.matches(fingerprintsWith(key, "changed")), key);
+    }
+
+    final Map<String, String> withoutDate = new HashMap<>(FINGERPRINTS);
+
+    withoutDate.remove("date");
+
+    Assertions.assertFalse(read.matches(withoutDate));
+  }
+
+}
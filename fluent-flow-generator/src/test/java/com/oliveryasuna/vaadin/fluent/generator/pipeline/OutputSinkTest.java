@@ -0,0 +1,170 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+final class OutputSinkTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String PATH = "a/b/AFactory.java";
+
+  private static final String CONTENT = "package a.b;\n\nclass AFactory {\n}\n";
+
+  private static final FileTime EARLIER = FileTime.from(Instant.parse("2023-01-01T00:00:00Z"));
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Writes content in small pieces, as printers do.
+   */
+  private static OutputSink.Content streamed(final String content) {
+    return writer -> {
+      for(final String line : content.split("(?<=\n)")) {
+        writer.write(line);
+      }
+    };
+  }
+
+  /**
+   * Writes part of a file, and then fails, from the given call on.
+   */
+  private static OutputSink.Content failing(final int failingCall) {
+    final AtomicInteger calls = new AtomicInteger();
+
+    return writer -> {
+      writer.write("package c;\n");
+      writer.flush();
+
+      if(calls.incrementAndGet() >= failingCall) {
+        throw new IOException("Failed.");
+      }
+    };
+  }
+
+  private static List<Path> files(final Path directory) throws IOException {
+    try(final Stream<Path> files = Files.walk(directory)) {
+      return files.filter(Files::isRegularFile).toList();
+    }
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private OutputSinkTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void createsFiles(@TempDir final Path directory) throws IOException {
+    final OutputSink sink = new OutputSink(directory.toFile());
+
+    Assertions.assertEquals(OutputSink.Outcome.CREATED, sink.write(PATH, CONTENT));
+    Assertions.assertEquals(OutputSink.Outcome.CREATED, sink.write("a/BFactory.java", streamed(CONTENT)));
+    Assertions.assertEquals(CONTENT, Files.readString(directory.resolve(PATH)));
+    Assertions.assertEquals(CONTENT, Files.readString(directory.resolve("a/BFactory.java")));
+    Assertions.assertEquals(2, sink.getCount(OutputSink.Outcome.CREATED));
+    Assertions.assertEquals(2, files(directory).size());
+  }
+
+  @Test
+  void identicalWritesLeaveFilesUntouched(@TempDir final Path directory) throws IOException {
+    final OutputSink sink = new OutputSink(directory.toFile());
+    final Path file = directory.resolve(PATH);
+
+    sink.write(PATH, CONTENT);
+    Files.setLastModifiedTime(file, EARLIER);
+
+    Assertions.assertEquals(OutputSink.Outcome.UNCHANGED, sink.write(PATH, CONTENT));
+    Assertions.assertEquals(OutputSink.Outcome.UNCHANGED, sink.write(PATH, streamed(CONTENT)));
+    Assertions.assertEquals(EARLIER, Files.getLastModifiedTime(file));
+    Assertions.assertEquals(2, sink.getCount(OutputSink.Outcome.UNCHANGED));
+    Assertions.assertEquals(0, sink.getCount(OutputSink.Outcome.CHANGED));
+  }
+
+  @Test
+  void differingWritesReplaceFiles(@TempDir final Path directory) throws IOException {
+    final OutputSink sink = new OutputSink(directory.toFile());
+    final Path file = directory.resolve(PATH);
+
+    sink.write(PATH, CONTENT);
+
+    // Longer, shorter and, streamed, a prefix of the current content.
+
+    for(final String content : List.of(CONTENT + "\n", "class AFactory {}\n")) {
+      Assertions.assertEquals(OutputSink.Outcome.CHANGED, sink.write(PATH, content));
+      Assertions.assertEquals(content, Files.readString(file));
+    }
+
+    for(final String content : List.of(CONTENT, CONTENT.substring(0, 12))) {
+      Assertions.assertEquals(OutputSink.Outcome.CHANGED, sink.write(PATH, streamed(content)));
+      Assertions.assertEquals(content, Files.readString(file));
+    }
+
+    Assertions.assertEquals(4, sink.getCount(OutputSink.Outcome.CHANGED));
+    Assertions.assertEquals(List.of(file), files(directory));
+  }
+
+  @Test
+  void failedWritesLeaveNoPartialFile(@TempDir final Path directory) throws IOException {
+    final OutputSink sink = new OutputSink(directory.toFile());
+    final Path file = directory.resolve(PATH);
+
+    Assertions.assertThrows(IOException.class, () -> sink.write(PATH, failing(1)));
+    Assertions.assertEquals(List.of(), files(directory));
+
+    sink.write(PATH, CONTENT);
+
+    // Compared first, then fails while replacing.
+
+    Assertions.assertThrows(IOException.class, () -> sink.write(PATH, failing(2)));
+    Assertions.assertEquals(CONTENT, Files.readString(file));
+    Assertions.assertEquals(List.of(file), files(directory));
+  }
+
+  @Test
+  void deletesFiles(@TempDir final Path directory) throws IOException {
+    final OutputSink sink = new OutputSink(directory.toFile());
+
+    sink.write(PATH, CONTENT);
+
+    Assertions.assertTrue(sink.delete(PATH));
+    Assertions.assertFalse(sink.delete(PATH));
+    Assertions.assertEquals(1, sink.getCount(OutputSink.Outcome.DELETED));
+    Assertions.assertEquals(List.of(), files(directory));
+  }
+
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import com.oliveryasuna.vaadin.fluent.generator.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+final class RunReportTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String GENERATOR = "class\u2192base";
+
+  private static final String ESCAPED_GENERATOR = "\"quoted\" \\ new\nline\ttab\u0001";
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Records String (150 ns), Integer (310 ns, partly unmeasurable
+   * allocation) and Long (6 ns).
+   */
+  private static RunReport report() {
+    final RunReport report = new RunReport();
+
+    report.record(String.class, null, Phase.PARSE, Measurement.of(50, 500));
+    report.record(String.class, GENERATOR, Phase.GENERATE, Measurement.of(100, 1000));
+    report.record(Integer.class, GENERATOR, Phase.GENERATE, Measurement.of(300, -1));
+    report.record(Integer.class, GENERATOR, Phase.WRITE, Measurement.of(10, 20));
+    report.record(Long.class, null, Phase.LOCATE, Measurement.of(5, 5));
+    report.record(Long.class, ESCAPED_GENERATOR, Phase.GENERATE, Measurement.of(1, 1));
+
+    return report;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> write(final RunReport report, final Path directory, final int topCount) throws IOException {
+    final File file = directory.resolve("report/report.json").toFile();
+
+    report.write(file, 12345, topCount);
+
+    return (Map<String, Object>)new JsonReader(Files.readString(file.toPath())).read();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> object(final Object object, final String... keys) {
+    Object value = object;
+
+    for(final String key : keys) {
+      value = ((Map<String, Object>)value).get(key);
+    }
+
+    return (Map<String, Object>)value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Map<String, Object>> slowest(final Map<String, Object> json) {
+    return (List<Map<String, Object>>)json.get("slowest");
+  }
+
+  private static Map<String, Object> phase(final long nanos, final long allocatedBytes) {
+    return Map.of("nanos", nanos, "allocatedBytes", allocatedBytes);
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private RunReportTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void writesTotals(@TempDir final Path directory) throws IOException {
+    final Map<String, Object> json = write(report(), directory, 3);
+
+    Assertions.assertEquals(Config.getVersion(), json.get("version"));
+    Assertions.assertEquals(12345L, object(json, "total").get("wallNanos"));
+    Assertions.assertEquals(3L, object(json, "total").get("sourceClasses"));
+
+    // Print was never measured, and generation was partly unmeasurable.
+
+    Assertions.assertEquals(
+        Map.of(
+            "locate", phase(5, 5),
+            "parse", phase(50, 500),
+            "generate", phase(401, -1),
+            "write", phase(10, 20)
+        ),
+        object(json, "total", "phases")
+    );
+  }
+
+  @Test
+  void writesTheSlowestSourceClassesFirst(@TempDir final Path directory) throws IOException {
+    final List<Map<String, Object>> slowest = slowest(write(report(), directory, 2));
+
+    Assertions.assertEquals(2, slowest.size());
+    Assertions.assertEquals(Integer.class.getName(), slowest.get(0).get("class"));
+    Assertions.assertEquals(310L, slowest.get(0).get("nanos"));
+    Assertions.assertEquals(-1L, slowest.get(0).get("allocatedBytes"));
+    Assertions.assertEquals(String.class.getName(), slowest.get(1).get("class"));
+    Assertions.assertEquals(150L, slowest.get(1).get("nanos"));
+    Assertions.assertEquals(1500L, slowest.get(1).get("allocatedBytes"));
+
+    Assertions.assertEquals(List.of(), slowest(write(report(), directory, 0)));
+  }
+
+  @Test
+  void writesPhasesPerGenerator(@TempDir final Path directory) throws IOException {
+    final List<Map<String, Object>> slowest = slowest(write(report(), directory, 3));
+
+    // Shared phases count for the class, but for none of its generators.
+
+    Assertions.assertEquals(Map.of("parse", phase(50, 500), "generate", phase(100, 1000)), object(slowest.get(1), "phases"));
+    Assertions.assertEquals(Map.of(GENERATOR, Map.of("generate", phase(100, 1000))), object(slowest.get(1), "generators"));
+    Assertions.assertEquals(
+        Map.of(GENERATOR, Map.of("generate", phase(300, -1), "write", phase(10, 20))),
+        object(slowest.get(0), "generators")
+    );
+  }
+
+  @Test
+  void escapesStrings(@TempDir final Path directory) throws IOException {
+    final Map<String, Object> json = write(report(), directory, 3);
+
+    Assertions.assertEquals(Long.class.getName(), slowest(json).get(2).get("class"));
+    Assertions.assertEquals(Set.of(ESCAPED_GENERATOR), object(slowest(json).get(2), "generators").keySet());
+  }
+
+  @Test
+  void unmeasurableAllocationIsSticky(@TempDir final Path directory) throws IOException {
+    Assertions.assertEquals(-1, Measurement.of(100, -1).exclude(Measurement.of(10, 10)).getBytes());
+    Assertions.assertEquals(-1, Measurement.of(100, 100).exclude(Measurement.of(10, -1)).exclude(Measurement.of(10, 10)).getBytes());
+
+    final RunReport report = new RunReport();
+
+    report.record(String.class, null, Phase.PARSE, Measurement.of(1, -1));
+    report.record(String.class, null, Phase.PARSE, Measurement.of(1, 1));
+
+    Assertions.assertEquals(Map.of("parse", phase(2, -1)), object(write(report, directory, 1), "total", "phases"));
+  }
+
+  @Test
+  void excludesNestedMeasurements() {
+    final Measurement measurement = Measurement.of(100, 1000).exclude(Measurement.of(30, 200)).exclude(Measurement.of(20, 300));
+
+    Assertions.assertEquals(50, measurement.getNanos());
+    Assertions.assertEquals(500, measurement.getBytes());
+  }
+
+  @Test
+  void measuresTheCurrentThread() {
+    final Measurement measurement = Measurement.start();
+    final byte[] allocated = new byte[1 << 16];
+
+    measurement.stop();
+
+    Assertions.assertTrue(measurement.getNanos() >= 0);
+    Assertions.assertTrue(measurement.getBytes() == -1 || measurement.getBytes() >= allocated.length);
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  /**
+   * Reads the JSON that reports are written in: objects, arrays, strings and
+   * integers.
+   */
+  private static final class JsonReader {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private JsonReader(final String json) {
+      super();
+
+      this.json = json;
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private final String json;
+
+    private int position;
+
+    // Methods
+    //--------------------------------------------------
+
+    private Object read() {
+      final Object value = readValue();
+
+      skipWhitespace();
+
+      Assertions.assertEquals(json.length(), position, "Trailing content.");
+
+      return value;
+    }
+
+    private Object readValue() {
+      skipWhitespace();
+
+      return switch(json.charAt(position)) {
+        case '{' -> readObject();
+        case '[' -> readArray();
+        case '"' -> readString();
+        default -> readInteger();
+      };
+    }
+
+    private Map<String, Object> readObject() {
+      final Map<String, Object> object = new LinkedHashMap<>();
+
+      expect('{');
+
+      if(!consume('}')) {
+        do {
+          skipWhitespace();
+
+          final String key = readString();
+
+          expect(':');
+
+          Assertions.assertNull(object.put(key, readValue()), key);
+        } while(consume(','));
+
+        expect('}');
+      }
+
+      return object;
+    }
+
+    private List<Object> readArray() {
+      final List<Object> array = new ArrayList<>();
+
+      expect('[');
+
+      if(!consume(']')) {
+        do {
+          array.add(readValue());
+        } while(consume(','));
+
+        expect(']');
+      }
+
+      return array;
+    }
+
+    private String readString() {
+      final StringBuilder string = new StringBuilder();
+
+      expect('"');
+
+      for(char c = json.charAt(position++); c != '"'; c = json.charAt(position++)) {
+        if(c != '\\') {
+          string.append(c);
+
+          continue;
+        }
+
+        final char escaped = json.charAt(position++);
+
+        switch(escaped) {
+          case 'n' -> string.append('\n');
+          case 'r' -> string.append('\r');
+          case 't' -> string.append('\t');
+          case 'u' -> {
+            string.append((char)Integer.parseInt(json.substring(position, position + 4), 16));
+            position += 4;
+          }
+          default -> string.append(escaped);
+        }
+      }
+
+      return string.toString();
+    }
+
+    private Long readInteger() {
+      final int start = position;
+
+      if(json.charAt(position) == '-') {
+        position++;
+      }
+
+      while(position < json.length() && Character.isDigit(json.charAt(position))) {
+        position++;
+      }
+
+      return Long.parseLong(json.substring(start, position));
+    }
+
+    private void expect(final char c) {
+      skipWhitespace();
+
+      Assertions.assertEquals(c, json.charAt(position++), () -> "At " + (position - 1) + ".");
+    }
+
+    private boolean consume(final char c) {
+      skipWhitespace();
+
+      if(position < json.length() && json.charAt(position) == c) {
+        position++;
+
+        return true;
+      }
+
+      return false;
+    }
+
+    private void skipWhitespace() {
+      while(position < json.length() && Character.isWhitespace(json.charAt(position))) {
+        position++;
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.pipeline;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+final class StageTest {
+
+  // Constructors
+  //--------------------------------------------------
+
+  private StageTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void errorsFailTheItemAndKeepTheWorker() throws InterruptedException {
+    final List<Integer> results = new CopyOnWriteArrayList<>();
+    final List<Integer> failures = new CopyOnWriteArrayList<>();
+
+    // One worker and one slot, as in memory-bounded runs: a dead worker would
+    // block the producer.
+
+    final Stage<Integer, Void> last = new Stage<>(
+        Phase.WRITE, 1, 1,
+        (item, output) -> results.add(item), null, failures::add
+    );
+    final Stage<Integer, Integer> first = new Stage<>(
+        Phase.GENERATE, 1, 1,
+        (item, output) -> {
+          if(item % 2 == 0) {
+            throw new StackOverflowError();
+          }
+
+          output.accept(item);
+        },
+        last, failures::add
+    );
+
+    final Thread producer = new Thread(() -> {
+      try {
+        first.start();
+        last.start();
+
+        for(int i = 0; i < 10; i++) {
+          first.submit(i);
+        }
+
+        first.close();
+        first.await();
+        last.await();
+      } catch(final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    producer.start();
+    producer.join(10_000);
+
+    Assertions.assertFalse(producer.isAlive(), "The pipeline hung.");
+    Assertions.assertEquals(List.of(1, 3, 5, 7, 9), results);
+    Assertions.assertEquals(List.of(0, 2, 4, 6, 8), failures);
+  }
+
+}
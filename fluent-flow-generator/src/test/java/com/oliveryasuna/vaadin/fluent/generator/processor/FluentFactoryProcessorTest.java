@@ -0,0 +1,309 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.processor;
+
+import com.oliveryasuna.vaadin.fluent.generator.Options;
+import com.oliveryasuna.vaadin.fluent.generator.typeindex.TypeIndex;
+import com.vaadin.flow.component.selectiontest.Base;
+import com.vaadin.flow.component.selectiontest.Exposed;
+import com.vaadin.flow.component.selectiontest.Leaf;
+import com.vaadin.flow.component.selectiontest.Marker;
+import com.vaadin.flow.component.selectiontest.Middle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.*;
+import java.io.*;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+final class FluentFactoryProcessorTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final Path SOURCE_ROOT = Path.of("src", "test", "java");
+
+  private static final String FIXTURE_PACKAGE = "com.vaadin.flow.component.selectiontest";
+
+  private static final List<String> FIXTURE_CLASSES = List.of("Base", "Middle", "Leaf", "Marker", "Hidden", "Exposed");
+
+  private static final String REQUEST_SOURCE = """
+      package app;
+
+      import com.oliveryasuna.vaadin.fluent.generator.processor.FluentFactories;
+      import com.vaadin.flow.component.selectiontest.Leaf;
+
+      @FluentFactories(Leaf.class)
+      class Request {
+      }
+      """;
+
+  // Static methods
+  //--------------------------------------------------
+
+  /**
+   * Packs the fixtures into a jar, with their sources in the source jar next
+   * to it, as the processor reads sources from there.
+   */
+  private static File createFixtureJar(final Path directory) throws IOException {
+    final File jar = directory.resolve("fixtures.jar").toFile();
+
+    try(final JarOutputStream classes = new JarOutputStream(new FileOutputStream(jar));
+        final JarOutputStream sources = new JarOutputStream(new FileOutputStream(directory.resolve("fixtures-sources.jar").toFile()))) {
+      for(final String simpleName : FIXTURE_CLASSES) {
+        final String path = FIXTURE_PACKAGE.replace('.', '/') + "/" + simpleName;
+
+        try(final InputStream inputStream = FluentFactoryProcessorTest.class.getResourceAsStream("/" + path + ".class")) {
+          classes.putNextEntry(new JarEntry(path + ".class"));
+          inputStream.transferTo(classes);
+        }
+
+        sources.putNextEntry(new JarEntry(path + ".java"));
+        sources.write(Files.readAllBytes(SOURCE_ROOT.resolve(path + ".java")));
+      }
+    }
+
+    return jar;
+  }
+
+  /**
+   * Gets the classpath of the processor: the fixture jar and the classpath of
+   * the tests, without the fixture classes compiled with them.
+   */
+  private static List<File> processorPath(final File fixtureJar) throws Exception {
+    final File testClasses = new File(FluentFactoryProcessorTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    final List<File> processorPath = new ArrayList<>();
+
+    processorPath.add(fixtureJar);
+
+    TypeIndex.classPathOf(FluentFactoryProcessorTest.class.getClassLoader()).stream()
+        .filter(file -> !file.equals(testClasses))
+        .forEach(processorPath::add);
+
+    return processorPath;
+  }
+
+  /**
+   * Compiles the request, and the request that {@link LaterRequest} adds in
+   * the second round, with the processor loaded as {@code -processorpath}
+   * would load it.
+   *
+   * @return The errors.
+   */
+  private static List<String> process(final Path directory, final File generatedSources, final boolean laterRequest) throws Exception {
+    final List<File> processorPath = processorPath(createFixtureJar(directory));
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    final String previousCache = System.getProperty(Options.PROPERTY_PREFIX + "cache");
+
+    System.setProperty(Options.PROPERTY_PREFIX + "cache", "false");
+
+    try(final URLClassLoader processorLoader = new URLClassLoader(toUrls(processorPath), ClassLoader.getPlatformClassLoader());
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+      final List<Processor> processors = new ArrayList<>();
+
+      processors.add((Processor)processorLoader.loadClass(FluentFactoryProcessor.class.getName()).getConstructor().newInstance());
+
+      if(laterRequest) {
+        processors.add(new LaterRequest());
+      }
+
+      final JavaCompiler.CompilationTask task = compiler.getTask(
+          null,
+          fileManager,
+          diagnostics,
+          List.of(
+              "-proc:only",
+              "-classpath", processorPath.stream().map(File::getPath).collect(Collectors.joining(File.pathSeparator)),
+              "-s", generatedSources.getPath()
+          ),
+          null,
+          List.of(new Source("app/Request.java", REQUEST_SOURCE))
+      );
+
+      task.setProcessors(processors);
+      task.call();
+    } finally {
+      if(previousCache != null) {
+        System.setProperty(Options.PROPERTY_PREFIX + "cache", previousCache);
+      } else {
+        System.clearProperty(Options.PROPERTY_PREFIX + "cache");
+      }
+    }
+
+    return diagnostics.getDiagnostics().stream()
+        .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+        .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+        .toList();
+  }
+
+  private static URL[] toUrls(final List<File> files) throws IOException {
+    final URL[] urls = new URL[files.size()];
+
+    for(int i = 0; i < urls.length; i++) {
+      urls[i] = files.get(i).toURI().toURL();
+    }
+
+    return urls;
+  }
+
+  private static Set<String> generatedClassNames(final File generatedSources) throws IOException {
+    try(final Stream<Path> files = Files.walk(generatedSources.toPath())) {
+      return files
+          .filter(file -> file.toString().endsWith(".java"))
+          .map(file -> file.getFileName().toString().replace(".java", ""))
+          .filter(name -> !name.equals("Later"))
+          .collect(Collectors.toCollection(TreeSet::new));
+    }
+  }
+
+  private static Set<String> factoryNames(final Class<?>... classes) {
+    return Arrays.stream(classes)
+        .map(Class::getSimpleName)
+        .flatMap(simpleName -> Stream.of("I" + simpleName + "Factory", "Abstract" + simpleName + "Factory", simpleName + "Factory"))
+        .collect(Collectors.toCollection(TreeSet::new));
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private FluentFactoryProcessorTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void generatesTheRequestedClassesAndTheirSupertypes(@TempDir final Path directory) throws Exception {
+    final File generatedSources = Files.createDirectory(directory.resolve("generated")).toFile();
+
+    Assertions.assertEquals(List.of(), process(directory, generatedSources, false));
+    Assertions.assertEquals(factoryNames(Base.class, Middle.class, Leaf.class, Marker.class), generatedClassNames(generatedSources));
+  }
+
+  @Test
+  void laterRoundsOnlyGenerateNewClasses(@TempDir final Path directory) throws Exception {
+    final File generatedSources = Files.createDirectory(directory.resolve("generated")).toFile();
+
+    // Generating a factory again would fail, as the filer refuses to create a
+    // file twice.
+
+    Assertions.assertEquals(List.of(), process(directory, generatedSources, true));
+    Assertions.assertEquals(factoryNames(Base.class, Middle.class, Leaf.class, Marker.class, Exposed.class), generatedClassNames(generatedSources));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  private static final class Source extends SimpleJavaFileObject {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private Source(final String path, final String content) {
+      super(java.net.URI.create("string:///" + path), Kind.SOURCE);
+
+      this.content = content;
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private final String content;
+
+    // Methods
+    //--------------------------------------------------
+
+    @Override
+    public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+      return content;
+    }
+
+  }
+
+  /**
+   * Requests, in the first round, classes of which some were already
+   * generated, so that they are processed in the second round.
+   */
+  @SupportedAnnotationTypes("*")
+  private static final class LaterRequest extends AbstractProcessor {
+
+    // Constructors
+    //--------------------------------------------------
+
+    private LaterRequest() {
+      super();
+    }
+
+    // Fields
+    //--------------------------------------------------
+
+    private boolean requested;
+
+    // Methods
+    //--------------------------------------------------
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+      return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+      if(requested) {
+        return false;
+      }
+
+      requested = true;
+
+      try(final Writer writer = processingEnv.getFiler().createSourceFile("app.Later").openWriter()) {
+        writer.write("""
+            package app;
+
+            import com.oliveryasuna.vaadin.fluent.generator.processor.FluentFactories;
+            import com.vaadin.flow.component.selectiontest.Exposed;
+            import com.vaadin.flow.component.selectiontest.Middle;
+
+            @FluentFactories({Middle.class, Exposed.class})
+            class Later {
+            }
+            """);
+      } catch(final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+
+      return false;
+    }
+
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.selection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class ClassPatternTest {
+
+  // Constructors
+  //--------------------------------------------------
+
+  private ClassPatternTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void singleStarMatchesOnePackage() {
+    final ClassPattern pattern = ClassPattern.compile("com.vaadin.flow.component.button.*");
+
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.button.Button"));
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.button.Button$Builder"));
+    Assertions.assertFalse(pattern.matches("com.vaadin.flow.component.button.testbench.ButtonElement"));
+    Assertions.assertFalse(pattern.matches("com.vaadin.flow.component.buttons.Button"));
+  }
+
+  @Test
+  void doubleStarMatchesSubpackages() {
+    final ClassPattern pattern = ClassPattern.compile("com.vaadin.flow.component.grid.**");
+
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.grid.Grid"));
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.grid.dnd.GridDropEvent"));
+    Assertions.assertFalse(pattern.matches("com.vaadin.flow.component.gridpro.GridPro"));
+  }
+
+  @Test
+  void doubleStarWithoutDotMatchesSiblingPackages() {
+    final ClassPattern pattern = ClassPattern.compile("com.vaadin.flow.component.grid**");
+
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.grid.Grid"));
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.gridpro.GridPro"));
+    Assertions.assertFalse(pattern.matches("com.vaadin.flow.component.treegrid.TreeGrid"));
+  }
+
+  @Test
+  void starsMatchWithinNames() {
+    final ClassPattern pattern = ClassPattern.compile("com.vaadin.flow.component.*.*Field");
+
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.textfield.TextField"));
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.textfield.EmailField"));
+    Assertions.assertFalse(pattern.matches("com.vaadin.flow.component.textfield.TextArea"));
+    Assertions.assertFalse(pattern.matches("com.vaadin.flow.component.TextField"));
+  }
+
+  @Test
+  void literalsAreNotRegularExpressions() {
+    final ClassPattern pattern = ClassPattern.compile("com.vaadin.flow.component.Html");
+
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.Html"));
+    Assertions.assertFalse(pattern.matches("comXvaadin.flow.component.Html"));
+    Assertions.assertFalse(pattern.matches("com.vaadin.flow.component.HtmlContainer"));
+  }
+
+  @Test
+  void patternsAreTrimmed() {
+    final ClassPattern pattern = ClassPattern.compile("  com.vaadin.flow.component.*  ");
+
+    Assertions.assertEquals("com.vaadin.flow.component.*", pattern.pattern());
+    Assertions.assertTrue(pattern.matches("com.vaadin.flow.component.Html"));
+  }
+
+  @Test
+  void emptyPatternsAreRejected() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> ClassPattern.compile(" "));
+  }
+
+}
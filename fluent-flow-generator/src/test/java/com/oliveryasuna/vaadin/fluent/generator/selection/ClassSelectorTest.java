@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.selection;
+
+import com.vaadin.flow.component.selectiontest.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class ClassSelectorTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final String FIXTURE_PACKAGE = "com.vaadin.flow.component.selectiontest";
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static Set<String> simpleNames(final Collection<Class<?>> classes) {
+    return classes.stream()
+        .map(Class::getSimpleName)
+        .collect(Collectors.toSet());
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private ClassSelectorTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void excludesWinOverIncludes() {
+    final ClassSelector selector = new ClassSelector(List.of(FIXTURE_PACKAGE + ".*"), List.of(FIXTURE_PACKAGE + ".Middle"));
+
+    Assertions.assertTrue(selector.isIncluded(Leaf.class));
+    Assertions.assertFalse(selector.isIncluded(Middle.class));
+    Assertions.assertFalse(selector.isEligible(Middle.class));
+  }
+
+  @Test
+  void onlyPublicTopLevelClassesAreCandidates() {
+    Assertions.assertTrue(ClassSelector.isCandidate(Leaf.class));
+    Assertions.assertTrue(ClassSelector.isCandidate(Marker.class));
+    Assertions.assertFalse(ClassSelector.isCandidate(Exposed.class.getSuperclass()));
+    Assertions.assertFalse(ClassSelector.isCandidate(ClassSelectorTest.class));
+    Assertions.assertFalse(ClassSelector.isCandidate(Object.class));
+  }
+
+  @Test
+  void selectionIsClosedOverSupertypes() {
+    final ClassSelector selector = new ClassSelector(List.of(FIXTURE_PACKAGE + ".Leaf"), List.of());
+
+    Assertions.assertEquals(
+        Set.of("Leaf", "Middle", "Base", "Marker"),
+        simpleNames(selector.select(List.of(Leaf.class, Middle.class, Exposed.class)))
+    );
+  }
+
+  @Test
+  void excludedSupertypesStopTheClosure() {
+    final ClassSelector selector = new ClassSelector(List.of(FIXTURE_PACKAGE + ".**"), List.of(FIXTURE_PACKAGE + ".Middle"));
+
+    // Base is only reachable through Middle.
+    Assertions.assertEquals(Set.of("Leaf", "Marker"), simpleNames(selector.close(List.of(Leaf.class))));
+  }
+
+  @Test
+  void ineligibleSupertypesStopTheClosure() {
+    final ClassSelector selector = new ClassSelector(List.of(FIXTURE_PACKAGE + ".**"), List.of());
+
+    // Base is only reachable through the package-private Hidden.
+    Assertions.assertEquals(Set.of("Exposed"), simpleNames(selector.close(List.of(Exposed.class))));
+  }
+
+  @Test
+  void ineligibleClassesAreNotKept() {
+    final ClassSelector selector = new ClassSelector(List.of(FIXTURE_PACKAGE + ".**"), List.of(FIXTURE_PACKAGE + ".Leaf"));
+
+    Assertions.assertEquals(Set.of("Middle", "Base"), simpleNames(selector.close(List.of(Leaf.class, Middle.class))));
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.source;
+
+import com.oliveryasuna.vaadin.fluent.generator.utils.HashUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+final class SourceJarTest {
+
+  // Static fields
+  //--------------------------------------------------
+
+  private static final byte[] SOURCE = "package a;\n\npublic class A {\n}\n".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static Path createJar(final int paddingEntries) throws IOException {
+    final Path jar = Files.createTempFile("source-jar-test", "-sources.jar");
+
+    try(final ZipOutputStream outputStream = new ZipOutputStream(Files.newOutputStream(jar))) {
+      outputStream.putNextEntry(new ZipEntry("a/Deflated.java"));
+      outputStream.write(SOURCE);
+      outputStream.closeEntry();
+
+      final CRC32 crc = new CRC32();
+
+      crc.update(SOURCE);
+
+      final ZipEntry storedEntry = new ZipEntry("a/Stored.java");
+
+      storedEntry.setMethod(ZipEntry.STORED);
+      storedEntry.setSize(SOURCE.length);
+      storedEntry.setCrc(crc.getValue());
+
+      outputStream.putNextEntry(storedEntry);
+      outputStream.write(SOURCE);
+      outputStream.closeEntry();
+
+      for(int i = 0; i < paddingEntries; i++) {
+        outputStream.putNextEntry(new ZipEntry("p/" + i));
+        outputStream.closeEntry();
+      }
+    }
+
+    return jar;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private SourceJarTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void readsStoredAndDeflatedEntries() throws IOException {
+    final Path path = createJar(0);
+
+    try(final SourceJar jar = SourceJar.open(path)) {
+      Assertions.assertTrue(jar.contains("a/Deflated.java"));
+      Assertions.assertTrue(jar.contains("a/Stored.java"));
+      Assertions.assertFalse(jar.contains("a/Missing.java"));
+
+      Assertions.assertArrayEquals(SOURCE, jar.read("a/Deflated.java"));
+      Assertions.assertArrayEquals(SOURCE, jar.read("a/Stored.java"));
+      Assertions.assertNull(jar.read("a/Missing.java"));
+
+      Assertions.assertEquals(HashUtils.hash(path), jar.checksum());
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  void readsZip64Jars() throws IOException {
+    // More entries than the classic end record can count.
+    final Path path = createJar(0x10000);
+
+    try(final SourceJar jar = SourceJar.open(path)) {
+      Assertions.assertArrayEquals(SOURCE, jar.read("a/Deflated.java"));
+      Assertions.assertArrayEquals(SOURCE, jar.read("a/Stored.java"));
+      Assertions.assertTrue(jar.contains("p/65535"));
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test
+  void closeReleasesTheJar() throws IOException {
+    final Path path = createJar(0);
+    final SourceJar jar = SourceJar.open(path);
+
+    jar.read("a/Deflated.java");
+    jar.close();
+
+    Assertions.assertThrows(IllegalStateException.class, () -> jar.read("a/Deflated.java"));
+
+    // Fails on Windows while the file is still open.
+    Files.delete(path);
+
+    Assertions.assertFalse(Files.exists(path));
+  }
+
+}
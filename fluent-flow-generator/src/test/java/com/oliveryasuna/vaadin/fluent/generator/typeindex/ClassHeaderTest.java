@@ -0,0 +1,208 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.generator.typeindex;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+final class ClassHeaderTest {
+
+  // Static methods
+  //--------------------------------------------------
+
+  private static ClassHeader read(final Class<?> clazz) throws IOException {
+    try(final InputStream inputStream = clazz.getResourceAsStream("/" + clazz.getName().replace('.', '/') + ".class")) {
+      Assertions.assertNotNull(inputStream, "No class file for " + clazz.getName() + ".");
+
+      return ClassHeader.read(inputStream);
+    }
+  }
+
+  /**
+   * Checks a header against what reflection says about the loaded class.
+   */
+  private static ClassHeader assertMatches(final Class<?> clazz) throws IOException {
+    final ClassHeader header = read(clazz);
+
+    Assertions.assertEquals(clazz.getName(), header.name());
+    Assertions.assertEquals(clazz.getPackageName(), header.packageName());
+    Assertions.assertEquals(clazz.getModifiers(), header.modifiers(), "Modifiers of " + clazz.getName() + ".");
+    Assertions.assertEquals(Modifier.isPublic(clazz.getModifiers()), header.isPublic());
+    Assertions.assertEquals(clazz.isInterface(), header.isInterface());
+    Assertions.assertEquals(clazz.isAnnotation(), header.isAnnotation());
+    Assertions.assertEquals(clazz.isEnum(), header.isEnum());
+    Assertions.assertEquals(clazz.isMemberClass(), header.isMemberClass());
+    Assertions.assertEquals(clazz.isLocalClass(), header.isLocalClass());
+    Assertions.assertEquals(clazz.isAnonymousClass(), header.isAnonymousClass());
+    Assertions.assertEquals(
+        (clazz.getDeclaringClass() != null ? clazz.getDeclaringClass().getName() : null),
+        header.declaringClassName()
+    );
+    Assertions.assertEquals(
+        Arrays.stream(clazz.getInterfaces()).map(Class::getName).toList(),
+        header.interfaceNames()
+    );
+
+    if(!clazz.isInterface()) {
+      Assertions.assertEquals(clazz.getSuperclass().getName(), header.superName());
+    }
+
+    return header;
+  }
+
+  // Constructors
+  //--------------------------------------------------
+
+  private ClassHeaderTest() {
+    super();
+  }
+
+  // Tests
+  //--------------------------------------------------
+
+  @Test
+  void readsTopLevelClasses() throws IOException {
+    final ClassHeader header = assertMatches(ClassHeaderTest.class);
+
+    Assertions.assertFalse(header.nested());
+    Assertions.assertNull(header.simpleName());
+
+    assertMatches(ClassHeader.class);
+  }
+
+  @Test
+  void readsMemberClasses() throws IOException {
+    assertMatches(PublicMember.class);
+    assertMatches(PrivateMember.class);
+    assertMatches(MemberInterface.class);
+    assertMatches(MemberAnnotation.class);
+
+    Assertions.assertEquals("PublicMember", read(PublicMember.class).simpleName());
+  }
+
+  @Test
+  void readsTheDeclaredAccessOfMemberClasses() throws IOException {
+    // The class file of a protected member class is public, and that of a
+    // private one package-private; only the declaration has the real access.
+
+    final ClassHeader protectedHeader = assertMatches(ProtectedMember.class);
+
+    Assertions.assertTrue(Modifier.isPublic(protectedHeader.accessFlags()));
+    Assertions.assertFalse(protectedHeader.isPublic());
+    Assertions.assertTrue(Modifier.isProtected(protectedHeader.modifiers()));
+
+    final ClassHeader privateHeader = assertMatches(PrivateMember.class);
+
+    Assertions.assertFalse(Modifier.isPrivate(privateHeader.accessFlags()));
+    Assertions.assertTrue(Modifier.isPrivate(privateHeader.modifiers()));
+  }
+
+  @Test
+  void readsLocalClasses() throws IOException {
+    final class Local {
+
+    }
+
+    final ClassHeader header = assertMatches(Local.class);
+
+    Assertions.assertTrue(header.nested());
+    Assertions.assertEquals("Local", header.simpleName());
+  }
+
+  @Test
+  void readsAnonymousClasses() throws IOException {
+    final Supplier<String> anonymous = new Supplier<>() {
+
+      @Override
+      public String get() {
+        return "";
+      }
+
+    };
+
+    final ClassHeader header = assertMatches(anonymous.getClass());
+
+    Assertions.assertTrue(header.nested());
+    Assertions.assertNull(header.simpleName());
+  }
+
+  @Test
+  void readsEnums() throws IOException {
+    Assertions.assertTrue(assertMatches(MemberEnum.class).isEnum());
+
+    // A constant with a body is an anonymous subclass of its enum, and not an
+    // enum itself.
+
+    final ClassHeader constantHeader = assertMatches(MemberEnum.WITH_BODY.getClass());
+
+    Assertions.assertFalse(constantHeader.isEnum());
+    Assertions.assertEquals(MemberEnum.class.getName(), constantHeader.superName());
+  }
+
+  @Test
+  void rejectsOtherFiles() {
+    Assertions.assertThrows(IOException.class, () -> ClassHeader.parse(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+  }
+
+  // Nested
+  //--------------------------------------------------
+
+  public static class PublicMember implements Serializable {
+
+  }
+
+  protected static class ProtectedMember {
+
+  }
+
+  private static final class PrivateMember {
+
+  }
+
+  interface MemberInterface extends Serializable, Comparable<MemberInterface> {
+
+  }
+
+  @interface MemberAnnotation {
+
+  }
+
+  enum MemberEnum {
+
+    PLAIN,
+
+    WITH_BODY {
+
+      @Override
+      public String toString() {
+        return "with body";
+      }
+
+    }
+
+  }
+
+}
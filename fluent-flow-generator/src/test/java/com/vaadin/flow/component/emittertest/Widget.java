@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.vaadin.flow.component.emittertest;
+
+import com.vaadin.flow.component.selectiontest.Marker;
+import com.vaadin.flow.component.selectiontest.Middle;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.List;
+
+public class Widget<T extends Number> extends Middle implements Gadget<Widget<T>>, Marker, Serializable {
+
+  public Widget() {
+    super();
+  }
+
+  public Widget(final T value) {
+    super();
+  }
+
+  public void setValue(final T value) {
+  }
+
+  public T getValue() {
+    return null;
+  }
+
+  public <C extends Collection<T>> void setItems(final C items) {
+  }
+
+  @Override
+  public void setLabel(final String label) {
+  }
+
+  @Override
+  public String getLabel() {
+    return null;
+  }
+
+  @Override
+  public void setTags(final List<String> tags) {
+  }
+
+}
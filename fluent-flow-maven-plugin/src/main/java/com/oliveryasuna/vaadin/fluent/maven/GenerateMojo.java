@@ -0,0 +1,330 @@
+/*
+ * Copyright 2023 Oliver Yasuna
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the documentation
+ *     and/or other materials provided with the distribution.
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this software without
+ *      specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR
+ * TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.oliveryasuna.vaadin.fluent.maven;
+
+import com.oliveryasuna.vaadin.fluent.generator.App;
+import com.oliveryasuna.vaadin.fluent.generator.Config;
+import com.oliveryasuna.vaadin.fluent.generator.Options;
+import com.oliveryasuna.vaadin.fluent.generator.pipeline.GenerationPipeline;
+import com.oliveryasuna.vaadin.fluent.generator.platform.TargetPlatform;
+import com.oliveryasuna.vaadin.fluent.generator.selection.ClassSelector;
+import com.oliveryasuna.vaadin.fluent.generator.utils.HashUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the fluent classes as part of the build.
+ * <p>
+ * The inputs of the generation (the generator, the Vaadin artifacts and the
+ * options) are fingerprinted into {@value #INPUTS_FILE_NAME} in the state
+ * directory. When they are unchanged since the last run, and the outputs are
+ * still in place, generation is skipped entirely.
+ * <p>
+ * The state directory also holds the manifest of the last run. It is kept out
+ * of the output directory, which is usually a source root, so that neither
+ * file ends up in the sources jar.
+ *
+ * @author Oliver Yasuna
+ * @since 2.0.0
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+
+  // Static fields
+  //--------------------------------------------------
+
+  public static final String INPUTS_FILE_NAME = ".fluent-flow-inputs";
+
+  private static final String INPUTS_HEADER = "# Generated by fluent-flow. Do not edit.";
+
+  // Constructors
+  //--------------------------------------------------
+
+  public GenerateMojo() {
+    super();
+  }
+
+  // Fields
+  //--------------------------------------------------
+
+  @Parameter(defaultValue = "${project}", readonly = true, required = true)
+  private MavenProject project;
+
+  /**
+   * The artifacts of this plugin, including the Vaadin artifacts declared as
+   * plugin dependencies.
+   */
+  @Parameter(defaultValue = "${plugin.artifacts}", readonly = true, required = true)
+  private List<Artifact> pluginArtifacts;
+
+  @Parameter(property = "fluentflow.outputDirectory", defaultValue = "${project.basedir}/src/main/java", required = true)
+  private File outputDirectory;
+
+  /**
+   * Holds {@value #INPUTS_FILE_NAME} and the manifest of the last run.
+   * <p>
+   * After a clean, everything is generated again, but files whose content is
+   * unchanged are left untouched.
+   */
+  @Parameter(property = "fluentflow.stateDirectory", defaultValue = "${project.build.directory}/fluent-flow", required = true)
+  private File stateDirectory;
+
+  @Parameter(property = "fluentflow.vaadinVersion", defaultValue = "${vaadin.version}")
+  private String vaadinVersion;
+
+  /**
+   * The class patterns of the classes to generate.
+   * <p>
+   * Supertypes of included classes are generated too.
+   */
+  @Parameter(property = "fluentflow.includes")
+  private List<String> includes;
+
+  /**
+   * The class patterns of the classes not to generate, even as supertypes of
+   * included classes.
+   */
+  @Parameter(property = "fluentflow.excludes")
+  private List<String> excludes;
+
+  /**
+   * Used for the generation date, so that builds are reproducible.
+   */
+  @Parameter(defaultValue = "${project.build.outputTimestamp}")
+  private String outputTimestamp;
+
+  /**
+   * Whether to generate even if the inputs are unchanged.
+   */
+  @Parameter(property = "fluentflow.force", defaultValue = "false")
+  private boolean force;
+
+  /**
+   * Whether to fail the build if any source class fails to generate.
+   */
+  @Parameter(property = "fluentflow.failOnError", defaultValue = "false")
+  private boolean failOnError;
+
+  @Parameter(property = "fluentflow.skip", defaultValue = "false")
+  private boolean skip;
+
+  // Methods
+  //--------------------------------------------------
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    if(skip) {
+      getLog().info("Skipping generation.");
+
+      return;
+    }
+
+    final Options options = createOptions();
+    final File inputsFile = new File(stateDirectory, INPUTS_FILE_NAME);
+
+    try {
+      deleteStateInOutputDirectory();
+
+      final String inputs = fingerprintInputs(options);
+
+      if(!force && isUpToDate(inputsFile, inputs, options)) {
+        getLog().info("Fluent classes are up to date.");
+      } else {
+        generate(options);
+
+        Files.createDirectories(stateDirectory.toPath());
+        Files.writeString(inputsFile.toPath(), inputs, StandardCharsets.UTF_8);
+      }
+    } catch(final IOException e) {
+      throw new MojoExecutionException("Failed to generate fluent classes.", e);
+    } catch(final InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new MojoExecutionException("Interrupted while generating fluent classes.", e);
+    }
+
+    final String sourceRoot = outputDirectory.getAbsolutePath();
+
+    // The default output directory is already the main source root.
+    if(!project.getCompileSourceRoots().contains(sourceRoot)) {
+      project.addCompileSourceRoot(sourceRoot);
+    }
+  }
+
+  private Options createOptions() throws MojoExecutionException {
+    // System properties still apply, for the options without a parameter.
+    final Options options = Options.fromSystemProperties();
+
+    options.setOutputDirectory(outputDirectory);
+    options.setManifestFile(new File(stateDirectory, Options.MANIFEST_FILE_NAME));
+
+    if(includes != null && !includes.isEmpty()) {
+      options.setIncludes(includes);
+    }
+
+    if(excludes != null && !excludes.isEmpty()) {
+      options.setExcludes(excludes);
+    }
+
+    if(options.getSourceDateEpoch() == null) {
+      final Long epoch = parseOutputTimestamp(outputTimestamp);
+
+      if(epoch != null) {
+        options.setSourceDateEpoch(epoch);
+        options.setReproducible(true);
+      }
+    }
+
+    return options;
+  }
+
+  /**
+   * Deletes the state files that earlier versions kept in the output
+   * directory.
+   */
+  private void deleteStateInOutputDirectory() throws IOException {
+    if(stateDirectory.getAbsoluteFile().equals(outputDirectory.getAbsoluteFile())) {
+      return;
+    }
+
+    for(final String fileName : List.of(INPUTS_FILE_NAME, Options.MANIFEST_FILE_NAME)) {
+      if(Files.deleteIfExists(new File(outputDirectory, fileName).toPath())) {
+        getLog().info("Deleted \"" + fileName + "\" from the output directory; it is now kept in \"" + stateDirectory + "\".");
+      }
+    }
+  }
+
+  private void generate(final Options options) throws IOException, InterruptedException, MojoFailureException {
+    final List<File> classPath = pluginArtifacts.stream()
+        .map(Artifact::getFile)
+        .filter(Objects::nonNull)
+        .toList();
+    final GenerationPipeline.Summary summary;
+
+    // The Vaadin version is that of the plugin dependencies, not the one the
+    // plugin was built with.
+    try(final TargetPlatform platform = TargetPlatform.isolated(classPath)) {
+      final SortedSet<Class<?>> classes = App.findSourceClasses(
+          App.createClassFinder(options, platform.getClassLoader(), platform.getClassPath()),
+          new ClassSelector(options.getIncludes(), options.getExcludes())
+      );
+
+      summary = App.generate(options, classes);
+    }
+
+    if(summary.failures() > 0) {
+      final String message = String.format("Generation of %d source classes had %d failures.", summary.sourceClasses(), summary.failures());
+
+      if(failOnError) {
+        throw new MojoFailureException(message);
+      }
+
+      // Failures are deterministic for the same inputs, so the inputs are
+      // still recorded, rather than regenerating on every build.
+      getLog().warn(message);
+    }
+  }
+
+  /**
+   * Fingerprints everything the generated output depends on.
+   *
+   * @param options The options.
+   *
+   * @return The fingerprint, in the format of {@value #INPUTS_FILE_NAME}.
+   */
+  private String fingerprintInputs(final Options options) throws IOException {
+    final SortedMap<String, String> inputs = new TreeMap<>();
+
+    inputs.put("generator.version", Config.getVersion());
+    inputs.put("generator.code", HashUtils.hashCodeSource(App.class));
+    inputs.put("vaadin.version", String.valueOf(vaadinVersion));
+    inputs.put("outputDirectory", outputDirectory.getAbsolutePath());
+    inputs.put("includes", String.join(",", options.getIncludes()));
+    inputs.put("excludes", String.join(",", options.getExcludes()));
+    inputs.put("reproducible", String.valueOf(options.isReproducible()));
+
+    if(options.isReproducible()) {
+      inputs.put("generationDate", options.resolveGenerationDate().toString());
+    }
+
+    // Size and modification time are enough to notice a changed artifact,
+    // without hashing the whole classpath on every build.
+    for(final Artifact artifact : pluginArtifacts) {
+      final File file = artifact.getFile();
+
+      inputs.put(
+          "artifact." + artifact.getGroupId() + ":" + artifact.getArtifactId(),
+          artifact.getVersion() + (file != null ? "," + file.length() + "," + file.lastModified() : "")
+      );
+    }
+
+    return inputs.entrySet().stream()
+        .map(input -> input.getKey() + "=" + input.getValue())
+        .collect(Collectors.joining("\n", INPUTS_HEADER + "\n", "\n"));
+  }
+
+  private boolean isUpToDate(final File inputsFile, final String inputs, final Options options) throws IOException {
+    // Generated files may have been deleted since, e.g. by a clean of the
+    // output directory that kept the inputs file.
+    return inputsFile.isFile()
+        && inputs.equals(Files.readString(inputsFile.toPath(), StandardCharsets.UTF_8))
+        && GenerationPipeline.hasOutputs(options);
+  }
+
+  /**
+   * Parses {@code project.build.outputTimestamp}.
+   *
+   * @param outputTimestamp The timestamp, either in seconds since the epoch or
+   *                        in ISO 8601 format.
+   *
+   * @return The seconds since the epoch, or {@code null} if unset.
+   */
+  private Long parseOutputTimestamp(final String outputTimestamp) throws MojoExecutionException {
+    // Maven treats a single character as unset.
+    if(outputTimestamp == null || outputTimestamp.length() < 2) {
+      return null;
+    }
+
+    if(outputTimestamp.chars().allMatch(Character::isDigit)) {
+      return Long.parseLong(outputTimestamp);
+    }
+
+    try {
+      return OffsetDateTime.parse(outputTimestamp).toEpochSecond();
+    } catch(final DateTimeParseException e) {
+      throw new MojoExecutionException("Invalid project.build.outputTimestamp: " + outputTimestamp, e);
+    }
+  }
+
+}